@@ -0,0 +1,100 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.sdc.toscaparser.api.benchmark;
+
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.prereq.CSAR;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening a CSAR without parsing its templates: {@link CSAR#validate()}, which
+ * extracts the definitions or, in memory, reads them from the archive, and
+ * {@link CSAR#decompress()}, which extracts the whole archive.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsarBenchmark {
+
+    @Param({
+            "resource-Spgw-csar-ZTE.csar",
+            "service-AdiodVmxVpeBvService-csar.csar",
+            "service-JennyVtsbcKarunaSvc-csar.csar",
+            "tmpCSAR_Huawei_vSPGW_fixed.csar"
+    })
+    public String csar;
+
+    private String path;
+
+    @Setup
+    public void setUp() {
+        path = CsarFixture.csarPath(csar);
+    }
+
+    @Benchmark
+    public boolean validate() throws Exception {
+        return _open(new CSAR(path, true), false);
+    }
+
+    @Benchmark
+    public boolean validateInMemory() throws Exception {
+        return _open(new CSAR(path, true, true), false);
+    }
+
+    @Benchmark
+    public boolean decompress() throws Exception {
+        return _open(new CSAR(path, true), true);
+    }
+
+    private static boolean _open(CSAR csar, boolean decompress) throws Exception {
+        try {
+            return new ParseContext().call(() -> {
+                boolean valid = csar.validate();
+                if (valid && decompress) {
+                    csar.decompress();
+                }
+                return valid;
+            });
+        } finally {
+            csar.cleanup();
+            if (csar.getTempDir() != null) {
+                CSAR.deleteDir(new File(csar.getTempDir()));
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.benchmark;
+
+import org.onap.sdc.toscaparser.api.ImportsLoader;
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.prereq.CSAR;
+import org.onap.sdc.toscaparser.api.utils.YamlUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A CSAR of src/test/resources/csars extracted to a temporary directory, with
+ * its main template loaded, for the benchmarks of the stages of a parse.
+ */
+final class CsarFixture implements Closeable {
+
+    static final List<String> TYPE_DEFINITIONS = Arrays.asList(
+            "imports", "node_types", "capability_types", "relationship_types",
+            "data_types", "interface_types", "policy_types", "group_types");
+
+    private final String tempDir;
+    private final String mainTemplatePath;
+    private final LinkedHashMap<String, Object> tpl;
+
+    @SuppressWarnings("unchecked")
+    CsarFixture(String name) throws Exception {
+        CSAR csar = new CSAR(csarPath(name), true);
+        ParseContext parseContext = new ParseContext();
+        try {
+            if (!parseContext.call(csar::validate)) {
+                throw new IllegalStateException(name + " is not a valid CSAR: "
+                        + parseContext.getCollector().getValidationIssueReport());
+            }
+            tempDir = csar.getTempDir();
+            mainTemplatePath = tempDir + File.separator + parseContext.call(csar::getMainTemplate);
+        } finally {
+            csar.cleanup();
+        }
+        try (InputStream input = new FileInputStream(mainTemplatePath)) {
+            tpl = (LinkedHashMap<String, Object>) YamlUtils.load(input);
+        }
+    }
+
+    /**
+     * @param name the file name of a CSAR of src/test/resources/csars
+     * @return its absolute path
+     */
+    static String csarPath(String name) {
+        URL url = CsarFixture.class.getClassLoader().getResource("csars/" + name);
+        if (url == null) {
+            throw new IllegalArgumentException("No CSAR " + name + " in src/test/resources/csars");
+        }
+        return new File(url.getFile()).getAbsolutePath();
+    }
+
+    /**
+     * Copies the maps and lists of a YAML value, for the benchmarks whose
+     * stage changes the template it is given.
+     *
+     * @param value a value loaded from YAML
+     * @return a copy that shares only the scalars of the value
+     */
+    @SuppressWarnings("unchecked")
+    static Object copy(Object value) {
+        if (value instanceof Map) {
+            LinkedHashMap<String, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                copy.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List) {
+            ArrayList<Object> copy = new ArrayList<>();
+            for (Object item : (List<Object>) value) {
+                copy.add(copy(item));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    String getMainTemplatePath() {
+        return mainTemplatePath;
+    }
+
+    LinkedHashMap<String, Object> getTpl() {
+        return tpl;
+    }
+
+    @SuppressWarnings("unchecked")
+    ArrayList<Object> getImports() {
+        return (ArrayList<Object>) tpl.get("imports");
+    }
+
+    @SuppressWarnings("unchecked")
+    LinkedHashMap<String, Object> getTopologyTemplate() {
+        return (LinkedHashMap<String, Object>) tpl.get("topology_template");
+    }
+
+    @SuppressWarnings("unchecked")
+    LinkedHashMap<String, Object> getRelationshipTypes() {
+        return (LinkedHashMap<String, Object>) tpl.get("relationship_types");
+    }
+
+    /**
+     * Loads the imports of the main template in the current parse.
+     *
+     * @return the loader
+     */
+    @SuppressWarnings("unchecked")
+    ImportsLoader loadImports() {
+        return new ImportsLoader((ArrayList<Object>) copy(getImports()), mainTemplatePath,
+                new ArrayList<>(TYPE_DEFINITIONS), tpl);
+    }
+
+    /**
+     * Loads the types the topology template of the main template is built
+     * against: those of its imports and its own, as the parse does.
+     *
+     * @return the custom type definitions
+     */
+    @SuppressWarnings("unchecked")
+    LinkedHashMap<String, Object> loadCustomDefs() {
+        LinkedHashMap<String, Object> customDefs = new LinkedHashMap<>(loadImports().getCustomDefs());
+        for (String typeDefinition : TYPE_DEFINITIONS) {
+            Object types = tpl.get(typeDefinition);
+            if (!"imports".equals(typeDefinition) && types instanceof Map) {
+                customDefs.putAll((Map<String, Object>) types);
+            }
+        }
+        customDefs.remove("imports");
+        return customDefs;
+    }
+
+    @Override
+    public void close() {
+        if (tempDir != null) {
+            CSAR.deleteDir(new File(tempDir));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.sdc.toscaparser.api.benchmark;
+
+import org.onap.sdc.toscaparser.api.DataEntity;
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DataEntity#validateDatatype} on a generated tree of data types:
+ * every level has {@code fanOut} properties of the data type of the next
+ * level, and every level has a string, an integer with a constraint, a
+ * boolean and a list of strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataEntityBenchmark {
+
+    private static final String TYPE_PREFIX = "org.onap.benchmark.datatypes.Level";
+
+    @Param({"2", "4"})
+    public int depth;
+
+    @Param({"4"})
+    public int fanOut;
+
+    private LinkedHashMap<String, Object> customDefs;
+    private LinkedHashMap<String, Object> value;
+
+    @Setup
+    public void setUp() throws Exception {
+        customDefs = new LinkedHashMap<>();
+        for (int level = 0; level < depth; level++) {
+            customDefs.put(TYPE_PREFIX + level, _dataType(level));
+        }
+        value = _value(0);
+
+        ParseContext parseContext = new ParseContext();
+        parseContext.call(this::validateDatatype);
+        if (parseContext.getCollector().validationIssuesCaught() > 0) {
+            throw new IllegalStateException("The generated value is not valid: "
+                    + parseContext.getCollector().getValidationIssueReport());
+        }
+    }
+
+    @Benchmark
+    public Object validate() throws Exception {
+        return new ParseContext().call(this::validateDatatype);
+    }
+
+    private Object validateDatatype() {
+        return DataEntity.validateDatatype(TYPE_PREFIX + 0, value, null, customDefs, "root");
+    }
+
+    private LinkedHashMap<String, Object> _dataType(int level) {
+        LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+        properties.put("name", _property("string"));
+        LinkedHashMap<String, Object> count = _property("integer");
+        count.put("constraints", Collections.singletonList(Collections.singletonMap("greater_or_equal", 0)));
+        properties.put("count", count);
+        properties.put("enabled", _property("boolean"));
+        LinkedHashMap<String, Object> tags = _property("list");
+        tags.put("entry_schema", _property("string"));
+        properties.put("tags", tags);
+        if (level + 1 < depth) {
+            for (int i = 0; i < fanOut; i++) {
+                properties.put("child" + i, _property(TYPE_PREFIX + (level + 1)));
+            }
+        }
+
+        LinkedHashMap<String, Object> dataType = new LinkedHashMap<>();
+        dataType.put("derived_from", "tosca.datatypes.Root");
+        dataType.put("properties", properties);
+        return dataType;
+    }
+
+    private static LinkedHashMap<String, Object> _property(String type) {
+        LinkedHashMap<String, Object> property = new LinkedHashMap<>();
+        property.put("type", type);
+        return property;
+    }
+
+    private LinkedHashMap<String, Object> _value(int level) {
+        LinkedHashMap<String, Object> value = new LinkedHashMap<>();
+        value.put("name", "level" + level);
+        value.put("count", level);
+        value.put("enabled", level % 2 == 0);
+        value.put("tags", new ArrayList<>(Arrays.asList("a", "b", "c")));
+        if (level + 1 < depth) {
+            for (int i = 0; i < fanOut; i++) {
+                value.put("child" + i, _value(level + 1));
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,157 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.sdc.toscaparser.api.benchmark;
+
+import org.onap.sdc.toscaparser.api.NodeTemplate;
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.TopologyTemplate;
+import org.onap.sdc.toscaparser.api.ToscaTemplate;
+import org.onap.sdc.toscaparser.api.functions.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the intrinsic functions of the node template properties of a
+ * parsed CSAR, in its main topology template and in the nested ones, as the
+ * parse does once the templates are built. The raw values are those of the
+ * templates, the functions are resolved against the built ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FunctionBenchmark {
+
+    @Param({
+            "service-AdiodVmxVpeBvService-csar.csar",
+            "service-JennyVtsbcKarunaSvc-csar.csar",
+            "service-NetworkCloudVnfServiceMock-csar.csar"
+    })
+    public String csar;
+
+    @Param({"true", "false"})
+    public boolean resolveGetInput;
+
+    private ParseContext parseContext;
+    private final List<TopologyTemplate> topologyTemplates = new ArrayList<>();
+    private final List<NodeTemplate> nodeTemplates = new ArrayList<>();
+    private final List<Object> rawValues = new ArrayList<>();
+    private final Set<TopologyTemplate> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    @Setup
+    public void setUp() throws Exception {
+        ToscaTemplate toscaTemplate = ParseContext.isolated(() -> new ToscaTemplate(
+                CsarFixture.csarPath(csar), null, true, null, resolveGetInput));
+        parseContext = toscaTemplate.getParseContext();
+        _collect(toscaTemplate.getTopologyTemplate());
+        if (rawValues.isEmpty()) {
+            throw new IllegalStateException("No intrinsic function in the node templates of " + csar);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        topologyTemplates.clear();
+        nodeTemplates.clear();
+        rawValues.clear();
+        collected.clear();
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        parseContext.run(() -> {
+            for (int i = 0; i < rawValues.size(); i++) {
+                blackhole.consume(Function.getFunction(topologyTemplates.get(i), nodeTemplates.get(i),
+                        CsarFixture.copy(rawValues.get(i)), resolveGetInput));
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void _collect(TopologyTemplate topologyTemplate) {
+        if (!collected.add(topologyTemplate)) {
+            return;
+        }
+        Object nodeTemplateTpls = topologyTemplate.getTpl().get("node_templates");
+        if (!(nodeTemplateTpls instanceof Map) || topologyTemplate.getNodeTemplates() == null) {
+            return;
+        }
+        for (NodeTemplate nodeTemplate : topologyTemplate.getNodeTemplates()) {
+            if (nodeTemplate.getOriginComponentTemplate() != null) {
+                _collect(nodeTemplate.getOriginComponentTemplate());
+            }
+            Object nodeTemplateTpl = ((Map<String, Object>) nodeTemplateTpls).get(nodeTemplate.getName());
+            Object properties = nodeTemplateTpl instanceof Map ? ((Map<String, Object>) nodeTemplateTpl).get("properties") : null;
+            if (properties instanceof Map) {
+                for (Object value : ((Map<String, Object>) properties).values()) {
+                    if (_hasFunction(value)) {
+                        topologyTemplates.add(topologyTemplate);
+                        nodeTemplates.add(nodeTemplate);
+                        rawValues.add(value);
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean _hasFunction(Object value) {
+        if (Function.isFunction(value)) {
+            return true;
+        }
+        if (value instanceof Map) {
+            for (Object item : ((Map<String, Object>) value).values()) {
+                if (_hasFunction(item)) {
+                    return true;
+                }
+            }
+        } else if (value instanceof List) {
+            for (Object item : (List<Object>) value) {
+                if (_hasFunction(item)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
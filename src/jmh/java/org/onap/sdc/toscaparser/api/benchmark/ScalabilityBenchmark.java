@@ -0,0 +1,107 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.sdc.toscaparser.api.benchmark;
+
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.TopologyGenerator;
+import org.onap.sdc.toscaparser.api.ToscaTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole parse of CSARs generated by {@link TopologyGenerator}, to plot
+ * the parse time against the size of the topology. Run with
+ * {@code -Djmh.args="-prof gc"} for the allocations as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScalabilityBenchmark {
+
+    @Param({"100", "500", "2000"})
+    public int nodeTemplates;
+
+    @Param({"1", "4"})
+    public int requirementsPerNode;
+
+    @Param({"1"})
+    public int nestingDepth;
+
+    @Param({"10"})
+    public int nestedNodeTemplates;
+
+    @Param({"2"})
+    public int dataTypeDepth;
+
+    @Param({"50"})
+    public int functionsPercent;
+
+    @Param({"10"})
+    public int groups;
+
+    @Param({"10"})
+    public int policies;
+
+    private File csar;
+
+    @Setup
+    public void setUp() throws Exception {
+        csar = new TopologyGenerator()
+                .setNodeTemplates(nodeTemplates)
+                .setRequirementsPerNode(requirementsPerNode)
+                .setNestingDepth(nestingDepth)
+                .setNestedNodeTemplates(nestedNodeTemplates)
+                .setDataTypeDepth(dataTypeDepth)
+                .setFunctionsPercent(functionsPercent)
+                .setGroups(groups)
+                .setPolicies(policies)
+                .writeCsar(File.createTempFile("synthetic", ".csar"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (csar != null && !csar.delete()) {
+            csar.deleteOnExit();
+        }
+    }
+
+    @Benchmark
+    public ToscaTemplate parse() throws Exception {
+        return ParseContext.isolated(() -> new ToscaTemplate(csar.getAbsolutePath(), null, true, null));
+    }
+}
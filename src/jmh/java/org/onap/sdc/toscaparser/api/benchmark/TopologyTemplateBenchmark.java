@@ -0,0 +1,93 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.sdc.toscaparser.api.benchmark;
+
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.TopologyTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the {@link TopologyTemplate} of the main template of a CSAR from
+ * its loaded map and types, in a new parse every time. Nothing is read from
+ * disk; the types are resolved again by every parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TopologyTemplateBenchmark {
+
+    @Param({
+            "resource-Spgw-csar-ZTE.csar",
+            "service-AdiodVmxVpeBvService-csar.csar",
+            "service-JennyVtsbcKarunaSvc-csar.csar"
+    })
+    public String csar;
+
+    private CsarFixture fixture;
+    private LinkedHashMap<String, Object> customDefs;
+    private LinkedHashMap<String, Object> topologyTemplate;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new CsarFixture(csar);
+        customDefs = new ParseContext().call(fixture::loadCustomDefs);
+    }
+
+    /**
+     * The intrinsic functions of the requirements are resolved in place, so
+     * every parse gets a template of its own.
+     */
+    @Setup(Level.Invocation)
+    @SuppressWarnings("unchecked")
+    public void copyTemplate() {
+        topologyTemplate = (LinkedHashMap<String, Object>) CsarFixture.copy(fixture.getTopologyTemplate());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public TopologyTemplate build() throws Exception {
+        return new ParseContext().call(() -> new TopologyTemplate(topologyTemplate, customDefs,
+                fixture.getRelationshipTypes(), null, null, true));
+    }
+}
@@ -0,0 +1,101 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.sdc.toscaparser.api.benchmark;
+
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.ParseOptions;
+import org.onap.sdc.toscaparser.api.ToscaTemplate;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole parse: a {@link ToscaTemplate} built from each CSAR of
+ * src/test/resources/csars, with the default options, with the CSAR read in
+ * memory and with the trusted profile. A CSAR the parse rejects is measured
+ * up to the rejection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ToscaTemplateBenchmark {
+
+    @Param({
+            "csar_hello_world.csar",
+            "dataTypes-test-service.csar",
+            "emptyCsar.csar",
+            "listed_input.csar",
+            "listed_input_ng.csar",
+            "resource-Spgw-csar-ZTE.csar",
+            "sdc-onboarding_csar.csar",
+            "service-AdiodVmxVpeBvService-csar.csar",
+            "service-JennyVtsbcKarunaSvc-csar.csar",
+            "service-NetworkCloudVnfServiceMock-csar.csar",
+            "tmpCSAR_Huawei_vSPGW_fixed.csar",
+            "tmpCSAR_Huawei_vSPGW_without_required_inputs.csar"
+    })
+    public String csar;
+
+    @Param({"default", "inMemoryCsar", "trusted"})
+    public String profile;
+
+    private String path;
+    private ParseOptions parseOptions;
+
+    @Setup
+    public void setUp() {
+        path = CsarFixture.csarPath(csar);
+        parseOptions = new ParseOptions();
+        if ("inMemoryCsar".equals(profile)) {
+            parseOptions.setInMemoryCsar(true);
+        } else if ("trusted".equals(profile)) {
+            parseOptions.setTrusted(true);
+        } else if (!"default".equals(profile)) {
+            throw new IllegalArgumentException("Unknown profile " + profile);
+        }
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return ParseContext.isolated(() -> {
+            try {
+                return new ToscaTemplate(path, null, true, null, true, parseOptions);
+            } catch (JToscaException e) {
+                return e;
+            }
+        });
+    }
+}
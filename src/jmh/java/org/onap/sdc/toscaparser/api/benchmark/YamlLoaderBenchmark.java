@@ -0,0 +1,94 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.benchmark;
+
+import org.onap.sdc.toscaparser.api.utils.YamlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the YAML files of the Definitions directory of a CSAR - its main
+ * template and the type files it imports - with a new default loader for
+ * every file, as the parser used to, and with {@link YamlUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class YamlLoaderBenchmark {
+
+    @Param({
+            "resource-Spgw-csar-ZTE.csar",
+            "service-AdiodVmxVpeBvService-csar.csar",
+            "service-JennyVtsbcKarunaSvc-csar.csar"
+    })
+    public String csar;
+
+    private final List<byte[]> files = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        try (CsarFixture fixture = new CsarFixture(csar)) {
+            File[] definitions = new File(fixture.getMainTemplatePath()).getParentFile().listFiles();
+            if (definitions != null) {
+                for (File file : definitions) {
+                    if (file.getName().endsWith(".yml") || file.getName().endsWith(".yaml")) {
+                        files.add(Files.readAllBytes(file.toPath()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void loadWithNewYaml(Blackhole blackhole) {
+        for (byte[] content : files) {
+            blackhole.consume(new Yaml().load(new ByteArrayInputStream(content)));
+        }
+    }
+
+    @Benchmark
+    public void loadWithYamlUtils(Blackhole blackhole) {
+        for (byte[] content : files) {
+            blackhole.consume(YamlUtils.load(content));
+        }
+    }
+}
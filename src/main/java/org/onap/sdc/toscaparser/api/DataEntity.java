@@ -27,6 +27,7 @@ import org.onap.sdc.toscaparser.api.elements.PropertyDef;
 import org.onap.sdc.toscaparser.api.elements.ScalarUnitFrequency;
 import org.onap.sdc.toscaparser.api.elements.ScalarUnitSize;
 import org.onap.sdc.toscaparser.api.elements.ScalarUnitTime;
+import org.onap.sdc.toscaparser.api.elements.TypeRegistry;
 import org.onap.sdc.toscaparser.api.elements.constraints.Constraint;
 import org.onap.sdc.toscaparser.api.elements.constraints.Schema;
 import org.onap.sdc.toscaparser.api.functions.Function;
@@ -51,7 +52,7 @@ public class DataEntity {
                       LinkedHashMap<String, Object> _customDef, String _propName) {
 
         customDef = _customDef;
-        dataType = new DataType(_dataTypeName, _customDef);
+        dataType = TypeRegistry.current().getDataType(_dataTypeName, _customDef);
         schema = dataType.getAllProperties();
         value = _valueDict;
         propertyName = _propName;
@@ -76,9 +77,9 @@ public class DataEntity {
                 //ERROR under investigation
                 String checkedVal = value != null ? value.toString() : null;
 
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE001", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE001",
                         "TypeMismatchError: \"%s\" is not a map. The type is \"%s\"",
-                        checkedVal, dataType.getType())));
+                        checkedVal, dataType.getType()));
 
                 if (value instanceof List && ((List) value).size() > 0) {
                     value = ((List) value).get(0);
@@ -111,9 +112,9 @@ public class DataEntity {
             for (String valueKey : valueDict.keySet()) {
                 //1710 devlop JSON validation
                 if (!("json").equals(dataType.getType()) && !allowedProps.contains(valueKey)) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE100", String.format(
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE100",
                             "UnknownFieldError: Data value of type \"%s\" contains unknown field \"%s\"",
-                            dataType.getType(), valueKey)));
+                            dataType.getType(), valueKey));
                 }
             }
 
@@ -134,9 +135,9 @@ public class DataEntity {
                 }
             }
             if (missingProp.size() > 0) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE003", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE003",
                         "MissingRequiredFieldError: Data value of type \"%s\" is missing required field(s) \"%s\"",
-                        dataType.getType(), missingProp.toString())));
+                        dataType.getType(), missingProp.toString()));
             }
 
             // check every field
@@ -192,9 +193,9 @@ public class DataEntity {
             return value;
         } else if (type == null) {
             //NOT ANALYZED
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE002", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE002",
                     "MissingType: Type is missing for value \"%s\"",
-                    value.toString())));
+                    value.toString()));
             return value;
         } else if (type.equals(Schema.STRING)) {
             return ValidateUtils.validateString(value);
@@ -96,12 +96,14 @@ public abstract class EntityTemplate {
         name = _name;
         entityTpl = _template;
         customDef = _customDef;
-        _validateField(entityTpl);
+        if (!ParseContext.currentOptions().isTrusted()) {
+            _validateField(entityTpl);
+        }
         String type = (String) entityTpl.get("type");
         UnsupportedType.validateType(type);
         if (_entityName.equals("node_type")) {
             if (type != null) {
-                typeDefinition = new NodeType(type, customDef);
+                typeDefinition = TypeRegistry.current().getNodeType(type, customDef);
             } else {
                 typeDefinition = null;
             }
@@ -123,14 +125,14 @@ public abstract class EntityTemplate {
             if (type == null) {
                 //msg = (_('Policy definition of "%(pname)s" must have'
                 //       ' a "type" ''attribute.') % dict(pname=name))
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE140", String.format(
-                        "ValidationError: Policy definition of \"%s\" must have a \"type\" attribute", name)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE140",
+                        "ValidationError: Policy definition of \"%s\" must have a \"type\" attribute", name));
             }
-            typeDefinition = new PolicyType(type, customDef);
+            typeDefinition = TypeRegistry.current().getPolicyType(type, customDef);
         }
         if (_entityName.equals("group_type")) {
             if (type != null) {
-                typeDefinition = new GroupType(type, customDef);
+                typeDefinition = TypeRegistry.current().getGroupType(type, customDef);
             } else {
                 typeDefinition = null;
             }
@@ -273,12 +275,9 @@ public abstract class EntityTemplate {
 
         if (getType() == null) {
             return false;
-        } else if (getType().equals(typeStr)) {
-            return true;
-        } else if (getParentType() != null) {
-            return ((EntityType) getParentType()).isDerivedFrom(typeStr);
         }
-        return false;
+        // getType() is the type of typeDefinition
+        return ((EntityType) typeDefinition).isDerivedFrom(typeStr);
     }
 
     @SuppressWarnings("unchecked")
@@ -374,9 +373,9 @@ public abstract class EntityTemplate {
                         //           '"default_instances" value is not between '
                         //           '"min_instances" and "max_instances".' %
                         //           self.name)
-                        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE141", String.format(
+                        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE141",
                                 "ValidationError: \"properties\" of template \"%s\": \"default_instances\" value is not between \"min_instances\" and \"max_instances\"",
-                                name)));
+                                name));
                     }
                 }
             }
@@ -405,16 +404,16 @@ public abstract class EntityTemplate {
             }
             // Required properties found without value or a default value
             if (!reqPropsNoValueOrDefault.isEmpty()) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE003", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE003",
                         "MissingRequiredFieldError: properties of template \"%s\" are missing field(s): %s",
-                        name, reqPropsNoValueOrDefault.toString())));
+                        name, reqPropsNoValueOrDefault.toString()));
             }
         } else {
             // Required properties in schema, but not in template
             if (!requiredProps.isEmpty()) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE004", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE004",
                         "MissingRequiredFieldError2: properties of template \"%s\" are missing field(s): %s",
-                        name, requiredProps.toString())));
+                        name, requiredProps.toString()));
             }
         }
     }
@@ -422,8 +421,8 @@ public abstract class EntityTemplate {
     @SuppressWarnings("unchecked")
     private void _validateField(LinkedHashMap<String, Object> template) {
         if (!(template instanceof LinkedHashMap)) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE142", String.format(
-                    "MissingRequiredFieldError: Template \"%s\" is missing required field \"%s\"", name, TYPE)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE142",
+                    "MissingRequiredFieldError: Template \"%s\" is missing required field \"%s\"", name, TYPE));
             return;//???
         }
         boolean bBad = false;
@@ -438,8 +437,8 @@ public abstract class EntityTemplate {
             bBad = (template.get(TYPE) == null);
         }
         if (bBad) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE143", String.format(
-                    "MissingRequiredFieldError: Template \"%s\" is missing required field \"%s\"", name, TYPE)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE143",
+                    "MissingRequiredFieldError: Template \"%s\" is missing required field \"%s\"", name, TYPE));
         }
     }
 
@@ -453,8 +452,8 @@ public abstract class EntityTemplate {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE144", String.format(
-                        "UnknownFieldError: Section \"%s\" of template \"%s\" contains unknown field \"%s\"", section, name, sname)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE144",
+                        "UnknownFieldError: Section \"%s\" of template \"%s\" contains unknown field \"%s\"", section, name, sname));
             }
         }
 
@@ -97,9 +97,9 @@ public class Group extends EntityTemplate {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE183", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE183",
                         "UnknownFieldError: Groups \"%s\" contains unknown field \"%s\"",
-                        name, key)));
+                        name, key));
             }
         }
     }
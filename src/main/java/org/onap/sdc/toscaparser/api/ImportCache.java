@@ -0,0 +1,216 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api;
+
+import org.onap.sdc.toscaparser.api.utils.CopyUtils;
+import org.onap.sdc.toscaparser.api.utils.YamlUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of parsed import files shared by parses, keyed by the SHA-256 of
+ * the file content: the type files every CSAR of a catalog carries are read
+ * by each parse but loaded from YAML once per process.
+ * <p>
+ * The cache keeps the loaded YAML of the files it has seen, least recently
+ * used first, up to a total size of their content. An import is still read
+ * to be hashed; on a hit each parse gets a copy of the loaded maps and lists,
+ * so a parse can change its template without changing those of the others.
+ * The validation of imported types is not cached, its issues are reported
+ * by every parse.
+ * <p>
+ * The cache is used by the parses whose {@link ParseOptions} have it set.
+ * It is thread safe.
+ */
+public class ImportCache {
+
+    private final long maxBytes;
+    // by content key, least recently used first
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxBytes the total size of the content of the cached files at most
+     */
+    public ImportCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Loads the YAML of an import file, from the cache if a file of the same
+     * content has been loaded before.
+     *
+     * @param input the file content, read to the end but not closed
+     * @return the loaded YAML, owned by the caller
+     * @throws IOException if the content cannot be read
+     */
+    public Object load(InputStream input) throws IOException {
+        byte[] content = _readAll(input);
+        Key key = new Key(_digest(content), content.length);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            hits.incrementAndGet();
+            return CopyUtils.deepCopy(entry.yaml);
+        }
+        misses.incrementAndGet();
+        Object yaml = YamlUtils.load(content);
+        if (yaml != null && content.length <= maxBytes) {
+            _put(key, new Entry(CopyUtils.deepCopy(yaml), content.length));
+        }
+        return yaml;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total size of the content of the cached files
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportCache{" +
+                "size=" + getSize() +
+                ", bytes=" + getBytes() +
+                ", maxBytes=" + maxBytes +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    private synchronized void _put(Key key, Entry entry) {
+        if (entries.containsKey(key)) {
+            // loaded by another parse meanwhile
+            return;
+        }
+        entries.put(key, entry);
+        bytes += entry.size;
+        Iterator<Entry> it = entries.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().size;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static byte[] _readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = input.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] _digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object yaml;
+        private final int size;
+
+        private Entry(Object yaml, int size) {
+            this.yaml = yaml;
+            this.size = size;
+        }
+    }
+
+    private static final class Key {
+
+        private final byte[] digest;
+        private final int length;
+        private final int hash;
+
+        private Key(byte[] digest, int length) {
+            this.digest = digest;
+            this.length = length;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return length == key.length && Arrays.equals(digest, key.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
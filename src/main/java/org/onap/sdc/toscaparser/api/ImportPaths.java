@@ -0,0 +1,70 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api;
+
+import org.onap.sdc.toscaparser.api.prereq.ResourceResolver;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The file names resolved by the imports of a parse: whether a name is a
+ * file, and the file each import reference of an importing file resolves to.
+ * Imports look for their file in several places, and many files import the
+ * same files from the same directory; each name is probed once per parse.
+ * <p>
+ * A parse reads all of its files through the same resolver, which does not
+ * change while it parses. Outside of a parse nothing is kept.
+ */
+class ImportPaths {
+
+    private final ConcurrentHashMap<String, Boolean> files = new ConcurrentHashMap<>();
+    // by importing file and import reference
+    private final ConcurrentHashMap<String, String> importFiles = new ConcurrentHashMap<>();
+
+    /**
+     * @return the file names resolved by the parse running on this thread
+     */
+    static ImportPaths current() {
+        ParseContext parseContext = ParseContext.current();
+        return parseContext != null ? parseContext.getImportPaths() : new ImportPaths();
+    }
+
+    boolean isFile(ResourceResolver resolver, String name) {
+        return files.computeIfAbsent(name, resolver::isFile);
+    }
+
+    /**
+     * @param path     the importing file
+     * @param fileName the file name of the import
+     * @return the file the import has been resolved to, null if it has not
+     */
+    String getImportFile(String path, String fileName) {
+        return importFiles.get(_key(path, fileName));
+    }
+
+    void putImportFile(String path, String fileName, String importFile) {
+        importFiles.put(_key(path, fileName), importFile);
+    }
+
+    private static String _key(String path, String fileName) {
+        return path + '\n' + fileName;
+    }
+}
@@ -0,0 +1,373 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api;
+
+import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
+import org.onap.sdc.toscaparser.api.prereq.ResourceResolver;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+import org.onap.sdc.toscaparser.api.utils.UrlUtils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the imports of the templates of a parse to the custom type
+ * definitions of the files they import, directly or through other imports.
+ * <p>
+ * The import graph is built first, one level at a time: the files imported
+ * at a level are loaded, as tasks on the import executor if there is one,
+ * and their own imports form the next level. A file is identified by its
+ * normalized path, whichever file imports it and however it is referenced,
+ * and is loaded once per parse. Its imports are resolved relative to the
+ * file itself.
+ * <p>
+ * The definitions are then merged in a topological order of the graph: a
+ * file after the files it imports, which it can so override, and files that
+ * do not depend on each other in the order they are declared in. Each file
+ * is merged once. A file importing a file that imports it back is a cycle:
+ * it is reported once, with the files it goes through, and the import
+ * closing it is not followed. The result depends only on the files, not on
+ * the order they are loaded in.
+ * <p>
+ * The main template is resolved first. A nested template the main template
+ * reaches through another import keeps the definitions it has always been
+ * built with: only its imports the main template first reached through it
+ * are merged for it, not those of files reached before.
+ */
+class ImportResolver {
+
+    private static final String IMPORTS = "imports";
+    private static final String FILE = "file";
+
+    private final ArrayList<String> typeDefinitions;
+    private final LinkedHashMap<String, Object> tpl;
+    private final ResourceResolver resolver;
+    private final Executor executor;
+    // by normalized file name
+    private final Map<String, ImportFile> files = new HashMap<>();
+    private final ArrayList<LinkedHashMap<String, Object>> nestedToscaTpls = new ArrayList<>();
+    // the files of the cycles reported
+    private final Set<Set<ImportFile>> cycles = new HashSet<>();
+    // the files the main template imports, null until it is resolved
+    private Set<ImportFile> templateImports;
+    // the directory of the main template if it is a file
+    private Path templateDir;
+
+    /**
+     * @param typeDefinitions the type definition sections to merge, with "imports"
+     * @param tpl             the main template: its repositories and its own types,
+     *                        which override the imported ones
+     * @param resolver        the resolver import files are read through
+     * @param executor        the executor import files are loaded on, null to load them on the parsing thread
+     */
+    ImportResolver(List<String> typeDefinitions,
+                   LinkedHashMap<String, Object> tpl,
+                   ResourceResolver resolver,
+                   Executor executor) {
+        this.typeDefinitions = new ArrayList<>(typeDefinitions);
+        this.tpl = tpl;
+        this.resolver = resolver;
+        this.executor = executor;
+    }
+
+    /**
+     * @param path    the file of the template declaring the imports
+     * @param imports the imports of the template
+     * @return the custom type definitions of the imported files and of the main template
+     */
+    LinkedHashMap<String, Object> resolve(String path, List<Object> imports) {
+        boolean mainTemplate = templateImports == null;
+        ImportFile importing = mainTemplate ? null : files.get(_normalize(path));
+        List<Import> roots;
+        if (importing != null && importing.reachedImports != null && !templateImports.contains(importing)) {
+            roots = importing.reachedImports;
+        } else {
+            roots = _imports(path, imports);
+            _buildGraph(roots);
+        }
+        if (mainTemplate) {
+            if (path != null && !UrlUtils.validateUrl(path)) {
+                templateDir = Paths.get(_normalize(path)).getParent();
+            }
+            templateImports = new HashSet<>();
+            for (Import anImport : roots) {
+                if (anImport.file != null) {
+                    templateImports.add(anImport.file);
+                }
+            }
+        }
+        LinkedHashMap<String, Object> customDefs = new LinkedHashMap<>();
+        _merge(roots, customDefs, new HashSet<>(), new LinkedHashSet<>(), mainTemplate, null);
+        customDefs.remove(IMPORTS);
+        return customDefs;
+    }
+
+    /**
+     * @return the templates of the files loaded, each as a map of its file name to its content
+     */
+    ArrayList<LinkedHashMap<String, Object>> getNestedToscaTpls() {
+        return nestedToscaTpls;
+    }
+
+    private void _buildGraph(List<Import> roots) {
+        List<Import> level = roots;
+        while (!level.isEmpty()) {
+            // an import of a file already known, or imported twice in the level, is loaded once
+            LinkedHashMap<String, List<Import>> toLoad = new LinkedHashMap<>();
+            for (Import anImport : level) {
+                String fileName = anImport.getExpectedFileName();
+                anImport.file = fileName != null ? files.get(fileName) : null;
+                if (anImport.file == null) {
+                    String key = fileName != null ? fileName : anImport.toString();
+                    toLoad.computeIfAbsent(key, k -> new ArrayList<>()).add(anImport);
+                }
+            }
+            ArrayList<Supplier<ImportFile>> tasks = new ArrayList<>();
+            for (List<Import> imports : toLoad.values()) {
+                tasks.add(imports.get(0)::load);
+            }
+            List<ImportFile> loaded = ParseContext.current().invokeAll(tasks, executor);
+
+            List<Import> next = new ArrayList<>();
+            int i = 0;
+            for (List<Import> imports : toLoad.values()) {
+                ImportFile file = loaded.get(i++);
+                if (file != null) {
+                    ImportFile known = files.putIfAbsent(file.fileName, file);
+                    if (known != null) {
+                        // referenced otherwise than by its path
+                        file = known;
+                    } else {
+                        nestedToscaTpls.addAll(file.nestedToscaTpls);
+                        next.addAll(file.imports);
+                    }
+                }
+                for (Import anImport : imports) {
+                    anImport.file = file;
+                }
+            }
+            level = next;
+        }
+    }
+
+    private void _merge(List<Import> imports,
+                        LinkedHashMap<String, Object> customDefs,
+                        Set<ImportFile> merged,
+                        LinkedHashSet<ImportFile> importing,
+                        boolean mainTemplate,
+                        List<Import> reached) {
+        for (Import anImport : imports) {
+            ImportFile file = anImport.file;
+            if (file == null) {
+                continue;
+            }
+            if (importing.contains(file)) {
+                _reportCycle(importing, file);
+                continue;
+            }
+            if (!merged.add(file)) {
+                continue;
+            }
+            if (reached != null) {
+                reached.add(anImport);
+            }
+            if (mainTemplate) {
+                file.reachedImports = new ArrayList<>();
+            }
+            importing.add(file);
+            _merge(file.imports, customDefs, merged, importing, mainTemplate, mainTemplate ? file.reachedImports : null);
+            importing.remove(file);
+            // after the files it imports
+            customDefs.putAll(file.customDefs);
+            _putOwnTypes(customDefs);
+        }
+    }
+
+    private void _reportCycle(LinkedHashSet<ImportFile> importing, ImportFile file) {
+        List<ImportFile> cycle = new ArrayList<>();
+        for (ImportFile importingFile : importing) {
+            if (importingFile == file || !cycle.isEmpty()) {
+                cycle.add(importingFile);
+            }
+        }
+        // the same cycle, entered through another of its files, is not reported again
+        if (!cycles.add(new HashSet<>(cycle))) {
+            return;
+        }
+        List<String> fileNames = new ArrayList<>();
+        for (ImportFile cycleFile : cycle) {
+            fileNames.add(_relativeName(cycleFile.fileName));
+        }
+        fileNames.add(_relativeName(file.fileName));
+        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE283",
+                "ImportError: Import cycle \"%s\"", String.join(" -> ", fileNames)));
+    }
+
+    /**
+     * @return the name of a file relative to the directory of the main template,
+     * so that the same files are named alike wherever the template is
+     */
+    private String _relativeName(String fileName) {
+        if (templateDir == null || UrlUtils.validateUrl(fileName)) {
+            return fileName;
+        }
+        return templateDir.relativize(Paths.get(fileName)).toString().replace('\\', '/');
+    }
+
+    @SuppressWarnings("unchecked")
+    private void _putOwnTypes(LinkedHashMap<String, Object> customDefs) {
+        for (String typeDefinition : typeDefinitions) {
+            if (!IMPORTS.equals(typeDefinition)) {
+                LinkedHashMap<String, Object> types = (LinkedHashMap<String, Object>) tpl.get(typeDefinition);
+                if (types != null) {
+                    customDefs.putAll(types);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Import> _imports(String path, Object imports) {
+        List<Import> result = new ArrayList<>();
+        if (!(imports instanceof List)) {
+            return result;
+        }
+        for (Object importDef : (List<Object>) imports) {
+            if (importDef instanceof Map) {
+                // one import per name
+                for (Map.Entry<String, Object> me : ((Map<String, Object>) importDef).entrySet()) {
+                    LinkedHashMap<String, Object> singleImport = new LinkedHashMap<>();
+                    singleImport.put(me.getKey(), me.getValue());
+                    result.add(new Import(path, singleImport, _fileName(me.getValue())));
+                }
+            } else if (importDef != null) {
+                result.add(new Import(path, importDef, _fileName(importDef)));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String _fileName(Object importUri) {
+        Object fileName = importUri instanceof Map ? ((Map<String, Object>) importUri).get(FILE) : importUri;
+        return fileName instanceof String ? (String) fileName : null;
+    }
+
+    private static String _normalize(String fileName) {
+        if (UrlUtils.validateUrl(fileName)) {
+            return fileName;
+        }
+        return Paths.get(fileName).toAbsolutePath().normalize().toString().replace('\\', '/');
+    }
+
+    /**
+     * An import of a file by another file or by the template.
+     */
+    private class Import {
+
+        private final String path;
+        private final Object importDef;
+        private final String fileName;
+        private ImportFile file;
+
+        private Import(String path, Object importDef, String fileName) {
+            this.path = path;
+            this.importDef = importDef;
+            this.fileName = fileName;
+        }
+
+        /**
+         * @return the normalized name of the file imported if it is a file
+         * relative to the importing one, null if only loading it tells
+         */
+        private String getExpectedFileName() {
+            if (fileName == null || path == null || UrlUtils.validateUrl(fileName)
+                    || UrlUtils.validateUrl(path) || new File(fileName).isAbsolute()) {
+                return null;
+            }
+            ImportPaths importPaths = ImportPaths.current();
+            String importFile = importPaths.getImportFile(path, fileName);
+            if (importFile != null) {
+                return _normalize(importFile);
+            }
+            String expected = _normalize(Paths.get(path).toAbsolutePath().getParent().toString()
+                    + File.separator + fileName);
+            return importPaths.isFile(resolver, expected) ? expected : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private ImportFile load() {
+            ArrayList<Object> singleImport = new ArrayList<>(Collections.singletonList(importDef));
+            ImportsLoader importsLoader = new ImportsLoader(singleImport, path, typeDefinitions, tpl, resolver);
+            ArrayList<LinkedHashMap<String, Object>> loaded = importsLoader.getNestedToscaTpls();
+            if (loaded.isEmpty()) {
+                return null;
+            }
+            String loadedFileName = loaded.get(0).keySet().iterator().next();
+            ImportFile importFile = new ImportFile(_normalize(loadedFileName), importsLoader.getCustomDefs(), loaded);
+            importFile.imports.addAll(_imports(importFile.fileName, importFile.customDefs.get(IMPORTS)));
+            return importFile;
+        }
+
+        @Override
+        public String toString() {
+            return path + " -> " + importDef;
+        }
+    }
+
+    /**
+     * A file loaded, with the type definitions it declares and its imports.
+     */
+    private static final class ImportFile {
+
+        private final String fileName;
+        private final LinkedHashMap<String, Object> customDefs;
+        private final ArrayList<LinkedHashMap<String, Object>> nestedToscaTpls;
+        private final List<Import> imports = new ArrayList<>();
+        // the imports the main template first reached files through
+        private List<Import> reachedImports;
+
+        private ImportFile(String fileName,
+                           LinkedHashMap<String, Object> customDefs,
+                           ArrayList<LinkedHashMap<String, Object>> nestedToscaTpls) {
+            this.fileName = fileName;
+            this.customDefs = customDefs;
+            this.nestedToscaTpls = nestedToscaTpls;
+        }
+
+        @Override
+        public String toString() {
+            return fileName;
+        }
+    }
+}
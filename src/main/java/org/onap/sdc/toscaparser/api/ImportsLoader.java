@@ -22,18 +22,22 @@ package org.onap.sdc.toscaparser.api;
 
 import com.google.common.base.Charsets;
 import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
+import org.onap.sdc.toscaparser.api.prereq.LocalResourceResolver;
+import org.onap.sdc.toscaparser.api.prereq.ResourceResolver;
+import org.onap.sdc.toscaparser.api.utils.CopyUtils;
 import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
 import org.onap.sdc.toscaparser.api.utils.UrlUtils;
+import org.onap.sdc.toscaparser.api.utils.YamlUtils;
 
 import org.onap.sdc.toscaparser.api.elements.TypeValidation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.*;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ImportsLoader {
 
@@ -52,14 +56,24 @@ public class ImportsLoader {
     private LinkedHashMap<String, Object> allCustomDefs;
     private ArrayList<LinkedHashMap<String, Object>> nestedToscaTpls;
     private LinkedHashMap<String, Object> repositories;
+    private ResourceResolver resolver;
 
-    @SuppressWarnings("unchecked")
     public ImportsLoader(ArrayList<Object> _importslist,
                          String _path,
                          Object _typeDefinitionList,
                          LinkedHashMap<String, Object> tpl) {
+        this(_importslist, _path, _typeDefinitionList, tpl, LocalResourceResolver.INSTANCE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ImportsLoader(ArrayList<Object> _importslist,
+                         String _path,
+                         Object _typeDefinitionList,
+                         LinkedHashMap<String, Object> tpl,
+                         ResourceResolver _resolver) {
 
         this.importslist = _importslist;
+        this.resolver = _resolver;
         customDefs = new LinkedHashMap<String, Object>();
         allCustomDefs = new LinkedHashMap<String, Object>();
         nestedToscaTpls = new ArrayList<LinkedHashMap<String, Object>>();
@@ -116,8 +130,8 @@ public class ImportsLoader {
                     if (importNames.contains(importName)) {
                         //msg = (_('Duplicate import name "%s" was found.') % import_name)
                         //log.error(msg)
-                        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE186", String.format(
-                                "ValidationError: Duplicate import name \"%s\" was found", importName)));
+                        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE186",
+                                "ValidationError: Duplicate import name \"%s\" was found", importName));
                     }
                     importNames.add(importName); //???
 
@@ -132,7 +146,7 @@ public class ImportsLoader {
                     }
 
                     if (customType != null) {
-                        TypeValidation tv = new TypeValidation(customType, importDef);
+                        _validateTypes(fullFileName, customType, importDef);
                         _updateCustomDefs(customType, namespacePrefix);
                     }
                 }
@@ -142,7 +156,7 @@ public class ImportsLoader {
                 fullFileName = (String) ffnct[0];
                 customType = (LinkedHashMap<String, Object>) ffnct[1];
                 if (customType != null) {
-                    TypeValidation tv = new TypeValidation(customType, importDef);
+                    _validateTypes(fullFileName, customType, importDef);
                     _updateCustomDefs(customType, null);
                 }
             }
@@ -161,6 +175,24 @@ public class ImportsLoader {
      * @param namespacePrefix the namespace prefix
      */
     @SuppressWarnings("unchecked")
+    private void _validateTypes(String fullFileName, LinkedHashMap<String, Object> customType, Object importDef) {
+        if (!ParseContext.currentOptions().isTrusted() && _isNewImport(fullFileName, importDef)) {
+            new TypeValidation(customType, importDef);
+        }
+    }
+
+    // the issues of an import file are reported once per import definition
+    private boolean _isNewImport(String fullFileName, Object importDef) {
+        Map<String, LoadedImport> loadedImports = _loadedImports();
+        LoadedImport loaded = loadedImports != null && fullFileName != null ? loadedImports.get(fullFileName) : null;
+        return loaded == null || loaded.validatedFor.add(String.valueOf(importDef));
+    }
+
+    private static Map<String, LoadedImport> _loadedImports() {
+        ParseContext parseContext = ParseContext.current();
+        return parseContext != null ? parseContext.getLoadedImports() : null;
+    }
+
     private void _updateCustomDefs(LinkedHashMap<String, Object> customType, String namespacePrefix) {
         LinkedHashMap<String, Object> outerCustomTypes;
         for (String typeDef : typeDefinitionList) {
@@ -205,8 +237,8 @@ public class ImportsLoader {
     private void _validateImportKeys(String importName, LinkedHashMap<String, Object> importUri) {
         if (importUri.get(FILE) == null) {
             //log.warning(_('Missing keyname "file" in import "%(name)s".') % {'name': import_name})
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE187", String.format(
-                    "MissingRequiredFieldError: Import of template \"%s\" is missing field %s", importName, FILE)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE187",
+                    "MissingRequiredFieldError: Import of template \"%s\" is missing field %s", importName, FILE));
         }
         for (String key : importUri.keySet()) {
             boolean bFound = false;
@@ -220,12 +252,20 @@ public class ImportsLoader {
                 //log.warning(_('Unknown keyname "%(key)s" error in '
                 //        'imported definition "%(def)s".')
                 //      % {'key': key, 'def': import_name})
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE188", String.format(
-                        "UnknownFieldError: Import of template \"%s\" has unknown fiels %s", importName, key)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE188",
+                        "UnknownFieldError: Import of template \"%s\" has unknown fiels %s", importName, key));
             }
         }
     }
 
+    private static Object _loadYaml(InputStream input) throws IOException {
+        ImportCache importCache = ParseContext.currentOptions().getImportCache();
+        if (importCache != null) {
+            return importCache.load(input);
+        }
+        return YamlUtils.load(input);
+    }
+
     @SuppressWarnings("unchecked")
     private Object[] _loadImportTemplate(String importName, Object importUriDef) {
     	/*
@@ -257,9 +297,9 @@ public class ImportsLoader {
             repository = (String) ((LinkedHashMap<String, Object>) importUriDef).get(REPOSITORY);
             if (repository != null) {
                 if (!repositories.keySet().contains(repository)) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE189", String.format(
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE189",
                             "InvalidPropertyValueError: Repository \"%s\" not found in \"%s\"",
-                            repository, repositories.keySet().toString())));
+                            repository, repositories.keySet().toString()));
                 }
             }
         } else {
@@ -273,8 +313,8 @@ public class ImportsLoader {
             //         'definition "%(import_name)s".')
             //       % {'import_name': import_name})
             //log.error(msg)
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE190", String.format(
-                    "ValidationError: A template file name is not provided with import definition \"%s\"", importName)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE190",
+                    "ValidationError: A template file name is not provided with import definition \"%s\"", importName));
             al[0] = al[1] = null;
             return al;
         }
@@ -282,12 +322,11 @@ public class ImportsLoader {
         if (UrlUtils.validateUrl(fileName)) {
             try (InputStream input = new URL(fileName).openStream();) {
                 al[0] = fileName;
-                Yaml yaml = new Yaml();
-                al[1] = yaml.load(input);
+                al[1] = YamlUtils.load(input);
                 return al;
             } catch (IOException e) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE191", String.format(
-                        "ImportError: \"%s\" loading YAML import from \"%s\"", e.getClass().getSimpleName(), fileName)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE191",
+                        "ImportError: \"%s\" loading YAML import from \"%s\"", e.getClass().getSimpleName(), fileName));
                 al[0] = al[1] = null;
                 return al;
             }
@@ -310,15 +349,14 @@ public class ImportsLoader {
                 } else {
 
                     aFile = true;
-                    File fp = new File(path);
-                    if (fp.isFile()) {
-                        File fn = new File(fileName);
-                        if (fn.isFile()) {
+                    ImportPaths importPaths = ImportPaths.current();
+                    importTemplate = importPaths.getImportFile(path, fileName);
+                    if (importTemplate == null && importPaths.isFile(resolver, path)) {
+                        if (importPaths.isFile(resolver, fileName)) {
                             importTemplate = fileName;
                         } else {
                             String fullPath = Paths.get(path).toAbsolutePath().getParent().toString() + File.separator + fileName;
-                            File ffp = new File(fullPath);
-                            if (ffp.isFile()) {
+                            if (importPaths.isFile(resolver, fullPath)) {
                                 importTemplate = fullPath;
                             } else {
                                 String dirPath = Paths.get(path).toAbsolutePath().getParent().toString();
@@ -331,8 +369,7 @@ public class ImportsLoader {
                                 if (!filePath.isEmpty() && dirPath.endsWith(filePath)) {
                                     String sFileName = Paths.get(fileName).getFileName().toString();
                                     importTemplate = dirPath + File.separator + sFileName;
-                                    File fit = new File(importTemplate);
-                                    if (!fit.isFile()) {
+                                    if (!importPaths.isFile(resolver, importTemplate)) {
                                         //msg = (_('"%(import_template)s" is'
                                         //        'not a valid file')
                                         //      % {'import_template':
@@ -346,11 +383,14 @@ public class ImportsLoader {
                                 }
                             }
                         }
+                        if (importTemplate != null && importPaths.isFile(resolver, importTemplate)) {
+                            importPaths.putImportFile(path, fileName, importTemplate);
+                        }
                     }
                 }
             } else {  // template is pre-parsed
                 File fn = new File(fileName);
-                if (fn.isAbsolute() && fn.isFile()) {
+                if (fn.isAbsolute() && resolver.isFile(fileName)) {
                     aFile = true;
                     importTemplate = fileName;
                 } else {
@@ -365,8 +405,8 @@ public class ImportsLoader {
             if (importTemplate == null || importTemplate.isEmpty()) {
                 //log.error(_('Import "%(name)s" is not valid.') %
                 //          {'name': import_uri_def})
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE195", String.format(
-                        "ImportError: Import \"%s\" is not valid", importUriDef)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE195",
+                        "ImportError: Import \"%s\" is not valid", importUriDef));
                 al[0] = al[1] = null;
                 return al;
             }
@@ -374,25 +414,34 @@ public class ImportsLoader {
             // for now, this must be a file
             if (!aFile) {
                 log.error("ImportsLoader - _loadImportTemplate - Error!! Expected a file. importUriDef = {}, importTemplate = {}", importUriDef, importTemplate);
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE196", String.format(
-                        "ImportError: Import \"%s\" is not a file", importName)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE196",
+                        "ImportError: Import \"%s\" is not a file", importName));
                 al[0] = al[1] = null;
                 return al;
             }
-            try (BufferedReader br = new BufferedReader(new FileReader(importTemplate));) {
+            Map<String, LoadedImport> loadedImports = _loadedImports();
+            LoadedImport loaded = loadedImports != null ? loadedImports.get(importTemplate) : null;
+            if (loaded != null) {
+                // imported before by the parse, the templates are changed as they are processed
                 al[0] = importTemplate;
-
-                Yaml yaml = new Yaml();
-                al[1] = yaml.load(br);
+                al[1] = CopyUtils.deepCopy(loaded.yaml);
+                return al;
+            }
+            try (InputStream input = resolver.open(importTemplate);) {
+                al[0] = importTemplate;
+                al[1] = _loadYaml(input);
+                if (loadedImports != null && al[1] != null) {
+                    loadedImports.putIfAbsent(importTemplate, new LoadedImport(CopyUtils.deepCopy(al[1])));
+                }
                 return al;
             } catch (FileNotFoundException e) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE197", String.format(
-                        "ImportError: Failed to load YAML from \"%s\"" + e, importName)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE197",
+                        "ImportError: Failed to load YAML from \"%s\"" + e, importName));
                 al[0] = al[1] = null;
                 return al;
             } catch (Exception e) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE198", String.format(
-                        "ImportError: Exception from SnakeYAML file = \"%s\"" + e, importName)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE198",
+                        "ImportError: Exception from SnakeYAML file = \"%s\"" + e, importName));
                 al[0] = al[1] = null;
                 return al;
             }
@@ -400,8 +449,8 @@ public class ImportsLoader {
 
         if (shortImportNotation) {
             //log.error(_('Import "%(name)s" is not valid.') % import_uri_def)
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE199", String.format(
-                    "ImportError: Import \"%s\" is not valid", importName)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE199",
+                    "ImportError: Import \"%s\" is not valid", importName));
             al[0] = al[1] = null;
             return al;
         }
@@ -441,12 +490,11 @@ public class ImportsLoader {
         if (UrlUtils.validateUrl(fullUrl)) {
             try (InputStream input = new URL(fullUrl).openStream();) {
                 al[0] = fullUrl;
-                Yaml yaml = new Yaml();
-                al[1] = yaml.load(input);
+                al[1] = YamlUtils.load(input);
                 return al;
             } catch (IOException e) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE201", String.format(
-                        "ImportError: Exception loading YAML import from \"%s\"", fullUrl)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE201",
+                        "ImportError: Exception loading YAML import from \"%s\"", fullUrl));
                 al[0] = al[1] = null;
                 return al;
             }
@@ -459,12 +507,26 @@ public class ImportsLoader {
 
         // if we got here something is wrong with the flow...
         log.error("ImportsLoader - _loadImportTemplate - got to dead end (importName {})", importName);
-        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE203", String.format(
-                "ImportError: _loadImportTemplate got to dead end (importName %s)\n", importName)));
+        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE203",
+                "ImportError: _loadImportTemplate got to dead end (importName %s)\n", importName));
         al[0] = al[1] = null;
         return al;
     }
 
+    /**
+     * An import file loaded by a parse: a copy of its YAML as loaded and the
+     * import definitions it was validated for.
+     */
+    static final class LoadedImport {
+
+        private final Object yaml;
+        private final Set<String> validatedFor = ConcurrentHashMap.newKeySet();
+
+        private LoadedImport(Object yaml) {
+            this.yaml = yaml;
+        }
+    }
+
     @Override
     public String toString() {
         return "ImportsLoader{" +
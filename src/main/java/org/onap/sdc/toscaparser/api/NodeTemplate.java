@@ -30,11 +30,12 @@ import org.onap.sdc.toscaparser.api.utils.CopyUtils;
 import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import static org.onap.sdc.toscaparser.api.elements.EntityType.TOSCA_DEF;
+import static org.onap.sdc.toscaparser.api.elements.EntityType.getToscaDef;
 
 public class NodeTemplate extends EntityTemplate {
 
@@ -45,6 +46,10 @@ public class NodeTemplate extends EntityTemplate {
     private LinkedHashMap<NodeTemplate, RelationshipType> related;
     private ArrayList<RelationshipTemplate> relationshipTpl;
     private LinkedHashMap<RelationshipType, NodeTemplate> _relationships;
+    // relationship templates created for the requirements, by relationship
+    private LinkedHashMap<RelationshipType, ArrayList<RelationshipTemplate>> _requirementRelationshipTpls;
+    // node templates of the topology, by name
+    private Map<String, NodeTemplate> nodeTemplatesByName;
     private SubstitutionMappings subMappingToscaTemplate;
     private TopologyTemplate originComponentTemplate;
     private Metadata metadata;
@@ -72,17 +77,29 @@ public class NodeTemplate extends EntityTemplate {
                 "node_type", ntcustomDef, parentNodeTemplate);
 
         templates = ntnodeTemplates;
-        _validateFields((LinkedHashMap<String, Object>) templates.get(name));
+        if (!ParseContext.currentOptions().isTrusted()) {
+            _validateFields((LinkedHashMap<String, Object>) templates.get(name));
+        }
         customDef = ntcustomDef;
         related = new LinkedHashMap<NodeTemplate, RelationshipType>();
         relationshipTpl = new ArrayList<RelationshipTemplate>();
         availableRelTpls = ntavailableRelTpls;
         availableRelTypes = ntavailableRelTypes;
         _relationships = new LinkedHashMap<RelationshipType, NodeTemplate>();
+        _requirementRelationshipTpls = new LinkedHashMap<RelationshipType, ArrayList<RelationshipTemplate>>();
         subMappingToscaTemplate = null;
         metadata = _metaData();
     }
 
+    /**
+     * Returns the related node templates of the requirements, by relationship.
+     * The related node templates are those of the topology: the relationship
+     * templates created for a requirement are added to the related node
+     * template, and are also read with
+     * {@link #getRequirementRelationshipTemplates(RelationshipType)}.
+     *
+     * @return the related node templates, by relationship
+     */
     @SuppressWarnings("unchecked")
     public LinkedHashMap<RelationshipType, NodeTemplate> getRelationships() {
         if (_relationships.isEmpty()) {
@@ -117,25 +134,20 @@ public class NodeTemplate extends EntityTemplate {
         if (node != null && !node.isEmpty()) {
             //msg = _('Lookup by TOSCA types is not supported. '
             //        'Requirement for "%s" can not be full-filled.') % self.name
-            boolean bFound = false;
-            for (String k : EntityType.TOSCA_DEF.keySet()) {
-                if (k.equals(node)) {
-                    bFound = true;
-                    break;
-                }
-            }
-            if (bFound || customDef.get(node) != null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE205", String.format(
+            if (EntityType.getToscaDef().containsKey(node) || customDef.get(node) != null) {
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE205",
                         "NotImplementedError: Lookup by TOSCA types is not supported. Requirement for \"%s\" can not be full-filled",
-                        getName())));
+                        getName()));
                 return null;
             }
             if (templates.get(node) == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE206", String.format(
-                        "KeyError: Node template \"%s\" was not found", node)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE206",
+                        "KeyError: Node template \"%s\" was not found", node));
                 return null;
             }
-            NodeTemplate relatedTpl = new NodeTemplate(node, templates, customDef, null, null);
+            NodeTemplate relatedTpl = _getNodeTemplate(node);
+            // relationship templates this requirement creates for the related node
+            ArrayList<RelationshipTemplate> relatedRelationshipTpls = new ArrayList<>();
             Object relationship = req.getRelationship();
             String relationshipString = null;
 //			// here relationship can be a string or a LHM with 'type':<relationship>
@@ -200,15 +212,16 @@ public class NodeTemplate extends EntityTemplate {
                                 relationshipString = relPrfx + relationshipString;
                             }
                         } else {
-                            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE208", String.format(
+                            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE208",
                                     "MissingRequiredFieldError: \"relationship\" used in template \"%s\" is missing required field \"type\"",
-                                    relatedTpl.getName())));
+                                    relatedTpl.getName()));
                         }
                     }
                     for (RelationshipType rtype : ((NodeType) typeDefinition).getRelationship().keySet()) {
                         if (rtype.getType().equals(relationshipString)) {
                             explicitRelation.put(rtype, relatedTpl);
-                            relatedTpl._addRelationshipTemplate(req, rtype.getType(), this);
+                            _requirementRelationshipTpls.put(rtype, relatedRelationshipTpls);
+                            relatedRelationshipTpls.add(relatedTpl._addRelationshipTemplate(req, rtype.getType(), this));
                         } else if (availableRelTypes != null && !availableRelTypes.isEmpty()) {
                             LinkedHashMap<String, Object> relTypeDef = (LinkedHashMap<String, Object>) availableRelTypes.get(relationshipString);
                             if (relTypeDef != null) {
@@ -219,7 +232,8 @@ public class NodeTemplate extends EntityTemplate {
                                     }
                                     if (rtype.getType().equals(superType)) {
                                         explicitRelation.put(rtype, relatedTpl);
-                                        relatedTpl._addRelationshipTemplate(req, rtype.getType(), this);
+                                        _requirementRelationshipTpls.put(rtype, relatedRelationshipTpls);
+                                        relatedRelationshipTpls.add(relatedTpl._addRelationshipTemplate(req, rtype.getType(), this));
                                     }
                                 }
                             }
@@ -231,13 +245,41 @@ public class NodeTemplate extends EntityTemplate {
         return explicitRelation;
     }
 
-    @SuppressWarnings("unchecked")
-    private void _addRelationshipTemplate(RequirementAssignment requirement, String rtype, NodeTemplate source) {
+    private RelationshipTemplate _addRelationshipTemplate(RequirementAssignment requirement, String rtype, NodeTemplate source) {
         LinkedHashMap<String, Object> req = new LinkedHashMap<>();
         req.put("relationship", CopyUtils.copyLhmOrAl(requirement.getRelationship()));
         req.put("type", rtype);
         RelationshipTemplate tpl = new RelationshipTemplate(req, rtype, customDef, this, source, getParentNodeTemplate());
         relationshipTpl.add(tpl);
+        return tpl;
+    }
+
+    /**
+     * Returns the relationship templates created for the requirement that
+     * resolved to the given relationship of {@link #getRelationships()}.
+     * The related node template lists them as well, in its
+     * {@link #getRelationshipTemplate()}, together with those of the other
+     * node templates related to it.
+     *
+     * @param relationship a relationship of this node template
+     * @return the relationship templates, empty if there is none
+     */
+    public ArrayList<RelationshipTemplate> getRequirementRelationshipTemplates(RelationshipType relationship) {
+        ArrayList<RelationshipTemplate> relationshipTpls = _requirementRelationshipTpls.get(relationship);
+        return relationshipTpls != null ? relationshipTpls : new ArrayList<RelationshipTemplate>();
+    }
+
+    void setNodeTemplatesByName(Map<String, NodeTemplate> nodeTemplatesByName) {
+        this.nodeTemplatesByName = nodeTemplatesByName;
+    }
+
+    private NodeTemplate _getNodeTemplate(String name) {
+        NodeTemplate nodeTemplate = nodeTemplatesByName != null ? nodeTemplatesByName.get(name) : null;
+        if (nodeTemplate == null) {
+            // not a node template of a topology
+            nodeTemplate = new NodeTemplate(name, templates, customDef, null, null);
+        }
+        return nodeTemplate;
     }
 
     public ArrayList<RelationshipTemplate> getRelationshipTemplate() {
@@ -253,14 +295,12 @@ public class NodeTemplate extends EntityTemplate {
             for (Map.Entry<RelationshipType, NodeType> me : ((NodeType) typeDefinition).getRelationship().entrySet()) {
                 RelationshipType relation = me.getKey();
                 NodeType node = me.getValue();
-                for (String tpl : templates.keySet()) {
-                    if (tpl.equals(node.getType())) {
-                        //BUG.. python has
-                        //    self.related[NodeTemplate(tpl)] = relation
-                        // but NodeTemplate doesn't have a constructor with just name...
-                        //????
-                        related.put(new NodeTemplate(tpl, null, null, null, null), relation);
-                    }
+                if (templates.get(node.getType()) != null) {
+                    //BUG.. python has
+                    //    self.related[NodeTemplate(tpl)] = relation
+                    // but NodeTemplate doesn't have a constructor with just name...
+                    //????
+                    related.put(_getNodeTemplate(node.getType()), relation);
                 }
             }
         }
@@ -319,8 +359,8 @@ public class NodeTemplate extends EntityTemplate {
         ArrayList<Object> requires = (ArrayList<Object>) ((NodeType) typeDefinition).getValue(REQUIREMENTS, entityTpl, false);
         if (requires != null) {
             if (!(requires instanceof ArrayList)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE209", String.format(
-                        "TypeMismatchError: \"requirements\" of template \"%s\" are not of type \"list\"", name)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE209",
+                        "TypeMismatchError: \"requirements\" of template \"%s\" are not of type \"list\"", name));
             } else {
                 for (Object ro : requires) {
                     LinkedHashMap<String, Object> req = (LinkedHashMap<String, Object>) ro;
@@ -363,8 +403,8 @@ public class NodeTemplate extends EntityTemplate {
         if (occurrences.size() != 2 ||
                 !(0 <= (int) occurrences.get(0) && (int) occurrences.get(0) <= (int) occurrences.get(1)) ||
                 (int) occurrences.get(1) == 0) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE210", String.format(
-                    "InvalidPropertyValueError: property has invalid value %s", occurrences.toString())));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE210",
+                    "InvalidPropertyValueError: property has invalid value %s", occurrences.toString()));
         }
     }
 
@@ -378,8 +418,8 @@ public class NodeTemplate extends EntityTemplate {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE211", String.format(
-                        "UnknownFieldError: \"requirements\" of template \"%s\" contains unknown field \"%s\"", name, key)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE211",
+                        "UnknownFieldError: \"requirements\" of template \"%s\" contains unknown field \"%s\"", name, key));
             }
         }
     }
@@ -409,8 +449,8 @@ public class NodeTemplate extends EntityTemplate {
                 } else if (((NodeType) typeDefinition).getInterfaces().keySet().contains(iname)) {
                     _commonValidateField(value, _collectCustomIfaceOperations(iname), "interfaces");
                 } else {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE212", String.format(
-                            "UnknownFieldError: \"interfaces\" of template \"%s\" contains unknown field %s", name, iname)));
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE212",
+                            "UnknownFieldError: \"interfaces\" of template \"%s\" contains unknown field %s", name, iname));
                 }
             }
         }
@@ -429,7 +469,7 @@ public class NodeTemplate extends EntityTemplate {
                 ifaceTypeDef = (LinkedHashMap<String, Object>) ((NodeType) typeDefinition).customDef.get(ifaceType);
             }
             if (ifaceTypeDef == null) {
-                ifaceTypeDef = (LinkedHashMap<String, Object>) EntityType.TOSCA_DEF.get(ifaceType);
+                ifaceTypeDef = (LinkedHashMap<String, Object>) EntityType.getToscaDef().get(ifaceType);
             }
             allowedOperations.addAll(ifaceTypeDef.keySet());
         }
@@ -454,7 +494,7 @@ public class NodeTemplate extends EntityTemplate {
         // Get custom interface details
         Map<String, Object> customInterfacesDetails = ((NodeType) typeDefinition).getInterfaces();
         // Get native interface details from tosca definitions
-        Object nativeInterfaceDetails = TOSCA_DEF.get(InterfacesDef.LIFECYCLE);
+        Object nativeInterfaceDetails = getToscaDef().get(InterfacesDef.LIFECYCLE);
         Map<String, Object> allInterfaceDetails = new LinkedHashMap<>();
         allInterfaceDetails.putAll(customInterfacesDetails);
         if (nativeInterfaceDetails != null) {
@@ -502,8 +542,8 @@ public class NodeTemplate extends EntityTemplate {
 
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE213", String.format(
-                        "UnknownFieldError: Node template \"%s\" has unknown field \"%s\"", name, ntname)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE213",
+                        "UnknownFieldError: Node template \"%s\" has unknown field \"%s\"", name, ntname));
             }
         }
     }
@@ -532,6 +572,26 @@ public class NodeTemplate extends EntityTemplate {
         return getName();
     }
 
+    /**
+     * Get the node templates whose type is, or is derived from, the given type.<br>
+     *
+     * @param nodeTemplates node templates to filter
+     * @param type          a node type name, for example "tosca.nodes.Compute"
+     * @return the matching node templates, in iteration order.
+     * If none found, an empty list will be returned.
+     */
+    public static ArrayList<NodeTemplate> filterByDerivedType(Collection<NodeTemplate> nodeTemplates, String type) {
+        ArrayList<NodeTemplate> filtered = new ArrayList<>();
+        if (nodeTemplates != null) {
+            for (NodeTemplate nodeTemplate : nodeTemplates) {
+                if (nodeTemplate != null && nodeTemplate.isDerivedFrom(type)) {
+                    filtered.add(nodeTemplate);
+                }
+            }
+        }
+        return filtered;
+    }
+
     public TopologyTemplate getOriginComponentTemplate() {
         return originComponentTemplate;
     }
@@ -0,0 +1,381 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api;
+
+import org.onap.sdc.toscaparser.api.common.ParseAbortedException;
+import org.onap.sdc.toscaparser.api.common.RecordingIssueCollector;
+import org.onap.sdc.toscaparser.api.common.ValidationIssueCollector;
+import org.onap.sdc.toscaparser.api.elements.ToscaDefinitions;
+import org.onap.sdc.toscaparser.api.elements.TypeRegistry;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * State of one template parse: the validation issue collector, the type
+ * definitions of the template version, the resolved type cache and the
+ * import files loaded and resolved so far.
+ * <p>
+ * Each {@link ToscaTemplate} creates its own context and makes it current on
+ * the parsing thread (see {@link org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder}).
+ * Everything else the parser reads while parsing - the normative definitions,
+ * the extension registry - is immutable and shared, so templates can be parsed
+ * concurrently on different threads: each parse sees only its own issues and
+ * builds the same model as when parsed alone.
+ * <p>
+ * Work of a parse that runs on other threads - an executor, a ForkJoinPool,
+ * virtual threads - runs in the context of that parse through {@link #run},
+ * {@link #call} or the {@code wrap} methods. The context is current only for
+ * the duration of the task and whatever was current on the executing thread
+ * before is restored afterwards, so pooled threads are left as they were found.
+ * The collector may be reported to from several threads at once.
+ */
+public class ParseContext {
+
+    private final ValidationIssueCollector collector;
+    private final ParseContext root;
+    private final String sourceFile;
+    private final String node;
+    private volatile Map<String, Object> definitions;
+    private volatile TypeRegistry typeRegistry;
+    private volatile ParseOptions options = new ParseOptions();
+    // by file name, kept by the root context
+    private final Map<String, ImportsLoader.LoadedImport> loadedImports;
+    private final ImportPaths importPaths;
+
+    /**
+     * Creates the context of a new parse: an empty collector, the normative
+     * definitions and an empty type registry.
+     */
+    public ParseContext() {
+        this(new ValidationIssueCollector(), ToscaDefinitions.getBaseDefinitions(), new TypeRegistry());
+    }
+
+    /**
+     * @param collector    the collector issues are reported to
+     * @param definitions  read-only type definitions, null for EntityType.TOSCA_DEF
+     * @param typeRegistry the resolved type cache, null to resolve types on every lookup
+     */
+    public ParseContext(ValidationIssueCollector collector,
+                        Map<String, Object> definitions,
+                        TypeRegistry typeRegistry) {
+        this(collector, definitions, typeRegistry, null, null, null);
+    }
+
+    private ParseContext(ValidationIssueCollector collector,
+                         Map<String, Object> definitions,
+                         TypeRegistry typeRegistry,
+                         ParseContext root,
+                         String sourceFile,
+                         String node) {
+        this.root = root != null ? root : this;
+        this.sourceFile = sourceFile;
+        this.node = node;
+        this.collector = collector;
+        this.definitions = definitions;
+        this.typeRegistry = typeRegistry;
+        this.loadedImports = this.root == this ? new ConcurrentHashMap<>() : null;
+        this.importPaths = this.root == this ? new ImportPaths() : null;
+    }
+
+    /**
+     * Returns the context of the parse running on this thread.
+     *
+     * @return the current context, null outside of a parse
+     */
+    public static ParseContext current() {
+        return ThreadLocalsHolder.getContext();
+    }
+
+    /**
+     * Returns the options of the parse running on this thread.
+     *
+     * @return the current options, the default options outside of a parse
+     */
+    public static ParseOptions currentOptions() {
+        ParseContext parseContext = current();
+        return parseContext != null ? parseContext.getOptions() : new ParseOptions();
+    }
+
+    /**
+     * Runs a task with no current context and restores the context of the
+     * calling thread afterwards. A {@link ToscaTemplate} created by the task
+     * leaves nothing behind on the thread; its issues are read through
+     * {@link ToscaTemplate#getParseContext()}.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return the result of the task
+     * @throws Exception the exception thrown by the task
+     */
+    public static <T> T isolated(Callable<T> task) throws Exception {
+        ParseContext previous = ThreadLocalsHolder.getContext();
+        ThreadLocalsHolder.setContext(null);
+        try {
+            return task.call();
+        } finally {
+            ThreadLocalsHolder.setContext(previous);
+        }
+    }
+
+    /**
+     * Runs a task on this thread with this context current.
+     *
+     * @param task the task
+     */
+    public void run(Runnable task) {
+        ParseContext previous = ThreadLocalsHolder.getContext();
+        ThreadLocalsHolder.setContext(this);
+        try {
+            task.run();
+        } finally {
+            ThreadLocalsHolder.setContext(previous);
+        }
+    }
+
+    /**
+     * Calls a task on this thread with this context current.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return the result of the task
+     * @throws Exception the exception thrown by the task
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        ParseContext previous = ThreadLocalsHolder.getContext();
+        ThreadLocalsHolder.setContext(this);
+        try {
+            return task.call();
+        } finally {
+            ThreadLocalsHolder.setContext(previous);
+        }
+    }
+
+    /**
+     * @param task a task
+     * @return a task that runs the given one in this context, on whatever thread runs it
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+
+    /**
+     * @param task a task
+     * @param <T>  the result type
+     * @return a task that calls the given one in this context, on whatever thread calls it
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> call(task);
+    }
+
+    /**
+     * @param executor an executor
+     * @return an executor that runs the tasks submitted to it in this context
+     */
+    public Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * Returns a context for a part of this parse whose issues are kept apart,
+     * for instance to be merged in a fixed order. It shares the definitions,
+     * the type registry and the options of this context.
+     *
+     * @param collector the collector the issues of that part are reported to
+     * @return the new context
+     */
+    public ParseContext withCollector(ValidationIssueCollector collector) {
+        ParseContext parseContext = new ParseContext(collector, definitions, typeRegistry, root, sourceFile, node);
+        parseContext.setOptions(options);
+        return parseContext;
+    }
+
+    /**
+     * Returns a context for a part of this parse found at another location.
+     * Issues created while it is current record that location.
+     *
+     * @param sourceFile the file being parsed
+     * @param node       the name of the node template being parsed, null if none
+     * @return the new context
+     */
+    public ParseContext at(String sourceFile, String node) {
+        ParseContext parseContext = new ParseContext(collector, definitions, typeRegistry, root, sourceFile, node);
+        parseContext.setOptions(options);
+        return parseContext;
+    }
+
+    /**
+     * Runs tasks of this parse on an executor and returns their results in
+     * task order. Each task reports to a collector of its own; the issues are
+     * then appended to this context in task order, as if the tasks had run one
+     * after the other on this thread. If a task fails, its exception is thrown
+     * once the issues of the tasks up to it are appended.
+     * <p>
+     * A task ends as soon as one of its issues is sure to end the parse, see
+     * {@link RecordingIssueCollector}. The tasks after it are then no longer
+     * needed: those not started are cancelled and the others end at their
+     * next issue. The tasks before it still run, one of them may end the
+     * parse on an earlier issue.
+     *
+     * @param tasks    the tasks
+     * @param executor the executor, null to run the tasks on this thread
+     * @param <T>      the result type
+     * @return the results of the tasks
+     */
+    public <T> List<T> invokeAll(List<? extends Supplier<T>> tasks, Executor executor) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (executor == null || tasks.size() < 2) {
+            run(() -> tasks.forEach(task -> results.add(task.get())));
+            return results;
+        }
+        List<CompletableFuture<T>> futures = new CopyOnWriteArrayList<>();
+        List<RecordingIssueCollector> collectors = new ArrayList<>(tasks.size());
+        // the first task that ended the parse
+        AtomicInteger aborted = new AtomicInteger(tasks.size());
+        for (Supplier<T> task : tasks) {
+            int index = collectors.size();
+            RecordingIssueCollector taskCollector =
+                    new RecordingIssueCollector(collector, () -> aborted.get() < index);
+            collectors.add(taskCollector);
+            Supplier<T> abortable = () -> {
+                try {
+                    return task.get();
+                } catch (ParseAbortedException e) {
+                    if (aborted.accumulateAndGet(index, Math::min) == index) {
+                        for (int i = index + 1; i < futures.size(); i++) {
+                            futures.get(i).cancel(false);
+                        }
+                    }
+                    throw e;
+                }
+            };
+            futures.add(CompletableFuture.supplyAsync(abortable, withCollector(taskCollector).wrap(executor)));
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                T result;
+                try {
+                    result = futures.get(i).join();
+                } catch (CompletionException e) {
+                    collectors.get(i).replayTo(collector);
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw e;
+                }
+                collectors.get(i).replayTo(collector);
+                results.add(result);
+            }
+        } catch (RuntimeException | Error e) {
+            // a failed or aborted parse does not need the tasks not started yet
+            futures.forEach(future -> future.cancel(false));
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * @return the context of the whole parse this context is a part of, this
+     * context itself when it is the context of a parse
+     */
+    public ParseContext getRoot() {
+        return root;
+    }
+
+    /**
+     * @return the file being parsed, null if unknown
+     */
+    public String getSourceFile() {
+        return sourceFile;
+    }
+
+    /**
+     * @return the name of the node template being parsed, null if none
+     */
+    public String getNode() {
+        return node;
+    }
+
+    public ValidationIssueCollector getCollector() {
+        return collector;
+    }
+
+    public Map<String, Object> getDefinitions() {
+        return definitions;
+    }
+
+    public void setDefinitions(Map<String, Object> definitions) {
+        this.definitions = definitions;
+    }
+
+    public TypeRegistry getTypeRegistry() {
+        return typeRegistry;
+    }
+
+    public void setTypeRegistry(TypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * @return the import files loaded by the parse, by file name: each is read
+     * and validated once however many templates of the parse import it
+     */
+    Map<String, ImportsLoader.LoadedImport> getLoadedImports() {
+        return root.loadedImports;
+    }
+
+    /**
+     * @return the file names resolved by the imports of the parse
+     */
+    ImportPaths getImportPaths() {
+        return root.importPaths;
+    }
+
+    public ParseOptions getOptions() {
+        return options;
+    }
+
+    public void setOptions(ParseOptions options) {
+        this.options = options != null ? options : new ParseOptions();
+    }
+
+    @Override
+    public String toString() {
+        return "ParseContext{" +
+                "collector=" + collector +
+                ", typeRegistry=" + typeRegistry +
+                ", options=" + options +
+                '}';
+    }
+}
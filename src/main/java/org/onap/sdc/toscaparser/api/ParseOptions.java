@@ -0,0 +1,275 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api;
+
+import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Optional settings for {@link ToscaTemplate} parsing. The defaults reproduce
+ * the behavior of the constructors that do not take options.
+ */
+public class ParseOptions {
+
+    private boolean inMemoryCsar;
+    private boolean extractDefinitionsOnly;
+    private Executor nodeTemplateExecutor;
+    private Executor nestedTopologyExecutor;
+    private Executor importExecutor;
+    private int maxNestingLevels = ToscaTemplate.MAX_LEVELS;
+    private int maxValidationIssues = Integer.MAX_VALUE;
+    private Predicate<JToscaValidationIssue> failFast;
+    private int issueBudget = Integer.MAX_VALUE;
+    private boolean skipValidation;
+    private boolean trusted;
+    private ImportCache importCache;
+
+    public ParseOptions() {
+    }
+
+    /**
+     * If true, a CSAR is parsed directly from the archive: the main template and
+     * its imports are read from the zip entries and nothing is extracted to a
+     * temporary directory. {@link ToscaTemplate#getPath()} then returns a virtual
+     * name of the form "&lt;absolute CSAR path&gt;!/&lt;main template&gt;".
+     *
+     * @return whether CSARs are parsed in memory
+     */
+    public boolean isInMemoryCsar() {
+        return inMemoryCsar;
+    }
+
+    public void setInMemoryCsar(boolean inMemoryCsar) {
+        this.inMemoryCsar = inMemoryCsar;
+    }
+
+    /**
+     * If true, only the definitions of a CSAR - its YAML files - are extracted
+     * to the temporary directory it is parsed from. Its other artifacts stay in
+     * the archive, where they are checked and read through the artifact index
+     * of {@link org.onap.sdc.toscaparser.api.prereq.CSAR}. By default the whole
+     * archive is extracted. Not used for CSARs parsed in memory.
+     *
+     * @return whether only the definitions of CSARs are extracted
+     */
+    public boolean isExtractDefinitionsOnly() {
+        return extractDefinitionsOnly;
+    }
+
+    public void setExtractDefinitionsOnly(boolean extractDefinitionsOnly) {
+        this.extractDefinitionsOnly = extractDefinitionsOnly;
+    }
+
+    /**
+     * If set, the node templates of each topology are built and validated as
+     * tasks on this executor. {@link ToscaTemplate#getNodeTemplates()} keeps the
+     * order of the template and the validation issues are the same as when
+     * parsing sequentially. The executor should not be one whose threads wait
+     * for the parse to complete.
+     *
+     * @return the executor node templates are built on, null to build them on the parsing thread
+     */
+    public Executor getNodeTemplateExecutor() {
+        return nodeTemplateExecutor;
+    }
+
+    public void setNodeTemplateExecutor(Executor nodeTemplateExecutor) {
+        this.nodeTemplateExecutor = nodeTemplateExecutor;
+    }
+
+    /**
+     * If set, the nested topologies substituting node templates of the same
+     * level are built as tasks on this executor. Imports are still resolved
+     * on the parsing thread, and the validation issues are the same as when
+     * parsing sequentially. Tasks wait for node template tasks, so this should
+     * not be a bounded executor that is also the node template executor.
+     *
+     * @return the executor nested topologies are built on, null to build them on the parsing thread
+     */
+    public Executor getNestedTopologyExecutor() {
+        return nestedTopologyExecutor;
+    }
+
+    public void setNestedTopologyExecutor(Executor nestedTopologyExecutor) {
+        this.nestedTopologyExecutor = nestedTopologyExecutor;
+    }
+
+    /**
+     * If set, the import files of a level of the import graph - those imported
+     * by the template, then those imported by these files, and so on - are
+     * loaded and validated as tasks on this executor. The custom definitions
+     * and the validation issues are the same as when loading sequentially.
+     *
+     * @return the executor import files are loaded on, null to load them on the parsing thread
+     */
+    public Executor getImportExecutor() {
+        return importExecutor;
+    }
+
+    public void setImportExecutor(Executor importExecutor) {
+        this.importExecutor = importExecutor;
+    }
+
+    /**
+     * Depth up to which nested topologies are resolved, the main topology
+     * being level 1. Defaults to {@link ToscaTemplate#MAX_LEVELS}.
+     *
+     * @return the maximum nesting level
+     */
+    public int getMaxNestingLevels() {
+        return maxNestingLevels;
+    }
+
+    public void setMaxNestingLevels(int maxNestingLevels) {
+        this.maxNestingLevels = maxNestingLevels;
+    }
+
+    /**
+     * Number of validation issues kept at most. The issues found beyond it are
+     * only counted, see {@link org.onap.sdc.toscaparser.api.common.ValidationIssueCollector#getDroppedIssues()}.
+     *
+     * @return the maximum number of issues kept, unlimited by default
+     */
+    public int getMaxValidationIssues() {
+        return maxValidationIssues;
+    }
+
+    public void setMaxValidationIssues(int maxValidationIssues) {
+        this.maxValidationIssues = maxValidationIssues;
+    }
+
+    /**
+     * If set, the parse is aborted at the first issue it accepts: the
+     * {@link ToscaTemplate} constructor then throws a
+     * {@link org.onap.sdc.toscaparser.api.common.JToscaException} with code
+     * {@link org.onap.sdc.toscaparser.api.utils.JToscaErrorCodes#PARSE_ABORTED}.
+     *
+     * @return the issues that abort the parse, null for none
+     */
+    public Predicate<JToscaValidationIssue> getFailFast() {
+        return failFast;
+    }
+
+    public void setFailFast(Predicate<JToscaValidationIssue> failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * Aborts the parse at the first issue with one of the given codes, or at
+     * the first issue at all when no code is given.
+     *
+     * @param codes issue codes, such as "JE003"
+     */
+    public void setFailFastCodes(String... codes) {
+        Set<String> failFastCodes = new HashSet<>(Arrays.asList(codes));
+        failFast = failFastCodes.isEmpty() ? issue -> true : issue -> failFastCodes.contains(issue.getCode());
+    }
+
+    /**
+     * Number of issues after which the parse is aborted, as in fail-fast mode.
+     *
+     * @return the issue budget, unlimited by default
+     */
+    public int getIssueBudget() {
+        return issueBudget;
+    }
+
+    public void setIssueBudget(int issueBudget) {
+        this.issueBudget = issueBudget;
+    }
+
+    /**
+     * If true, the model is built without validating it: node templates,
+     * inputs, outputs, the inputs, capabilities, requirements and outputs of
+     * substitution mappings, property values and their constraints are not
+     * checked. Property values are then left as written in the template
+     * instead of being converted to their declared types. Issues found while
+     * reading the template and resolving its types are still reported, and so
+     * are those of its structure - missing and unknown keys of the template,
+     * its node templates, policies and substitution mappings - which only a
+     * trusted parse skips, see {@link #isTrusted()}.
+     *
+     * @return whether validation is skipped
+     */
+    public boolean isSkipValidation() {
+        return skipValidation || trusted;
+    }
+
+    public void setSkipValidation(boolean skipValidation) {
+        this.skipValidation = skipValidation;
+    }
+
+    /**
+     * If true, the template is trusted to be valid, as CSARs designed in SDC
+     * are, and the parse only builds the model and resolves intrinsic
+     * functions. Validation is skipped as with {@link #isSkipValidation()}, and
+     * so are the structure checks: unknown sections and keys of the template,
+     * its node templates, policies and substitution mappings, the sections of
+     * imported type files, and the external references of a CSAR.
+     *
+     * @return whether the template is trusted
+     */
+    public boolean isTrusted() {
+        return trusted;
+    }
+
+    public void setTrusted(boolean trusted) {
+        this.trusted = trusted;
+    }
+
+    /**
+     * If set, the import files are loaded through this cache, which can be
+     * shared by parses so that the type files common to many CSARs are loaded
+     * from YAML once.
+     *
+     * @return the cache of import files, null to load every import
+     */
+    public ImportCache getImportCache() {
+        return importCache;
+    }
+
+    public void setImportCache(ImportCache importCache) {
+        this.importCache = importCache;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseOptions{" +
+                "inMemoryCsar=" + inMemoryCsar +
+                ", extractDefinitionsOnly=" + extractDefinitionsOnly +
+                ", nodeTemplateExecutor=" + nodeTemplateExecutor +
+                ", nestedTopologyExecutor=" + nestedTopologyExecutor +
+                ", importExecutor=" + importExecutor +
+                ", maxNestingLevels=" + maxNestingLevels +
+                ", maxValidationIssues=" + maxValidationIssues +
+                ", failFast=" + failFast +
+                ", issueBudget=" + issueBudget +
+                ", skipValidation=" + skipValidation +
+                ", trusted=" + trusted +
+                ", importCache=" + importCache +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api;
+
+import org.onap.sdc.toscaparser.api.common.ValidationIssueCollector;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of parsing one input of a {@link ToscaBatchParser}: the model, the
+ * validation issues of that parse only and how long it took.
+ */
+public class ParseResult {
+
+    private final String name;
+    private final ToscaTemplate toscaTemplate;
+    private final ValidationIssueCollector collector;
+    private final Exception exception;
+    private final long elapsedNanos;
+
+    ParseResult(String name,
+                ToscaTemplate toscaTemplate,
+                ValidationIssueCollector collector,
+                Exception exception,
+                long elapsedNanos) {
+        this.name = name;
+        this.toscaTemplate = toscaTemplate;
+        this.collector = collector;
+        this.exception = exception;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the path or the name of the input
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the parsed template, null if the parse was aborted
+     */
+    public ToscaTemplate getToscaTemplate() {
+        return toscaTemplate;
+    }
+
+    /**
+     * @return the exception that aborted the parse, null if it completed
+     */
+    public Exception getException() {
+        return exception;
+    }
+
+    public boolean isSuccessful() {
+        return toscaTemplate != null;
+    }
+
+    /**
+     * @return the collector of the issues of this parse, null if the parse
+     * failed before it started
+     */
+    public ValidationIssueCollector getCollector() {
+        return collector;
+    }
+
+    public List<String> getValidationIssueReport() {
+        return collector != null ? collector.getValidationIssueReport() : Collections.emptyList();
+    }
+
+    public int validationIssuesCaught() {
+        return collector != null ? collector.validationIssuesCaught() : 0;
+    }
+
+    /**
+     * @return the time spent parsing, including reading the input
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult{" +
+                "name='" + name + '\'' +
+                ", successful=" + isSuccessful() +
+                ", validationIssuesCaught=" + validationIssuesCaught() +
+                ", exception=" + exception +
+                ", elapsedMillis=" + getElapsedMillis() +
+                '}';
+    }
+}
@@ -78,7 +78,9 @@ public class Policy extends EntityTemplate {
         if (_policy.get("properties") != null) {
             properties = (LinkedHashMap<String, Object>) _policy.get("properties");
         }
-        _validateKeys();
+        if (!ParseContext.currentOptions().isTrusted()) {
+            _validateKeys();
+        }
     }
 
     public ArrayList<String> getTargets() {
@@ -140,9 +142,9 @@ public class Policy extends EntityTemplate {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE219", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE219",
                         "UnknownFieldError: Policy \"%s\" contains unknown field \"%s\"",
-                        name, key)));
+                        name, key));
             }
         }
     }
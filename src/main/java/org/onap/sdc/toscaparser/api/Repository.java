@@ -44,9 +44,9 @@ public class Repository {
         if (reposit instanceof LinkedHashMap) {
             url = (String) ((LinkedHashMap<String, Object>) reposit).get("url");
             if (url == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE229", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE229",
                         "MissingRequiredFieldError: Repository \"%s\" is missing required field \"url\"",
-                        name)));
+                        name));
             }
         }
         loadAndValidate(name, reposit);
@@ -65,9 +65,9 @@ public class Repository {
                     }
                 }
                 if (!bFound) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE230", String.format(
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE230",
                             "UnknownFieldError: repositories \"%s\" contains unknown field \"%s\"",
-                            keyname, key)));
+                            keyname, key));
                 }
             }
 
@@ -75,8 +75,8 @@ public class Repository {
             if (repositUrl != null) {
                 boolean urlVal = UrlUtils.validateUrl(repositUrl);
                 if (!urlVal) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE231", String.format(
-                            "URLException: repsositories \"%s\" Invalid Url", keyname)));
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE231",
+                            "URLException: repsositories \"%s\" Invalid Url", keyname));
                 }
             }
         }
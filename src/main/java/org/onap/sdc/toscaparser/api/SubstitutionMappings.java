@@ -23,6 +23,7 @@ package org.onap.sdc.toscaparser.api;
 import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
 import org.onap.sdc.toscaparser.api.elements.NodeType;
 import org.onap.sdc.toscaparser.api.elements.PropertyDef;
+import org.onap.sdc.toscaparser.api.elements.TypeRegistry;
 import org.onap.sdc.toscaparser.api.parameters.Input;
 import org.onap.sdc.toscaparser.api.parameters.Output;
 import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
@@ -72,7 +73,9 @@ public class SubstitutionMappings {
         groups = smgroups != null ? smgroups : new ArrayList<Group>();
         subMappedNodeTemplate = smsubMappedNodeTemplate;
         customDefs = smcustomDefs != null ? smcustomDefs : new LinkedHashMap<String, Object>();
-        _validate();
+        if (!ParseContext.currentOptions().isTrusted()) {
+            _validate();
+        }
 
         _capabilities = null;
         _requirements = null;
@@ -124,7 +127,7 @@ public class SubstitutionMappings {
     }
 
     public NodeType getNodeDefinition() {
-        return new NodeType(getNodeType(), customDefs);
+        return TypeRegistry.current().getNodeType(getNodeType(), customDefs);
     }
 
     private void _validate() {
@@ -133,10 +136,12 @@ public class SubstitutionMappings {
         _validateType();
 
         // SubstitutionMapping class syntax validation
-        _validateInputs();
-        _validateCapabilities();
-        _validateRequirements();
-        _validateOutputs();
+        if (!ParseContext.currentOptions().isSkipValidation()) {
+            _validateInputs();
+            _validateCapabilities();
+            _validateRequirements();
+            _validateOutputs();
+        }
     }
 
     private void _validateKeys() {
@@ -150,9 +155,9 @@ public class SubstitutionMappings {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE232", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE232",
                         "UnknownFieldError: SubstitutionMappings contain unknown field \"%s\"",
-                        key)));
+                        key));
             }
         }
     }
@@ -161,14 +166,14 @@ public class SubstitutionMappings {
         // validate the node_type of substitution mappings
         String nodeType = (String) subMappingDef.get(NODE_TYPE);
         if (nodeType == null) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE233", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE233",
                     "MissingRequiredFieldError: SubstitutionMappings used in topology_template is missing required field \"%s\"",
-                    NODE_TYPE)));
+                    NODE_TYPE));
         }
         Object nodeTypeDef = customDefs.get(nodeType);
         if (nodeTypeDef == null) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE234", String.format(
-                    "InvalidNodeTypeError: \"%s\" is invalid", nodeType)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE234",
+                    "InvalidNodeTypeError: \"%s\" is invalid", nodeType));
         }
     }
 
@@ -194,9 +199,9 @@ public class SubstitutionMappings {
         for (String property : requiredProperties) {
             // Check property which is 'required' and has no 'default' value
             if (!allInputs.contains(property)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE235", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE235",
                         "MissingRequiredInputError: SubstitutionMappings with node_type \"%s\" is missing required input \"%s\"",
-                        getNodeType(), property)));
+                        getNodeType(), property));
             }
         }
         // If the optional properties of node type need to be customized by
@@ -212,9 +217,9 @@ public class SubstitutionMappings {
         diffset.removeAll(allInputs);
         for (String parameter : diffset) {
             if (allProperties.contains(parameter)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE236", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE236",
                         "MissingRequiredInputError: SubstitutionMappings with node_type \"%s\" is missing required input \"%s\"",
-                        getNodeType(), parameter)));
+                        getNodeType(), parameter));
             }
         }
         // Additional inputs are not in the properties of node type must
@@ -225,9 +230,9 @@ public class SubstitutionMappings {
             diffset = allInputs;
             diffset.removeAll(allProperties);
             if (diffset.contains(inp.getName()) && inp.getDefault() == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE237", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE237",
                         "MissingRequiredInputError: SubstitutionMappings with node_type \"%s\" is missing rquired input \"%s\"",
-                        getNodeType(), inp.getName())));
+                        getNodeType(), inp.getName()));
             }
         }
     }
@@ -296,9 +301,9 @@ public class SubstitutionMappings {
         for (Output output : outputs) {
             Object ado = getNodeDefinition().getAttributesDef();
             if (ado != null && ((LinkedHashMap<String, Object>) ado).get(output.getName()) == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE238", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE238",
                         "UnknownOutputError: Unknown output \"%s\" in SubstitutionMappings with node_type \"%s\"",
-                        output.getName(), getNodeType())));
+                        output.getName(), getNodeType()));
             }
         }
     }
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class TopologyTemplate {
 
@@ -59,16 +60,20 @@ public class TopologyTemplate {
     private ArrayList<Output> outputs;
     private ArrayList<RelationshipTemplate> relationshipTemplates;
     private ArrayList<NodeTemplate> nodeTemplates;
+    private LinkedHashMap<String, NodeTemplate> nodeTemplatesByName;
     private LinkedHashMap<String, Object> customDefs;
     private LinkedHashMap<String, Object> relTypes;//TYPE
     private NodeTemplate subMappedNodeTemplate;
     private ArrayList<Group> groups;
+    private LinkedHashMap<String, Group> groupsByName;
     private ArrayList<Policy> policies;
+    private LinkedHashMap<String, Policy> policiesByName;
     private LinkedHashMap<String, Object> parsedParams = null;//TYPE
     private String description;
     private ToscaGraph graph;
     private SubstitutionMappings substitutionMappings;
     private boolean resolveGetInput;
+    private ParseContext parseContext;
 
     public TopologyTemplate(
             LinkedHashMap<String, Object> _template,
@@ -78,6 +83,7 @@ public class TopologyTemplate {
             NodeTemplate _subMappedNodeTemplate,
             boolean _resolveGetInput) {
 
+        parseContext = ParseContext.current();
         tpl = _template;
         if (tpl != null) {
             subMappedNodeTemplate = _subMappedNodeTemplate;
@@ -86,18 +92,26 @@ public class TopologyTemplate {
             relTypes = _relTypes;
             parsedParams = _parsedParams;
             resolveGetInput = _resolveGetInput;
-            _validateField();
+            if (!ParseContext.currentOptions().isTrusted()) {
+                _validateField();
+            }
             description = _tplDescription();
             inputs = _inputs();
             relationshipTemplates = _relationshipTemplates();
             //todo: pass subMappedNodeTemplate to ET constractor
             nodeTemplates = _nodeTemplates();
+            nodeTemplatesByName = _indexByName(nodeTemplates);
+            for (NodeTemplate nodeTemplate : nodeTemplates) {
+                nodeTemplate.setNodeTemplatesByName(nodeTemplatesByName);
+            }
             outputs = _outputs();
             if (nodeTemplates != null) {
                 graph = new ToscaGraph(nodeTemplates);
             }
             groups = _groups();
+            groupsByName = _indexByName(groups);
             policies = _policies();
+            policiesByName = _indexByName(policies);
             _processIntrinsicFunctions();
             substitutionMappings = _substitutionMappings();
         }
@@ -109,19 +123,21 @@ public class TopologyTemplate {
         for (String name : _tplInputs().keySet()) {
             Object attrs = _tplInputs().get(name);
             Input input = new Input(name, (LinkedHashMap<String, Object>) attrs, customDefs);
-            if (parsedParams != null && parsedParams.get(name) != null) {
-                input.validate(parsedParams.get(name));
-            } else {
-                Object _default = input.getDefault();
-                if (_default != null) {
-                    input.validate(_default);
+            if (_validating()) {
+                if (parsedParams != null && parsedParams.get(name) != null) {
+                    input.validate(parsedParams.get(name));
+                } else {
+                    Object _default = input.getDefault();
+                    if (_default != null) {
+                        input.validate(_default);
+                    }
                 }
             }
             if ((parsedParams != null && parsedParams.get(input.getName()) == null || parsedParams == null)
                     && input.isRequired() && input.getDefault() == null) {
                 ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE003",
-                    String.format("MissingRequiredFieldError: The required input \"%s\" was not provided"
-                        , input.getName()))
+                    "MissingRequiredFieldError: The required input \"%s\" was not provided"
+                        , input.getName())
                 );
             }
             alInputs.add(input);
@@ -143,25 +159,59 @@ public class TopologyTemplate {
         ArrayList<NodeTemplate> alNodeTemplates = new ArrayList<>();
         LinkedHashMap<String, Object> tpls = _tplNodeTemplates();
         if (tpls != null) {
-            for (String name : tpls.keySet()) {
-                NodeTemplate tpl = new NodeTemplate(name,
-                        tpls,
-                        customDefs,
-                        relationshipTemplates,
-                        relTypes,
-                        subMappedNodeTemplate);
-                if (tpl.getTypeDefinition() != null) {
-                    boolean b = NodeType.TOSCA_DEF.get(tpl.getType()) != null;
-                    if (b || (tpl.getCustomDef() != null && !tpl.getCustomDef().isEmpty())) {
-                        tpl.validate();
+            if (parseContext != null && parseContext.getOptions().getNodeTemplateExecutor() != null) {
+                // templates are built as tasks, merged back in template order
+                ArrayList<Supplier<NodeTemplate>> tasks = new ArrayList<>();
+                for (String name : tpls.keySet()) {
+                    tasks.add(() -> _nodeTemplate(name, tpls));
+                }
+                for (NodeTemplate tpl : parseContext.invokeAll(tasks, parseContext.getOptions().getNodeTemplateExecutor())) {
+                    if (tpl != null) {
                         alNodeTemplates.add(tpl);
                     }
                 }
+                return alNodeTemplates;
+            }
+            for (String name : tpls.keySet()) {
+                NodeTemplate tpl = _nodeTemplate(name, tpls);
+                if (tpl != null) {
+                    alNodeTemplates.add(tpl);
+                }
             }
         }
         return alNodeTemplates;
     }
 
+    private NodeTemplate _nodeTemplate(String name, LinkedHashMap<String, Object> tpls) {
+        ParseContext current = ParseContext.current();
+        if (current == null) {
+            return _buildNodeTemplate(name, tpls);
+        }
+        // issues found while building the template record its name
+        NodeTemplate[] tpl = new NodeTemplate[1];
+        current.at(current.getSourceFile(), name).run(() -> tpl[0] = _buildNodeTemplate(name, tpls));
+        return tpl[0];
+    }
+
+    private NodeTemplate _buildNodeTemplate(String name, LinkedHashMap<String, Object> tpls) {
+        NodeTemplate tpl = new NodeTemplate(name,
+                tpls,
+                customDefs,
+                relationshipTemplates,
+                relTypes,
+                subMappedNodeTemplate);
+        if (tpl.getTypeDefinition() != null) {
+            boolean b = NodeType.getToscaDef().get(tpl.getType()) != null;
+            if (b || (tpl.getCustomDef() != null && !tpl.getCustomDef().isEmpty())) {
+                if (_validating()) {
+                    tpl.validate();
+                }
+                return tpl;
+            }
+        }
+        return null;
+    }
+
     @SuppressWarnings("unchecked")
     private ArrayList<RelationshipTemplate> _relationshipTemplates() {
         ArrayList<RelationshipTemplate> alRelationshipTemplates = new ArrayList<>();
@@ -183,12 +233,18 @@ public class TopologyTemplate {
             String oname = me.getKey();
             LinkedHashMap<String, Object> oattrs = (LinkedHashMap<String, Object>) me.getValue();
             Output o = new Output(oname, oattrs);
-            o.validate();
+            if (_validating()) {
+                o.validate();
+            }
             alOutputs.add(o);
         }
         return alOutputs;
     }
 
+    private boolean _validating() {
+        return parseContext == null || !parseContext.getOptions().isSkipValidation();
+    }
+
     private SubstitutionMappings _substitutionMappings() {
         LinkedHashMap<String, Object> tplSubstitutionMapping = (LinkedHashMap<String, Object>) _tplSubstitutionMappings();
 
@@ -254,9 +310,9 @@ public class TopologyTemplate {
                 DataEntity.validateDatatype("list", memberNames, null, null, null);
                 if (memberNames.size() < 1 ||
                         (new HashSet<String>(memberNames)).size() != memberNames.size()) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE005", String.format(
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE005",
                             "InvalidGroupTargetException: Member nodes \"%s\" should be >= 1 and not repeated",
-                            memberNames.toString())));
+                            memberNames.toString()));
                 } else {
                     memberNodes = _getGroupMembers(memberNames);
                 }
@@ -274,10 +330,9 @@ public class TopologyTemplate {
         ArrayList<NodeTemplate> memberNodes = new ArrayList<>();
         _validateGroupMembers(memberNames);
         for (String member : memberNames) {
-            for (NodeTemplate node : nodeTemplates) {
-                if (member.equals(node.getName())) {
-                    memberNodes.add(node);
-                }
+            NodeTemplate node = nodeTemplatesByName.get(member);
+            if (node != null) {
+                memberNodes.add(node);
             }
         }
         return memberNodes;
@@ -286,28 +341,34 @@ public class TopologyTemplate {
     private ArrayList<Group> _getPolicyGroups(ArrayList<String> memberNames) {
         ArrayList<Group> memberGroups = new ArrayList<>();
         for (String member : memberNames) {
-            for (Group group : groups) {
-                if (member.equals(group.getName())) {
-                    memberGroups.add(group);
-                }
+            Group group = groupsByName.get(member);
+            if (group != null) {
+                memberGroups.add(group);
             }
         }
         return memberGroups;
     }
 
     private void _validateGroupMembers(ArrayList<String> members) {
-        ArrayList<String> nodeNames = new ArrayList<>();
-        for (NodeTemplate node : nodeTemplates) {
-            nodeNames.add(node.getName());
-        }
         for (String member : members) {
-            if (!nodeNames.contains(member)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE239", String.format(
-                        "InvalidGroupTargetException: Target member \"%s\" is not found in \"nodeTemplates\"", member)));
+            if (!nodeTemplatesByName.containsKey(member)) {
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE239",
+                        "InvalidGroupTargetException: Target member \"%s\" is not found in \"nodeTemplates\"", member));
             }
         }
     }
 
+    private static <T extends EntityTemplate> LinkedHashMap<String, T> _indexByName(ArrayList<T> templates) {
+        LinkedHashMap<String, T> byName = new LinkedHashMap<>();
+        if (templates != null) {
+            for (T template : templates) {
+                // keep the first one, like a scan of the list
+                byName.putIfAbsent(template.getName(), template);
+            }
+        }
+        return byName;
+    }
+
     // topology template can act like node template
     // it is exposed by substitution_mappings.
 
@@ -392,8 +453,8 @@ public class TopologyTemplate {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE240", String.format(
-                        "UnknownFieldError: TopologyTemplate contains unknown field \"%s\"", name)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE240",
+                        "UnknownFieldError: TopologyTemplate contains unknown field \"%s\"", name));
             }
         }
     }
@@ -463,22 +524,19 @@ public class TopologyTemplate {
                     }
                 }
                 for (RelationshipType rel : nt.getRelationships().keySet()) {
-                    NodeTemplate node = nt.getRelationships().get(rel);
-                    ArrayList<RelationshipTemplate> relTpls = node.getRelationshipTemplate();
-                    if (relTpls != null) {
-                        for (RelationshipTemplate relTpl : relTpls) {
-                            // TT 5
-                            for (InterfacesDef iface : relTpl.getInterfaces()) {
-                                if (iface.getInputs() != null) {
-                                    for (String name : iface.getInputs().keySet()) {
-                                        Object value = iface.getInputs().get(name);
-                                        Object func = Function.getFunction(
-                                                this,
-                                                relTpl,
-                                                value,
-                                                resolveGetInput);
-                                        iface.setInput(name, func);
-                                    }
+                    ArrayList<RelationshipTemplate> relTpls = nt.getRequirementRelationshipTemplates(rel);
+                    for (RelationshipTemplate relTpl : relTpls) {
+                        // TT 5
+                        for (InterfacesDef iface : relTpl.getInterfaces()) {
+                            if (iface.getInputs() != null) {
+                                for (String name : iface.getInputs().keySet()) {
+                                    Object value = iface.getInputs().get(name);
+                                    Object func = Function.getFunction(
+                                            this,
+                                            relTpl,
+                                            value,
+                                            resolveGetInput);
+                                    iface.setInput(name, func);
                                 }
                             }
                         }
@@ -524,6 +582,16 @@ public class TopologyTemplate {
         return policies;
     }
 
+    /**
+     * Get the policy with the given name.<br>
+     *
+     * @param name the name of a policy of this topology
+     * @return the policy, or null if there is none with this name.
+     */
+    public Policy getPolicy(String name) {
+        return policiesByName != null ? policiesByName.get(name) : null;
+    }
+
     public ArrayList<RelationshipTemplate> getRelationshipTemplates() {
         return relationshipTemplates;
     }
@@ -532,10 +600,30 @@ public class TopologyTemplate {
         return nodeTemplates;
     }
 
+    /**
+     * Get the node template with the given name.<br>
+     *
+     * @param name the name of a node template of this topology
+     * @return the node template, or null if there is none with this name.
+     */
+    public NodeTemplate getNodeTemplate(String name) {
+        return nodeTemplatesByName != null ? nodeTemplatesByName.get(name) : null;
+    }
+
     public ArrayList<Group> getGroups() {
         return groups;
     }
 
+    /**
+     * Get the group with the given name.<br>
+     *
+     * @param name the name of a group of this topology
+     * @return the group, or null if there is none with this name.
+     */
+    public Group getGroup(String name) {
+        return groupsByName != null ? groupsByName.get(name) : null;
+    }
+
     public SubstitutionMappings getSubstitutionMappings() {
         return substitutionMappings;
     }
@@ -544,6 +632,25 @@ public class TopologyTemplate {
         return parsedParams;
     }
 
+    /**
+     * @param parsedParams the params the inputs of this topology are read from
+     *                     once it is built, such as the params shared by the
+     *                     nested topologies of a parse
+     */
+    void setParsedParams(LinkedHashMap<String, Object> parsedParams) {
+        this.parsedParams = parsedParams;
+    }
+
+    /**
+     * Returns the context this topology was parsed in. Work on this topology
+     * handed to other threads runs in it through {@link ParseContext#wrap}.
+     *
+     * @return the parse context, null if the topology was parsed outside of one
+     */
+    public ParseContext getParseContext() {
+        return parseContext != null ? parseContext.getRoot() : null;
+    }
+
     public boolean getResolveGetInput() {
         return resolveGetInput;
     }
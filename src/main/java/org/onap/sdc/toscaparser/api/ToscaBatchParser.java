@@ -0,0 +1,392 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses many templates or CSARs on a pool of worker threads.
+ * <p>
+ * Each input is parsed as a {@link ToscaTemplate} of its own, in its own
+ * {@link ParseContext}, so its {@link ParseResult} holds only the issues of
+ * that input. The normative definitions and the extension registry are shared
+ * by all the workers.
+ * <p>
+ * Results are returned in input order. Inputs are read from the given
+ * iterable only as results are consumed: no more than {@code maxInFlight}
+ * inputs are being parsed or waiting to be consumed at any time, which bounds
+ * the memory held by the batch however many inputs there are.
+ * <pre>
+ * try (ToscaBatchParser parser = new ToscaBatchParser(4)) {
+ *     parser.parsePaths(paths).forEachRemaining(result -&gt; ...);
+ * }
+ * </pre>
+ * Closing the parser cancels the parses not consumed yet: the results
+ * returned before can still be used, but the iterators then throw an
+ * {@link IllegalStateException}.
+ */
+public class ToscaBatchParser implements AutoCloseable {
+
+    private static Logger log = LoggerFactory.getLogger(ToscaBatchParser.class.getName());
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int maxInFlight;
+    private volatile ParseOptions parseOptions = new ParseOptions();
+    private volatile LinkedHashMap<String, Object> parsedParams;
+    private volatile boolean resolveGetInput = true;
+    private volatile boolean closed;
+    // the results not consumed to the end
+    private final Set<Results> open = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a parser with a pool of its own, released by {@link #close()}.
+     * Up to twice as many inputs as workers are in flight.
+     *
+     * @param workers the number of worker threads
+     */
+    public ToscaBatchParser(int workers) {
+        this(Executors.newFixedThreadPool(workers, new WorkerThreadFactory()), 2 * workers, true);
+    }
+
+    /**
+     * Creates a parser that runs the parses on the given executor. The
+     * executor is not shut down by {@link #close()}.
+     *
+     * @param executor    the executor the parses run on
+     * @param maxInFlight the number of inputs parsed or waiting to be consumed at most
+     */
+    public ToscaBatchParser(ExecutorService executor, int maxInFlight) {
+        this(executor, maxInFlight, false);
+    }
+
+    private ToscaBatchParser(ExecutorService executor, int maxInFlight, boolean ownsExecutor) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public ParseOptions getParseOptions() {
+        return parseOptions;
+    }
+
+    /**
+     * @param parseOptions the options of every parse, shared by the workers
+     */
+    public void setParseOptions(ParseOptions parseOptions) {
+        this.parseOptions = parseOptions != null ? parseOptions : new ParseOptions();
+    }
+
+    public LinkedHashMap<String, Object> getParsedParams() {
+        return parsedParams;
+    }
+
+    /**
+     * @param parsedParams the input values of every parse, each parse gets a copy
+     */
+    public void setParsedParams(LinkedHashMap<String, Object> parsedParams) {
+        this.parsedParams = parsedParams;
+    }
+
+    public boolean isResolveGetInput() {
+        return resolveGetInput;
+    }
+
+    public void setResolveGetInput(boolean resolveGetInput) {
+        this.resolveGetInput = resolveGetInput;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Parses template or CSAR files.
+     *
+     * @param paths the file paths
+     * @return the results, in the order of the paths
+     */
+    public Iterator<ParseResult> parsePaths(Iterable<String> paths) {
+        Iterator<String> it = paths.iterator();
+        return parse(() -> new Iterator<Input>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Input next() {
+                return Input.path(it.next());
+            }
+        });
+    }
+
+    /**
+     * Parses inputs. The returned iterator is meant to be consumed by one
+     * thread; the parses run ahead of it by up to {@code maxInFlight} inputs.
+     *
+     * @param inputs the inputs
+     * @return the results, in the order of the inputs
+     */
+    public Iterator<ParseResult> parse(Iterable<Input> inputs) {
+        _checkOpen();
+        Results results = new Results(inputs.iterator());
+        open.add(results);
+        if (closed) {
+            // closed meanwhile
+            results._cancel();
+            _checkOpen();
+        }
+        return results;
+    }
+
+    /**
+     * Parses one input on the calling thread, as a worker would.
+     *
+     * @param input the input
+     * @return its result
+     */
+    public ParseResult parse(Input input) {
+        try {
+            return ParseContext.isolated(() -> _parse(input));
+        } catch (Exception e) {
+            // _parse reports its failures in the result
+            return new ParseResult(input.getName(), null, null, e, 0);
+        }
+    }
+
+    /**
+     * Cancels the parses not consumed yet and, if the parser has a pool of
+     * its own, shuts the pool down.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Results results : open) {
+            results._cancel();
+        }
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void _checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The batch parser is closed");
+        }
+    }
+
+    private ParseResult _parse(Input input) {
+        long start = System.nanoTime();
+        ToscaTemplate toscaTemplate = null;
+        Exception exception = null;
+        File spooled = null;
+        try {
+            String path = input.path;
+            if (input.source != null) {
+                spooled = _spool(input);
+                path = spooled.getAbsolutePath();
+            }
+            LinkedHashMap<String, Object> params = parsedParams;
+            toscaTemplate = new ToscaTemplate(path, params != null ? new LinkedHashMap<>(params) : null,
+                    true, null, resolveGetInput, parseOptions);
+        } catch (Exception e) {
+            log.error("ToscaBatchParser - failed to parse {}: {}", input.getName(), e.getMessage());
+            exception = e;
+        } finally {
+            if (spooled != null && !spooled.delete()) {
+                log.debug("ToscaBatchParser - failed to delete {}", spooled);
+            }
+        }
+        ParseContext parseContext = ParseContext.current();
+        return new ParseResult(input.getName(), toscaTemplate,
+                parseContext != null ? parseContext.getCollector() : null, exception, System.nanoTime() - start);
+    }
+
+    private static File _spool(Input input) throws Exception {
+        String name = new File(input.getName()).getName();
+        int dot = name.lastIndexOf('.');
+        File file = File.createTempFile("jtoscabatch", dot >= 0 ? name.substring(dot) : null);
+        try (InputStream in = input.source.call()) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * An input of a batch: a file path, or a stream read when the input is
+     * parsed. A stream is copied to a temporary file named after the input,
+     * whose extension tells a CSAR (.csar, .zip) from a template (.yaml, .yml).
+     * A template read from a stream cannot import files by relative path.
+     */
+    public static final class Input {
+
+        private final String name;
+        private final String path;
+        private final Callable<? extends InputStream> source;
+
+        private Input(String name, String path, Callable<? extends InputStream> source) {
+            this.name = name;
+            this.path = path;
+            this.source = source;
+        }
+
+        public static Input path(String path) {
+            return new Input(path, path, null);
+        }
+
+        /**
+         * @param name   the name of the input, ending with its file extension
+         * @param source opens the stream, called on the worker that parses the input;
+         *               the stream is closed once read
+         * @return the input
+         */
+        public static Input stream(String name, Callable<? extends InputStream> source) {
+            return new Input(name, null, source);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final class Results implements Iterator<ParseResult> {
+
+        private final Iterator<Input> inputs;
+        private final ArrayDeque<Future<ParseResult>> pending = new ArrayDeque<>();
+
+        private Results(Iterator<Input> inputs) {
+            this.inputs = inputs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            synchronized (this) {
+                _checkOpen();
+                _fill();
+                if (pending.isEmpty()) {
+                    open.remove(this);
+                    return false;
+                }
+                return true;
+            }
+        }
+
+        @Override
+        public ParseResult next() {
+            Future<ParseResult> future;
+            synchronized (this) {
+                _checkOpen();
+                _fill();
+                // kept pending while waited for, for close() to cancel
+                future = pending.peek();
+            }
+            if (future == null) {
+                throw new NoSuchElementException();
+            }
+            ParseResult result;
+            try {
+                result = future.get();
+            } catch (CancellationException e) {
+                _checkOpen();
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                _cancel();
+                throw new IllegalStateException("Interrupted while waiting for a parse", e);
+            } catch (ExecutionException e) {
+                // parse() catches everything but errors
+                _cancel();
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            synchronized (this) {
+                pending.remove(future);
+                // closed while waiting: the result is complete, the parses after it are cancelled
+                if (!closed) {
+                    _fill();
+                }
+            }
+            return result;
+        }
+
+        private void _fill() {
+            while (pending.size() < maxInFlight && inputs.hasNext()) {
+                Input input = inputs.next();
+                pending.add(executor.submit(() -> parse(input)));
+            }
+        }
+
+        private synchronized void _cancel() {
+            for (Future<ParseResult> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+            open.remove(this);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "jtosca-batch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
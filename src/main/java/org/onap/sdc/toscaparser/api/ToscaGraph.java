@@ -23,6 +23,7 @@ package org.onap.sdc.toscaparser.api;
 import org.onap.sdc.toscaparser.api.elements.RelationshipType;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 
 //import java.util.Iterator;
@@ -66,15 +67,15 @@ public class ToscaGraph {
 //	}
 
     private void create() {
+        HashSet<NodeTemplate> nodes = new HashSet<>(nodeTemplates);
         for (NodeTemplate node : nodeTemplates) {
             LinkedHashMap<RelationshipType, NodeTemplate> relation = node.getRelationships();
             if (relation != null) {
                 for (RelationshipType rel : relation.keySet()) {
-                    NodeTemplate nodeTpls = relation.get(rel);
-                    for (NodeTemplate tpl : nodeTemplates) {
-                        if (tpl.getName().equals(nodeTpls.getName())) {
-                            createEdge(node, tpl, rel);
-                        }
+                    // relationships link to the node templates of the topology
+                    NodeTemplate tpl = relation.get(rel);
+                    if (nodes.contains(tpl)) {
+                        createEdge(node, tpl, rel);
                     }
                 }
             }
@@ -20,38 +20,39 @@
 package org.onap.sdc.toscaparser.api;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.onap.sdc.toscaparser.api.common.JToscaException;
 import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
+import org.onap.sdc.toscaparser.api.common.ParseAbortedException;
 import org.onap.sdc.toscaparser.api.common.ValidationIssueCollector;
-import org.onap.sdc.toscaparser.api.elements.EntityType;
 import org.onap.sdc.toscaparser.api.elements.DataType;
 import org.onap.sdc.toscaparser.api.elements.Metadata;
+import org.onap.sdc.toscaparser.api.elements.ToscaDefinitions;
 import org.onap.sdc.toscaparser.api.extensions.ExtTools;
 import org.onap.sdc.toscaparser.api.parameters.Input;
 import org.onap.sdc.toscaparser.api.parameters.Output;
 import org.onap.sdc.toscaparser.api.prereq.CSAR;
+import org.onap.sdc.toscaparser.api.prereq.LocalResourceResolver;
+import org.onap.sdc.toscaparser.api.prereq.ResourceResolver;
 import org.onap.sdc.toscaparser.api.utils.JToscaErrorCodes;
 import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+import org.onap.sdc.toscaparser.api.utils.YamlUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.yaml.snakeyaml.Yaml;
 
 public class ToscaTemplate extends Object {
 
@@ -90,7 +91,7 @@ public class ToscaTemplate extends Object {
 
     // Sections that are specific to individual template definitions
     private static final String METADATA = "metadata";
-    private static ArrayList<String> SPECIAL_SECTIONS;
+    private ArrayList<String> SPECIAL_SECTIONS;
 
     private ExtTools exttools = new ExtTools();
 
@@ -121,33 +122,84 @@ public class ToscaTemplate extends Object {
     private ArrayList<TopologyTemplate> nestedToscaTemplatesWithTopology;
     private ToscaGraph graph;
     private String csarTempDir;
-    private int nestingLoopCounter;
+    private ParseOptions options;
+    private ParseContext parseContext;
+    private ResourceResolver resolver;
+    // kept open while an in-memory CSAR is parsed
+    private CSAR openCsar;
+    private HashMap<String, LinkedHashMap<String, Object>> nestedCustomDefs;
     private LinkedHashMap<String, LinkedHashMap<String, Object>> metaProperties;
-    private Set<String> processedImports;
     private LinkedHashMap<String, Object> customDefsFinal = new LinkedHashMap<>();
+    private ImportResolver importResolver;
     private HashSet<DataType> dataTypes;
 
     public ToscaTemplate(String _path,
                          LinkedHashMap<String, Object> _parsedParams,
                          boolean aFile,
                          LinkedHashMap<String, Object> yamlDictTpl) throws JToscaException {
-        init(_path, _parsedParams, aFile, yamlDictTpl, true);
+        init(_path, _parsedParams, aFile, yamlDictTpl, true, new ParseOptions());
     }
 
     public ToscaTemplate(String _path,
                          LinkedHashMap<String, Object> _parsedParams,
                          boolean aFile,
                          LinkedHashMap<String, Object> yamlDictTpl, boolean resolveGetInput) throws JToscaException {
-        init(_path, _parsedParams, aFile, yamlDictTpl, resolveGetInput);
+        init(_path, _parsedParams, aFile, yamlDictTpl, resolveGetInput, new ParseOptions());
+    }
+
+    public ToscaTemplate(String _path,
+                         LinkedHashMap<String, Object> _parsedParams,
+                         boolean aFile,
+                         LinkedHashMap<String, Object> yamlDictTpl, boolean resolveGetInput,
+                         ParseOptions parseOptions) throws JToscaException {
+        init(_path, _parsedParams, aFile, yamlDictTpl, resolveGetInput,
+                parseOptions != null ? parseOptions : new ParseOptions());
     }
 
-    @SuppressWarnings("unchecked")
     private void init(String _path,
                       LinkedHashMap<String, Object> _parsedParams,
                       boolean aFile,
-                      LinkedHashMap<String, Object> yamlDictTpl, boolean _resolveGetInput) throws JToscaException {
+                      LinkedHashMap<String, Object> yamlDictTpl, boolean _resolveGetInput,
+                      ParseOptions _options) throws JToscaException {
+
+        parseContext = new ParseContext();
+        ThreadLocalsHolder.setContext(parseContext);
+        options = _options;
+        parseContext.setOptions(options);
+        ValidationIssueCollector collector = parseContext.getCollector();
+        collector.setMaxIssues(options.getMaxValidationIssues());
+        collector.setFailFast(options.getFailFast());
+        collector.setIssueBudget(options.getIssueBudget());
+        resolver = LocalResourceResolver.INSTANCE;
+        openCsar = null;
+        try {
+            _init(_path, _parsedParams, aFile, yamlDictTpl, _resolveGetInput);
+        } catch (ParseAbortedException e) {
+            log.debug("ToscaTemplate - init - parse of {} aborted at {}", _path, e.getMessage());
+        } finally {
+            if (openCsar != null) {
+                openCsar.cleanup();
+                openCsar = null;
+            }
+            if (csarTempDir != null) {
+                CSAR.deleteDir(new File(csarTempDir));
+                csarTempDir = null;
+            }
+        }
+        // also when the abort was caught on the way up
+        JToscaValidationIssue abortIssue = collector.getAbortIssue();
+        if (abortIssue != null) {
+            verifyTemplate();
+            throw new JToscaException("jtosca aborting at [" + abortIssue.getCode() + "]: " + abortIssue.getMessage(),
+                    JToscaErrorCodes.PARSE_ABORTED.getValue());
+        }
+    }
 
-        ThreadLocalsHolder.setCollector(new ValidationIssueCollector());
+    @SuppressWarnings("unchecked")
+    private void _init(String _path,
+                       LinkedHashMap<String, Object> _parsedParams,
+                       boolean aFile,
+                       LinkedHashMap<String, Object> yamlDictTpl, boolean _resolveGetInput) throws JToscaException {
 
         VALID_TEMPLATE_VERSIONS = new ArrayList<>();
         VALID_TEMPLATE_VERSIONS.add("tosca_simple_yaml_1_0");
@@ -170,6 +222,7 @@ public class ToscaTemplate extends Object {
         csarTempDir = null;
         nestedToscaTplsWithTopology = new ConcurrentHashMap<>();
         nestedToscaTemplatesWithTopology = new ArrayList<TopologyTemplate>();
+        nestedCustomDefs = new HashMap<>();
         resolveGetInput = _resolveGetInput;
         metaProperties = new LinkedHashMap<>();
 
@@ -180,11 +233,10 @@ public class ToscaTemplate extends Object {
             path = _getPath(_path);
             // load the YAML template
             if (path != null && !path.isEmpty()) {
-                try (InputStream input = new FileInputStream(new File(path));) {
+                try (InputStream input = resolver.open(path);) {
                     //System.out.println("Loading YAML file " + path);
                     log.debug("ToscaTemplate Loading YAMEL file {}", path);
-                    Yaml yaml = new Yaml();
-                    Object data = yaml.load(input);
+                    Object data = YamlUtils.load(input);
                     this.tpl = (LinkedHashMap<String, Object>) data;
                 } catch (FileNotFoundException e) {
                     log.error("ToscaTemplate - Exception loading yaml: {}", e.getMessage());
@@ -225,7 +277,6 @@ public class ToscaTemplate extends Object {
             parsedParams = _parsedParams;
             _validateField();
             this.rootPath = path;
-            this.processedImports = new HashSet<String>();
             this.imports = _tplImports();
             this.version = _tplVersion();
             this.metaData = _tplMetaData();
@@ -263,13 +314,16 @@ public class ToscaTemplate extends Object {
     }
 
     private TopologyTemplate _topologyTemplate() {
-        return new TopologyTemplate(
+        LinkedHashMap<String, Object> customDefs = _getAllCustomDefs(path, imports);
+        TopologyTemplate[] topology = new TopologyTemplate[1];
+        parseContext.at(rootPath, null).run(() -> topology[0] = new TopologyTemplate(
                 _tplTopologyTemplate(),
-                _getAllCustomDefs(imports),
+                customDefs,
                 relationshipTypes,
                 parsedParams,
                 null,
-                resolveGetInput);
+                resolveGetInput));
+        return topology[0];
     }
 
     private ArrayList<Input> _inputs() {
@@ -354,6 +408,7 @@ public class ToscaTemplate extends Object {
         HashSet<DataType> datatypes = new HashSet<>();
         if (value != null) {
             customDefsFinal.putAll(value);
+            parseContext.getTypeRegistry().customDefsChanged(customDefsFinal);
             for (Map.Entry<String, Object> me : value.entrySet()) {
                 DataType datatype = new DataType(me.getKey(), value);
                 datatypes.add(datatype);
@@ -365,65 +420,27 @@ public class ToscaTemplate extends Object {
     }
 
     /**
-     * This method is used to get consolidated custom definitions from all imports
-     * It is logically divided in two parts to handle imports; map and list formats.
-     * Before processing the imports; it sorts them to make sure the current directory imports are
-     * being processed first and then others. Once sorted; it processes each import one by one in
-     * recursive manner.
-     * To avoid cyclic dependency among imports; this method uses a set to keep track of all
-     * imports which are already processed and filters the imports which occurs more than once.
+     * Gets the custom definitions of the files a template imports, directly or
+     * through other imports, and adds them to those of the parse: each file is
+     * loaded once per parse and its imports are resolved relative to it, see
+     * {@link ImportResolver}. The main template is resolved first.
      *
-     * @param alImports all imports which needs to be processed
-     * @return the linked hash map containing all import definitions
+     * @param importingPath the file of the template declaring the imports
+     * @param alImports     the imports of the template
+     * @return the custom definitions of the parse
      */
-
     @SuppressWarnings("unchecked")
-    private LinkedHashMap<String, Object> _getAllCustomDefs(Object alImports) {
-
-
-        String types[] = {
-                IMPORTS, NODE_TYPES, CAPABILITY_TYPES, RELATIONSHIP_TYPES,
-                DATA_TYPES, INTERFACE_TYPES, POLICY_TYPES, GROUP_TYPES
-        };
-
-        List<Map<String, Object>> imports = (List<Map<String, Object>>) alImports;
-        if (imports != null && !imports.isEmpty()) {
-            if (imports.get(0) instanceof LinkedHashMap) {
-                imports = sortImports(imports);
-
-                for (Map<String, Object> map : imports) {
-                    List<Map<String, Object>> singleImportList = new ArrayList<>();
-                    singleImportList.add(map);
-
-                    Map<String, String> importNameDetails = getValidFileNameForImportReference(singleImportList);
-                    singleImportList = filterImportsForRecursion(singleImportList, importNameDetails);
-
-                    if (!singleImportList.get(0).isEmpty()) {
-                        LinkedHashMap<String, Object> customDefs = _getCustomTypes(types, new ArrayList<>(singleImportList));
-                        processedImports.add(importNameDetails.get("importFileName"));
-
-                        if (customDefs != null) {
-                            customDefsFinal.putAll(customDefs);
-
-                            if (customDefs.get(IMPORTS) != null) {
-                                resetPathForRecursiveImports(importNameDetails.get("importRelativeName"));
-                                LinkedHashMap<String, Object> importDefs = _getAllCustomDefs(customDefs.get(IMPORTS));
-                                customDefsFinal.putAll(importDefs);
-                            }
-                        }
-                    }
-                }
-            } else {
-                LinkedHashMap<String, Object> customDefs = _getCustomTypes(types, new ArrayList<>(imports));
-                if (customDefs != null) {
-                    customDefsFinal.putAll(customDefs);
-
-                    if (customDefs.get(IMPORTS) != null) {
-                        LinkedHashMap<String, Object> importDefs = _getAllCustomDefs(customDefs.get(IMPORTS));
-                        customDefsFinal.putAll(importDefs);
-                    }
-                }
+    private LinkedHashMap<String, Object> _getAllCustomDefs(String importingPath, Object alImports) {
+        if (alImports instanceof List && !((List<Object>) alImports).isEmpty()) {
+            if (importResolver == null) {
+                List<String> types = Arrays.asList(
+                        IMPORTS, NODE_TYPES, CAPABILITY_TYPES, RELATIONSHIP_TYPES,
+                        DATA_TYPES, INTERFACE_TYPES, POLICY_TYPES, GROUP_TYPES);
+                importResolver = new ImportResolver(types, tpl, resolver, options.getImportExecutor());
             }
+            customDefsFinal.putAll(importResolver.resolve(importingPath, (List<Object>) alImports));
+            parseContext.getTypeRegistry().customDefsChanged(customDefsFinal);
+            _updateNestedToscaTplsWithTopology(importResolver.getNestedToscaTpls());
         }
 
         // As imports are not custom_types, remove from the dict
@@ -432,130 +449,6 @@ public class ToscaTemplate extends Object {
         return customDefsFinal;
     }
 
-    /**
-     * This method is used to sort the imports in order so that same directory
-     * imports will be processed first
-     *
-     * @param customImports the custom imports
-     * @return the sorted list of imports
-     */
-    private List<Map<String, Object>> sortImports(List<Map<String, Object>> customImports) {
-        List<Map<String, Object>> finalList1 = new ArrayList<>();
-        List<Map<String, Object>> finalList2 = new ArrayList<>();
-        Iterator<Map<String, Object>> itr = customImports.iterator();
-        while (itr.hasNext()) {
-            Map<String, Object> innerMap = itr.next();
-            if (innerMap.toString().contains("../")) {
-                finalList2.add(innerMap);
-                itr.remove();
-            } else if (innerMap.toString().contains("/")) {
-                finalList1.add(innerMap);
-                itr.remove();
-            }
-        }
-
-        customImports.addAll(finalList1);
-        customImports.addAll(finalList2);
-        return customImports;
-    }
-
-    /**
-     * This method is used to reset PATH variable after processing of current import file is done
-     * This is required because of relative path nature of imports present in files.
-     *
-     * @param currImportRelativeName the current import relative name
-     */
-    private void resetPathForRecursiveImports(String currImportRelativeName) {
-        path = getPath(path, currImportRelativeName);
-    }
-
-    /**
-     * This is a recursive method which starts from current import and then recursively finds a
-     * valid path relative to current import file name.
-     * By doing this it handles all nested hierarchy of imports defined in CSARs
-     *
-     * @param path           the path
-     * @param importFileName the import file name
-     * @return the string containing updated path value
-     */
-    private String getPath(String path, String importFileName) {
-        String tempFullPath = (Paths.get(path).toAbsolutePath().getParent()
-                .toString() + File.separator + importFileName.replace("../", "")).replace('\\', '/');
-        String tempPartialPath = (Paths.get(path).toAbsolutePath().getParent().toString()).replace('\\', '/');
-        if (Files.exists(Paths.get(tempFullPath)))
-            return tempFullPath;
-        else
-            return getPath(tempPartialPath, importFileName);
-    }
-
-    /**
-     * This method is used to get full path name for the file which needs to be processed. It helps
-     * in situation where files are present in different directory and are references as relative
-     * paths.
-     *
-     * @param customImports the custom imports
-     * @return the map containing import file full and relative paths
-     */
-    private Map<String, String> getValidFileNameForImportReference(List<Map<String, Object>> customImports) {
-        String importFileName;
-        Map<String, String> retMap = new HashMap<>();
-        for (Map<String, Object> map1 : customImports) {
-            for (Map.Entry<String, Object> entry : map1.entrySet()) {
-                Map innerMostMap = (Map) entry.getValue();
-                Iterator<Map.Entry<String, String>> it = innerMostMap.entrySet().iterator();
-                while (it.hasNext()) {
-                    Map.Entry<String, String> val = it.next();
-                    if (val.getValue().contains("/")) {
-                        importFileName = (Paths.get(rootPath).toAbsolutePath().getParent().toString() + File
-                                .separator + val.getValue().replace("../", "")).replace('\\', '/');
-                    } else {
-                        importFileName = (Paths.get(path).toAbsolutePath().getParent().toString() + File
-                                .separator + val.getValue().replace("../", "")).replace('\\', '/');
-                    }
-                    retMap.put("importFileName", importFileName);
-                    retMap.put("importRelativeName", val.getValue());
-                }
-            }
-        }
-        return retMap;
-    }
-
-    /**
-     * This method is used to filter the imports which already gets processed in previous step.
-     * It handles the use case of cyclic dependency in imports which may cause Stack Overflow
-     * exception
-     *
-     * @param customImports     the custom imports
-     * @param importNameDetails the import name details
-     * @return the list containing filtered imports
-     */
-    private List<Map<String, Object>> filterImportsForRecursion(List<Map<String, Object>>
-                                                                        customImports, Map<String,
-            String> importNameDetails) {
-        for (Map<String, Object> map1 : customImports) {
-            for (Map.Entry<String, Object> entry : map1.entrySet()) {
-                Map innerMostMap = (Map) entry.getValue();
-                Iterator<Map.Entry<String, String>> it = innerMostMap.entrySet().iterator();
-                while (it.hasNext()) {
-                    it.next();
-                    if (processedImports.contains(importNameDetails.get("importFileName"))) {
-                        it.remove();
-                    }
-                }
-            }
-        }
-
-        // Remove Empty elements
-        Iterator<Map<String, Object>> itr = customImports.iterator();
-        while (itr.hasNext()) {
-            Map innerMap = itr.next();
-            Predicate<Map> predicate = p -> p.values().isEmpty();
-            innerMap.values().removeIf(predicate);
-        }
-
-        return customImports;
-    }
-
     @SuppressWarnings("unchecked")
     private LinkedHashMap<String, Object> _getCustomTypes(Object typeDefinitions, ArrayList<Object> alImports) {
 
@@ -578,7 +471,7 @@ public class ToscaTemplate extends Object {
         }
 
         if (alImports != null) {
-            ImportsLoader customService = new ImportsLoader(alImports, path, typeDefs, tpl);
+            ImportsLoader customService = new ImportsLoader(alImports, path, typeDefs, tpl, resolver);
             ArrayList<LinkedHashMap<String, Object>> nestedToscaTpls = customService.getNestedToscaTpls();
             _updateNestedToscaTplsWithTopology(nestedToscaTpls);
 
@@ -616,43 +509,124 @@ public class ToscaTemplate extends Object {
         }
     }
 
-    // multi level nesting - RECURSIVE
-    @SuppressWarnings("unchecked")
+    // multi level nesting, one level at a time: the imports of the nested
+    // topologies of a level are resolved on this thread, the topologies are
+    // then built, possibly in parallel, and their own nested topologies form
+    // the next level
     private void _handleNestedToscaTemplatesWithTopology(TopologyTemplate tt) {
-        if (++nestingLoopCounter > MAX_LEVELS) {
-            log.error("ToscaTemplate - _handleNestedToscaTemplatesWithTopology - Nested Topologies Loop: too many levels, aborting");
-            return;
+        List<TopologyTemplate> level = Collections.singletonList(tt);
+        for (int depth = 2; !level.isEmpty(); depth++) {
+            ArrayList<NestedTopology> nestedTopologies = new ArrayList<>();
+            for (TopologyTemplate topology : level) {
+                nestedTopologies.addAll(_nestedTopologies(topology));
+            }
+            if (!nestedTopologies.isEmpty() && depth > options.getMaxNestingLevels()) {
+                log.error("ToscaTemplate - _handleNestedToscaTemplatesWithTopology - Nested Topologies Loop: too many levels, aborting");
+                return;
+            }
+            ArrayList<Supplier<TopologyTemplate>> tasks = new ArrayList<>();
+            for (NestedTopology nested : nestedTopologies) {
+                tasks.add(nested::build);
+            }
+            List<TopologyTemplate> built = parseContext.invokeAll(tasks, options.getNestedTopologyExecutor());
+            level = new ArrayList<>();
+            for (int i = 0; i < nestedTopologies.size(); i++) {
+                NodeTemplate nt = nestedTopologies.get(i).nodeTemplate;
+                TopologyTemplate topologyWithSubMapping = built.get(i);
+                nt.setOriginComponentTemplate(topologyWithSubMapping);
+                if (topologyWithSubMapping.getSubstitutionMappings() != null) {
+                    // Set substitution mapping object for mapped node
+                    nt.setSubMappingToscaTemplate(
+                            topologyWithSubMapping.getSubstitutionMappings());
+                    level.add(topologyWithSubMapping);
+                }
+            }
         }
-        // Reset Processed Imports for nested templates
-        this.processedImports = new HashSet<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArrayList<NestedTopology> _nestedTopologies(TopologyTemplate tt) {
+        ArrayList<NestedTopology> nestedTopologies = new ArrayList<>();
+        Set<NodeTemplate> substituted = new HashSet<>();
         for (Map.Entry<String, Object> me : nestedToscaTplsWithTopology.entrySet()) {
             LinkedHashMap<String, Object> toscaTpl =
                     (LinkedHashMap<String, Object>) me.getValue();
             for (NodeTemplate nt : tt.getNodeTemplates()) {
-                if (_isSubMappedNode(nt, toscaTpl)) {
-                    parsedParams = _getParamsForNestedTemplate(nt);
+                if (!substituted.contains(nt) && _isSubMappedNode(nt, toscaTpl)) {
+                    substituted.add(nt);
                     ArrayList<Object> alim = (ArrayList<Object>) toscaTpl.get(IMPORTS);
-                    LinkedHashMap<String, Object> topologyTpl =
-                            (LinkedHashMap<String, Object>) toscaTpl.get(TOPOLOGY_TEMPLATE);
-                    TopologyTemplate topologyWithSubMapping =
-                            new TopologyTemplate(topologyTpl,
-                                    _getAllCustomDefs(alim),
-                                    relationshipTypes,
-                                    parsedParams,
-                                    nt,
-                                    resolveGetInput);
-                    nt.setOriginComponentTemplate(topologyWithSubMapping);
-                    if (topologyWithSubMapping.getSubstitutionMappings() != null) {
-                        // Record nested topology templates in top level template
-                        //nestedToscaTemplatesWithTopology.add(topologyWithSubMapping);
-                        // Set substitution mapping object for mapped node
-                        nt.setSubMappingToscaTemplate(
-                                topologyWithSubMapping.getSubstitutionMappings());
-                        _handleNestedToscaTemplatesWithTopology(topologyWithSubMapping);
+                    NestedTopology nested = new NestedTopology(me.getKey(), nt,
+                            (LinkedHashMap<String, Object>) toscaTpl.get(TOPOLOGY_TEMPLATE),
+                            _getNestedCustomDefs(me.getKey(), alim));
+                    if (options.getNestedTopologyExecutor() != null) {
+                        // the topologies of the level may be built at once
+                        nested.putParams(true);
                     }
+                    nestedTopologies.add(nested);
                 }
             }
         }
+        return nestedTopologies;
+    }
+
+    // the imports of a nested template are resolved once; its topology sees
+    // the custom definitions as they were once they were resolved, the
+    // imports of the next nested templates may redefine types
+    private LinkedHashMap<String, Object> _getNestedCustomDefs(String fileName, ArrayList<Object> alim) {
+        LinkedHashMap<String, Object> customDefs = nestedCustomDefs.get(fileName);
+        if (customDefs == null) {
+            customDefs = new LinkedHashMap<>(_getAllCustomDefs(fileName, alim));
+            nestedCustomDefs.put(fileName, customDefs);
+        }
+        return customDefs;
+    }
+
+    /**
+     * A nested topology to build. Its node template adds its properties to the
+     * params of the parse, which all nested topologies share, just before the
+     * topology is built. When the topologies of a level may be built in
+     * parallel, they are added before any of them is built, and each topology
+     * is built with a copy of the params as they were then, and shares them
+     * afterwards.
+     */
+    private class NestedTopology {
+        private final String fileName;
+        private final NodeTemplate nodeTemplate;
+        private final LinkedHashMap<String, Object> topologyTpl;
+        private final LinkedHashMap<String, Object> customDefs;
+        private LinkedHashMap<String, Object> params;
+        private LinkedHashMap<String, Object> buildParams;
+
+        private NestedTopology(String fileName,
+                               NodeTemplate nodeTemplate,
+                               LinkedHashMap<String, Object> topologyTpl,
+                               LinkedHashMap<String, Object> customDefs) {
+            this.fileName = fileName;
+            this.nodeTemplate = nodeTemplate;
+            this.topologyTpl = topologyTpl;
+            this.customDefs = customDefs;
+        }
+
+        private void putParams(boolean copy) {
+            parsedParams = _getParamsForNestedTemplate(nodeTemplate);
+            params = parsedParams;
+            buildParams = copy ? new LinkedHashMap<>(params) : params;
+        }
+
+        private TopologyTemplate build() {
+            if (params == null) {
+                putParams(false);
+            }
+            TopologyTemplate[] topology = new TopologyTemplate[1];
+            ParseContext.current().at(fileName, null).run(() -> topology[0] = new TopologyTemplate(topologyTpl,
+                    customDefs,
+                    relationshipTypes,
+                    buildParams,
+                    nodeTemplate,
+                    resolveGetInput));
+            topology[0].setParsedParams(params);
+            return topology[0];
+        }
     }
 
 //	private void _handleNestedToscaTemplatesWithTopology() {
@@ -688,13 +662,16 @@ public class ToscaTemplate extends Object {
     private void _validateField() {
         String sVersion = _tplVersion();
         if (sVersion == null) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE245", String.format(
-                    "MissingRequiredField: Template is missing required field \"%s\"", DEFINITION_VERSION)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE245",
+                    "MissingRequiredField: Template is missing required field \"%s\"", DEFINITION_VERSION));
         } else {
             _validateVersion(sVersion);
             this.version = sVersion;
         }
 
+        if (options.isTrusted()) {
+            return;
+        }
         for (String sKey : tpl.keySet()) {
             boolean bFound = false;
             for (String sSection : SECTIONS) {
@@ -711,9 +688,9 @@ public class ToscaTemplate extends Object {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE246", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE246",
                         "UnknownFieldError: Template contains unknown field \"%s\"",
-                        sKey)));
+                        sKey));
             }
         }
     }
@@ -727,12 +704,12 @@ public class ToscaTemplate extends Object {
             }
         }
         if (!bFound) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE247", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE247",
                     "InvalidTemplateVersion: \"%s\" is invalid. Valid versions are %s",
-                    sVersion, VALID_TEMPLATE_VERSIONS.toString())));
+                    sVersion, VALID_TEMPLATE_VERSIONS.toString()));
         } else if ((!sVersion.equals("tosca_simple_yaml_1_0") && !sVersion.equals("tosca_simple_yaml_1_1"))) {
-            EntityType.updateDefinitions(sVersion);
-
+            // parse against the definitions of this version, shared read-only by all parses
+            parseContext.setDefinitions(ToscaDefinitions.getDefinitions(sVersion));
         }
     }
 
@@ -741,19 +718,23 @@ public class ToscaTemplate extends Object {
             return _path;
         } else if (_path.toLowerCase().endsWith(".zip") || _path.toLowerCase().endsWith(".csar")) {
             // a CSAR archive
-            CSAR csar = new CSAR(_path, isFile);
-            if (csar.validate()) {
-                try {
-                    csar.decompress();
+            CSAR csar = new CSAR(_path, isFile, options.isInMemoryCsar());
+            if (options.isInMemoryCsar()) {
+                return _getInMemoryCsarPath(csar);
+            }
+            csar.setExtractDefinitionsOnly(options.isExtractDefinitionsOnly());
+            try {
+                if (csar.validate()) {
+                    // validate() has extracted the archive, or its definitions only
                     metaProperties = csar.getMetaProperties();
-                } catch (IOException e) {
-                    log.error("ToscaTemplate - _getPath - IOException trying to decompress {}", _path);
-                    return null;
+                    isFile = true; // the file has been decompressed locally
+                    csarTempDir = csar.getTempDir();
+                    return csar.getTempDir() + File.separator + csar.getMainTemplate();
                 }
-                isFile = true; // the file has been decompressed locally
+            } finally {
                 csar.cleanup();
-                csarTempDir = csar.getTempDir();
-                return csar.getTempDir() + File.separator + csar.getMainTemplate();
+                log.debug("ToscaTemplate - _getPath - {} bytes read from {} entries of {}",
+                        csar.getBytesRead(), csar.getEntriesTouched(), _path);
             }
         } else {
             ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE248", "ValueError: " + _path + " is not a valid file"));
@@ -762,11 +743,30 @@ public class ToscaTemplate extends Object {
         return null;
     }
 
+    private String _getInMemoryCsarPath(CSAR csar) throws JToscaException {
+        // the archive stays open until init() completes, imports are read from it
+        openCsar = csar;
+        if (csar.validate()) {
+            metaProperties = csar.getMetaProperties();
+            try {
+                resolver = csar.getResolver();
+            } catch (IOException e) {
+                log.error("ToscaTemplate - _getInMemoryCsarPath - IOException trying to open {}", inputPath);
+                return null;
+            }
+            isFile = true;
+            log.debug("ToscaTemplate - _getInMemoryCsarPath - {} bytes read from {} entries of {}",
+                    csar.getBytesRead(), csar.getEntriesTouched(), csar.getMainTemplatePath());
+            return csar.getMainTemplatePath();
+        }
+        return null;
+    }
+
     private void verifyTemplate() throws JToscaException {
         //Criticals
-        int validationIssuesCaught = ThreadLocalsHolder.getCollector().validationIssuesCaught();
+        int validationIssuesCaught = parseContext.getCollector().validationIssuesCaught();
         if (validationIssuesCaught > 0) {
-            List<String> validationIssueStrings = ThreadLocalsHolder.getCollector().getValidationIssueReport();
+            List<String> validationIssueStrings = parseContext.getCollector().getValidationIssueReport();
             log.trace("####################################################################################################");
             log.trace("ToscaTemplate - verifyTemplate - {} Parsing Critical{} occurred...", validationIssuesCaught, (validationIssuesCaught > 1 ? "s" : ""));
             for (String s : validationIssueStrings) {
@@ -789,6 +789,16 @@ public class ToscaTemplate extends Object {
         return description;
     }
 
+    /**
+     * Returns the context this template was parsed in. Its collector holds the
+     * validation issues of this parse only.
+     *
+     * @return the parse context
+     */
+    public ParseContext getParseContext() {
+        return parseContext;
+    }
+
     public TopologyTemplate getTopologyTemplate() {
         return topologyTemplate;
     }
@@ -820,6 +830,10 @@ public class ToscaTemplate extends Object {
         return nodeTemplates;
     }
 
+    public NodeTemplate getNodeTemplate(String name) {
+        return topologyTemplate != null ? topologyTemplate.getNodeTemplate(name) : null;
+    }
+
     public LinkedHashMap<String, Object> getMetaProperties(String propertiesFile) {
         return metaProperties.get(propertiesFile);
     }
@@ -921,14 +935,14 @@ public class ToscaTemplate extends Object {
                 ", nestedToscaTemplatesWithTopology=" + nestedToscaTemplatesWithTopology +
                 ", graph=" + graph +
                 ", csarTempDir='" + csarTempDir + '\'' +
-                ", nestingLoopCounter=" + nestingLoopCounter +
                 ", dataTypes=" + dataTypes +
                 '}';
     }
 
     public List<Input> getInputs(boolean annotationsRequired) {
         if (inputs != null && annotationsRequired) {
-            inputs.stream().forEach(Input::parseAnnotations);
+            // may be called from any thread, issues go to the collector of this parse
+            parseContext.run(() -> inputs.forEach(Input::parseAnnotations));
             return inputs;
         }
         return getInputs();
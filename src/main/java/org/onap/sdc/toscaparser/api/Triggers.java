@@ -97,9 +97,9 @@ public class Triggers extends EntityTemplate {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE249", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE249",
                         "UnknownFieldError: Triggers \"%s\" contains unknown field \"%s\"",
-                        name, key)));
+                        name, key));
             }
         }
     }
@@ -114,9 +114,9 @@ public class Triggers extends EntityTemplate {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE250", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE250",
                         "UnknownFieldError: Triggers \"%s\" contains unknown field \"%s\"",
-                        name, key)));
+                        name, key));
             }
         }
     }
@@ -48,10 +48,17 @@ public class UnsupportedType {
             "tosca.nodes.Storage.BlockStorage"};
 
     public static boolean validateType(String entityType) {
+        if (isUnsupported(entityType)) {
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE251",
+                    "UnsupportedTypeError: Entity type \"%s\" is not supported", entityType));
+            return true;
+        }
+        return false;
+    }
+
+    public static boolean isUnsupported(String entityType) {
         for (String ust : UNSUPPORTED_TYPES) {
             if (ust.equals(entityType)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE251", String.format(
-                        "UnsupportedTypeError: Entity type \"%s\" is not supported", entityType)));
                 return true;
             }
         }
@@ -20,26 +20,86 @@
 
 package org.onap.sdc.toscaparser.api.common;
 
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+
+import java.util.Arrays;
+import java.util.IllegalFormatException;
 import java.util.Objects;
 
+/**
+ * A validation issue: a code and a message. The message may be given as a
+ * format and its arguments, in which case it is only formatted when read.
+ * <p>
+ * An issue also records where it was found, as far as the parse knows: the
+ * source file and the node template being parsed when it was created.
+ */
 public class JToscaValidationIssue {
 
     private String code;
     private String message;
+    private String format;
+    private Object[] args;
+    private String sourceFile;
+    private String node;
 
 
     public JToscaValidationIssue(String code, String message) {
         super();
         this.code = code;
         this.message = message;
+        _locate();
+    }
+
+    /**
+     * @param code   the issue code
+     * @param format the message format, see {@link String#format(String, Object...)}
+     * @param args   the format arguments; arguments other than strings, numbers,
+     *               booleans and characters are converted to strings right away,
+     *               as they may change before the message is formatted
+     */
+    public JToscaValidationIssue(String code, String format, Object... args) {
+        super();
+        this.code = code;
+        this.format = format;
+        this.args = args.clone();
+        for (int i = 0; i < this.args.length; i++) {
+            Object arg = this.args[i];
+            if (arg != null && !(arg instanceof String || arg instanceof Number
+                    || arg instanceof Boolean || arg instanceof Character)) {
+                this.args[i] = String.valueOf(arg);
+            }
+        }
+        _locate();
+    }
+
+    private void _locate() {
+        ParseContext parseContext = ThreadLocalsHolder.getContext();
+        if (parseContext != null) {
+            sourceFile = parseContext.getSourceFile();
+            node = parseContext.getNode();
+        }
     }
 
     public String getMessage() {
-        return message;
+        String msg = message;
+        if (msg == null && format != null) {
+            // formatting twice on a race is harmless
+            try {
+                msg = String.format(format, args);
+            } catch (IllegalFormatException e) {
+                // the report must not fail on a bad format
+                msg = format + " " + Arrays.toString(args);
+            }
+            message = msg;
+        }
+        return msg;
     }
 
     public void setMessage(String message) {
         this.message = message;
+        this.format = null;
+        this.args = null;
     }
 
     public String getCode() {
@@ -50,9 +110,59 @@ public class JToscaValidationIssue {
         this.code = code;
     }
 
+    /**
+     * @return the message format, null if the message was given formatted
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * @return a copy of the format arguments, empty if the message was given formatted
+     */
+    public Object[] getArgs() {
+        return args != null ? args.clone() : new Object[0];
+    }
+
+    /**
+     * @return the file being parsed when the issue was found, null if unknown
+     */
+    public String getSourceFile() {
+        return sourceFile;
+    }
+
+    public void setSourceFile(String sourceFile) {
+        this.sourceFile = sourceFile;
+    }
+
+    /**
+     * @return the name of the node template being parsed when the issue was
+     * found, null if it was not found while parsing a node template
+     */
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    /**
+     * Returns a key that equals the keys of the issues of the same format and
+     * arguments, to find a repeated issue without formatting its message.
+     *
+     * @return the key, null if the message was given formatted
+     */
+    Object getFormatKey() {
+        if (format == null) {
+            return null;
+        }
+        return new FormatKey(format, args);
+    }
+
     @Override
     public String toString() {
-        return "JToscaError [code=" + code + ", message=" + message + "]";
+        return "JToscaError [code=" + code + ", message=" + getMessage() + "]";
     }
 
     @Override
@@ -65,11 +175,38 @@ public class JToscaValidationIssue {
         }
         final JToscaValidationIssue that = (JToscaValidationIssue) o;
         return Objects.equals(code, that.code) &&
-            Objects.equals(message, that.message);
+            Objects.equals(getMessage(), that.getMessage());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(code, message);
+        return Objects.hash(code, getMessage());
+    }
+
+    private static final class FormatKey {
+        private final String format;
+        private final Object[] args;
+
+        private FormatKey(String format, Object[] args) {
+            this.format = format;
+            this.args = args;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FormatKey)) {
+                return false;
+            }
+            FormatKey other = (FormatKey) o;
+            return format.equals(other.format) && Arrays.equals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * format.hashCode() + Arrays.hashCode(args);
+        }
     }
 }
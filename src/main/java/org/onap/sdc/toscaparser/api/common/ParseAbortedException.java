@@ -0,0 +1,45 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.common;
+
+/**
+ * Thrown by a {@link ValidationIssueCollector} when an issue ends the parse,
+ * in fail-fast or budgeted mode. It unwinds the parse to the
+ * {@link org.onap.sdc.toscaparser.api.ToscaTemplate} constructor, which
+ * reports it as a {@link JToscaException}.
+ */
+public class ParseAbortedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+    private final transient JToscaValidationIssue issue;
+
+    public ParseAbortedException(JToscaValidationIssue issue) {
+        super("[" + issue.getCode() + "]: " + issue.getMessage());
+        this.issue = issue;
+    }
+
+    /**
+     * @return the issue that ended the parse
+     */
+    public JToscaValidationIssue getIssue() {
+        return issue;
+    }
+}
@@ -0,0 +1,104 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Collector of a part of a parse whose issues are kept apart, such as a task
+ * run on another thread. It keeps the issues in the order they were reported,
+ * so that they can be replayed to the collector of the parse as if that part
+ * had run in place.
+ * <p>
+ * Given the collector it replays to, it ends its part as soon as an issue is
+ * sure to end the parse once replayed: an issue of the fail-fast condition of
+ * that collector, or the issue that spends its issue budget by the issues of
+ * this part alone. The issue is recorded before the
+ * {@link ParseAbortedException} is thrown, so that replaying the issues ends
+ * the parse as well.
+ */
+public class RecordingIssueCollector extends ValidationIssueCollector {
+
+    private final List<JToscaValidationIssue> recorded = new ArrayList<>();
+    private final ValidationIssueCollector parent;
+    private final BooleanSupplier cancelled;
+
+    public RecordingIssueCollector() {
+        this(null, null);
+    }
+
+    /**
+     * @param parent the collector the issues are to be replayed to
+     */
+    public RecordingIssueCollector(ValidationIssueCollector parent) {
+        this(parent, null);
+    }
+
+    /**
+     * @param parent    the collector the issues are to be replayed to, null for none
+     * @param cancelled whether the part is no longer needed, in which case the
+     *                  next issue reported throws a {@link ParseAbortedException};
+     *                  null if it is always needed
+     */
+    public RecordingIssueCollector(ValidationIssueCollector parent, BooleanSupplier cancelled) {
+        this.parent = parent;
+        this.cancelled = cancelled;
+        if (parent != null) {
+            setFailFast(parent.getFailFast());
+            int issueBudget = parent.getIssueBudget();
+            if (issueBudget != Integer.MAX_VALUE) {
+                int spent = parent.validationIssuesCaught() + parent.getDroppedIssues();
+                setIssueBudget(Math.max(1, issueBudget - spent));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void appendValidationIssue(JToscaValidationIssue issue) {
+        if (cancelled != null && cancelled.getAsBoolean()) {
+            throw new ParseAbortedException(issue);
+        }
+        recorded.add(issue);
+        if (parent != null && parent.hasIssue(issue)) {
+            // collected by the parse already, replaying it does not count it again
+            return;
+        }
+        super.appendValidationIssue(issue);
+    }
+
+    public synchronized List<JToscaValidationIssue> getRecordedIssues() {
+        return Collections.unmodifiableList(new ArrayList<>(recorded));
+    }
+
+    /**
+     * Appends the recorded issues, in order, to another collector.
+     *
+     * @param collector the collector of the parse
+     */
+    public synchronized void replayTo(ValidationIssueCollector collector) {
+        for (JToscaValidationIssue issue : recorded) {
+            collector.appendValidationIssue(issue);
+        }
+    }
+}
@@ -21,37 +21,182 @@
 package org.onap.sdc.toscaparser.api.common;
 
 import java.util.*;
+import java.util.function.Predicate;
 
-// Perfectly good enough... 
-
+/**
+ * Collects the validation issues of a parse in the order they were first
+ * reported. An issue reported again replaces the one collected, keeping its
+ * place. Issues may be appended from several threads at once.
+ * <p>
+ * Issues given as a format are told apart by their format and arguments,
+ * other issues by their message. A message is not formatted when its issue is
+ * collected, only when the report, or the map of the issues by message, is
+ * built. The report is built once and kept until another issue is collected.
+ * The number of issues kept can be capped, the issues beyond the cap are only
+ * counted.
+ * <p>
+ * A collector can also end the parse: when an issue matches its fail-fast
+ * condition, or when its issue budget is spent, the issue is collected and a
+ * {@link ParseAbortedException} is thrown. From then on every issue reported
+ * is ignored and throws again, so that the parse cannot carry on by catching
+ * the exception.
+ */
 public class ValidationIssueCollector {
 
-    private Map<String, JToscaValidationIssue> validationIssues = new HashMap<String, JToscaValidationIssue>();
+    // by format key, or by message for the issues given formatted
+    private final Map<Object, JToscaValidationIssue> validationIssues = new LinkedHashMap<>();
+    private final Map<String, Integer> issueCountsByCode = new LinkedHashMap<>();
+    private int maxIssues = Integer.MAX_VALUE;
+    private int droppedIssues;
+    private List<String> report;
+    private Predicate<JToscaValidationIssue> failFast;
+    private int issueBudget = Integer.MAX_VALUE;
+    private JToscaValidationIssue abortIssue;
 
-    public void appendValidationIssue(JToscaValidationIssue issue) {
+    public synchronized void appendValidationIssue(JToscaValidationIssue issue) {
+
+        if (abortIssue != null) {
+            throw new ParseAbortedException(abortIssue);
+        }
+        Object key = _key(issue);
+        JToscaValidationIssue collected = validationIssues.get(key);
+        if (collected != null) {
+            // the last report wins, as it always has
+            validationIssues.put(key, issue);
+            issueCountsByCode.computeIfPresent(collected.getCode(), (code, count) -> count > 1 ? count - 1 : null);
+            issueCountsByCode.merge(issue.getCode(), 1, Integer::sum);
+            report = null;
+        } else if (validationIssues.size() >= maxIssues) {
+            droppedIssues++;
+        } else {
+            validationIssues.put(key, issue);
+            issueCountsByCode.merge(issue.getCode(), 1, Integer::sum);
+            report = null;
+        }
+        if (failFast != null && failFast.test(issue)
+                || validationIssues.size() + droppedIssues >= issueBudget) {
+            abortIssue = issue;
+            throw new ParseAbortedException(issue);
+        }
 
-        validationIssues.put(issue.getMessage(), issue);
+    }
 
+    private static Object _key(JToscaValidationIssue issue) {
+        Object formatKey = issue.getFormatKey();
+        return formatKey != null ? formatKey : issue.getMessage();
     }
 
-    public List<String> getValidationIssueReport() {
-        List<String> report = new ArrayList<>();
-        if (!validationIssues.isEmpty()) {
+    public synchronized List<String> getValidationIssueReport() {
+        if (report == null) {
+            List<String> lines = new ArrayList<>(validationIssues.size());
             for (JToscaValidationIssue exception : validationIssues.values()) {
-                report.add("[" + exception.getCode() + "]: " + exception.getMessage());
+                lines.add("[" + exception.getCode() + "]: " + exception.getMessage());
             }
+            report = Collections.unmodifiableList(lines);
         }
 
-        return report;
+        return new ArrayList<>(report);
+    }
+
+    /**
+     * Returns the issues by message, in the order they were first reported.
+     * The map is built when called: it is a copy, which later issues are not
+     * added to and whose changes do not reach the collector. Issues of the
+     * same message given in different forms are one entry, the last reported.
+     *
+     * @return the issues by message
+     */
+    public synchronized Map<String, JToscaValidationIssue> getValidationIssues() {
+        Map<String, JToscaValidationIssue> issues = new LinkedHashMap<>();
+        for (JToscaValidationIssue issue : validationIssues.values()) {
+            issues.put(issue.getMessage(), issue);
+        }
+        return issues;
     }
 
-    public Map<String, JToscaValidationIssue> getValidationIssues() {
-        return validationIssues;
+    /**
+     * @param issue an issue
+     * @return whether an issue of the same format and arguments, or of the
+     * same message if it was given formatted, has been collected
+     */
+    public synchronized boolean hasIssue(JToscaValidationIssue issue) {
+        return validationIssues.containsKey(_key(issue));
     }
 
+    /**
+     * @return the issues, in the order they were first reported
+     */
+    public synchronized List<JToscaValidationIssue> getIssues() {
+        return new ArrayList<>(validationIssues.values());
+    }
 
-    public int validationIssuesCaught() {
+    public synchronized int validationIssuesCaught() {
         return validationIssues.size();
     }
 
+    /**
+     * @return the number of issues collected for each code, in the order the
+     * codes were first reported
+     */
+    public synchronized Map<String, Integer> getIssueCountsByCode() {
+        return new LinkedHashMap<>(issueCountsByCode);
+    }
+
+    public synchronized int getIssueCount(String code) {
+        return issueCountsByCode.getOrDefault(code, 0);
+    }
+
+    public synchronized int getMaxIssues() {
+        return maxIssues;
+    }
+
+    /**
+     * Caps the number of issues kept. Further issues are counted by
+     * {@link #getDroppedIssues()} and otherwise ignored.
+     *
+     * @param maxIssues the number of issues kept at most
+     */
+    public synchronized void setMaxIssues(int maxIssues) {
+        this.maxIssues = maxIssues;
+    }
+
+    /**
+     * @return the number of issues ignored because the cap was reached
+     */
+    public synchronized int getDroppedIssues() {
+        return droppedIssues;
+    }
+
+    /**
+     * @return the issues that end the parse, null for none
+     */
+    public synchronized Predicate<JToscaValidationIssue> getFailFast() {
+        return failFast;
+    }
+
+    /**
+     * @param failFast the issues that end the parse, null for none
+     */
+    public synchronized void setFailFast(Predicate<JToscaValidationIssue> failFast) {
+        this.failFast = failFast;
+    }
+
+    public synchronized int getIssueBudget() {
+        return issueBudget;
+    }
+
+    /**
+     * @param issueBudget the number of issues that ends the parse
+     */
+    public synchronized void setIssueBudget(int issueBudget) {
+        this.issueBudget = issueBudget;
+    }
+
+    /**
+     * @return the issue that ended the parse, null if it was not ended
+     */
+    public synchronized JToscaValidationIssue getAbortIssue() {
+        return abortIssue;
+    }
+
 }
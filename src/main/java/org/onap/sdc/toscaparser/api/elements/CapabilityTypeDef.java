@@ -106,8 +106,8 @@ public class CapabilityTypeDef extends StatefulEntityType {
         if (parentCap != null) {
             String sParentCap = parentCap.getType();
             while (!sParentCap.equals(TOSCA_TYPEURI_CAPABILITY_ROOT)) {
-                if (TOSCA_DEF.get(sParentCap) != null) {
-                    capabilities.put(sParentCap, TOSCA_DEF.get(sParentCap));
+                if (getToscaDef().get(sParentCap) != null) {
+                    capabilities.put(sParentCap, getToscaDef().get(sParentCap));
                 } else if (customDef != null && customDef.get(sParentCap) != null) {
                     capabilities.put(sParentCap, customDef.get(sParentCap));
                 }
@@ -124,7 +124,7 @@ public class CapabilityTypeDef extends StatefulEntityType {
         }
         String pnode = derivedFrom(defs);
         if (pnode != null && !pnode.isEmpty()) {
-            return new CapabilityTypeDef(name, pnode, nodetype, customDef);
+            return TypeRegistry.current().getCapabilityType(name, pnode, nodetype, customDef);
         }
         return null;
     }
@@ -38,7 +38,7 @@ public class DataType extends StatefulEntityType {
         if (defs != null) {
             String ptype = derivedFrom(defs);
             if (ptype != null) {
-                return new DataType(ptype, customDef);
+                return TypeRegistry.current().getDataType(ptype, customDef);
             }
         }
         return null;
@@ -20,25 +20,24 @@
 
 package org.onap.sdc.toscaparser.api.elements;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
 import org.onap.sdc.toscaparser.api.utils.CopyUtils;
 import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
-import org.onap.sdc.toscaparser.api.extensions.ExtTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.yaml.snakeyaml.Yaml;
 
 public class EntityType {
 
     private static Logger log = LoggerFactory.getLogger(EntityType.class.getName());
 
-    private static final String TOSCA_DEFINITION_1_0_YAML = "TOSCA_definition_1_0.yaml";
     protected static final String DERIVED_FROM = "derived_from";
     protected static final String PROPERTIES = "properties";
     protected static final String ATTRIBUTES = "attributes";
@@ -61,43 +60,21 @@ public class EntityType {
             "policy_types"};
 
 
-    // TOSCA definition file
-    //private final static String path = EntityType.class.getProtectionDomain().getCodeSource().getLocation().getPath();
-
-    //private final static String path =  EntityType.class.getClassLoader().getResource("TOSCA_definition_1_0.yaml").getFile();
-    //private final static String TOSCA_DEF_FILE = EntityType.class.getClassLoader().getResourceAsStream("TOSCA_definition_1_0.yaml");
-
-    private static LinkedHashMap<String, Object> TOSCA_DEF_LOAD_AS_IS = loadTdf();
-
-    //EntityType.class.getClassLoader().getResourceAsStream("TOSCA_definition_1_0.yaml");
-
-    @SuppressWarnings("unchecked")
-    private static LinkedHashMap<String, Object> loadTdf() {
-        String toscaDefLocation = EntityType.class.getClassLoader().getResource(TOSCA_DEFINITION_1_0_YAML).getFile();
-        InputStream input = EntityType.class.getClassLoader().getResourceAsStream(TOSCA_DEFINITION_1_0_YAML);
-        if (input == null) {
-            log.error("EntityType - loadTdf - Couldn't load TOSCA_DEF_FILE {}", toscaDefLocation);
-        }
-        Yaml yaml = new Yaml();
-        Object loaded = yaml.load(input);
-        //@SuppressWarnings("unchecked")
-        return (LinkedHashMap<String, Object>) loaded;
-    }
-
-    // Map of definition with pre-loaded values of TOSCA_DEF_FILE_SECTIONS
-    public static LinkedHashMap<String, Object> TOSCA_DEF;
-
-    static {
-        TOSCA_DEF = new LinkedHashMap<String, Object>();
-        for (String section : TOSCA_DEF_SECTIONS) {
-            @SuppressWarnings("unchecked")
-            LinkedHashMap<String, Object> value = (LinkedHashMap<String, Object>) TOSCA_DEF_LOAD_AS_IS.get(section);
-            if (value != null) {
-                for (String key : value.keySet()) {
-                    TOSCA_DEF.put(key, value.get(key));
-                }
-            }
-        }
+    // Map of definition with pre-loaded values of TOSCA_DEF_FILE_SECTIONS.
+    // Kept for compatibility: templates are parsed against the read-only
+    // ToscaDefinitions of their version, see getToscaDef().
+    public static LinkedHashMap<String, Object> TOSCA_DEF =
+            new LinkedHashMap<String, Object>(ToscaDefinitions.getBaseDefinitions());
+
+    /**
+     * Returns the type definitions of the template being parsed on this thread,
+     * or the global TOSCA_DEF when no template has been parsed on it.
+     *
+     * @return the normative type definitions by type name
+     */
+    public static Map<String, Object> getToscaDef() {
+        Map<String, Object> defs = ThreadLocalsHolder.getDefinitions();
+        return defs != null ? defs : TOSCA_DEF;
     }
 
     public static final String DEPENDSON = "tosca.relationships.DependsOn";
@@ -131,6 +108,12 @@ public class EntityType {
     protected String type;
     protected LinkedHashMap<String, Object> defs = null;
 
+    // sections flattened with the ones of the parent types, by section name
+    private final Map<String, Optional<Object>> flattenedValues = new ConcurrentHashMap<>();
+    private final Map<String, Optional<Object>> flattenedDefinitions = new ConcurrentHashMap<>();
+    // this type and the types it is derived from
+    private volatile Set<String> ancestorTypes;
+
     public Object getParentType() {
         return null;
     }
@@ -144,15 +127,35 @@ public class EntityType {
         // Check if object inherits from the given type
         // Returns true if this object is derived from 'type_str'
         // False otherwise.
-        if (type == null || this.type.isEmpty()) {
-            return false;
-        } else if (type == type_str) {
-            return true;
-        } else if (getParentType() != null) {
-            return ((EntityType) getParentType()).isDerivedFrom(type_str);
-        } else {
-            return false;
+        return getAncestorTypes().contains(type_str);
+    }
+
+    /**
+     * Returns the name of this type and of all the types it is derived from.
+     * The set is computed on first use.
+     *
+     * @return read-only set of type names, empty if this type has no name
+     */
+    public Set<String> getAncestorTypes() {
+        Set<String> ancestors = ancestorTypes;
+        if (ancestors == null) {
+            ancestors = new HashSet<>();
+            EntityType p = this;
+            // stops on a type without name and on a derived_from cycle
+            while (p != null && p.type != null && !p.type.isEmpty() && ancestors.add(p.type)) {
+                p = (EntityType) p.getParentType();
+            }
+            ancestors = Collections.unmodifiableSet(ancestors);
+            ancestorTypes = ancestors;
         }
+        return ancestors;
+    }
+
+    // the custom definitions this type was resolved with changed, see TypeRegistry
+    void clearFlattened() {
+        flattenedValues.clear();
+        flattenedDefinitions.clear();
+        ancestorTypes = null;
     }
 
     public Object entityValue(LinkedHashMap<String, Object> defs, String key) {
@@ -162,15 +165,26 @@ public class EntityType {
         return null;
     }
 
-    @SuppressWarnings("unchecked")
     public Object getValue(String ndtype, LinkedHashMap<String, Object> _defs, boolean parent) {
-        Object value = null;
-        if (_defs == null) {
-            if (defs == null) {
-                return null;
-            }
-            _defs = this.defs;
+        if (_defs != null) {
+            return _getValue(ndtype, _defs, parent);
+        }
+        if (defs == null) {
+            return null;
         }
+        String key = parent ? ndtype + "/parent" : ndtype;
+        Optional<Object> value = flattenedValues.get(key);
+        if (value == null) {
+            value = Optional.ofNullable(_getValue(ndtype, defs, parent));
+            flattenedValues.putIfAbsent(key, value);
+        }
+        // callers get their own copy, as before
+        return CopyUtils.copyLhmOrAl(value.orElse(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object _getValue(String ndtype, LinkedHashMap<String, Object> _defs, boolean parent) {
+        Object value = null;
         Object defndt = _defs.get(ndtype);
         if (defndt != null) {
             // copy the value to avoid that next operations add items in the
@@ -215,8 +229,23 @@ public class EntityType {
         return value;
     }
 
-    @SuppressWarnings("unchecked")
     public Object getDefinition(String ndtype) {
+        Optional<Object> value = flattenedDefinitions.get(ndtype);
+        if (value == null) {
+            value = Optional.ofNullable(_getDefinition(ndtype));
+            flattenedDefinitions.putIfAbsent(ndtype, value);
+        }
+        Object definition = value.orElse(null);
+        if (defs != null && definition == defs.get(ndtype)) {
+            return definition;
+        }
+        // merged with the parent types, callers get their own copy
+        Object copy = CopyUtils.copyLhmOrAl(definition);
+        return copy != null ? copy : definition;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object _getDefinition(String ndtype) {
         Object value = null;
         LinkedHashMap<String, Object> _defs;
         // no point in hasattr, because we have it, and it 
@@ -245,6 +274,8 @@ public class EntityType {
                     //?????
                     //inherited.update(value)
                     //value.update(inherited)
+                    // merge into a copy, value belongs to the shared type definitions
+                    value = CopyUtils.copyLhmOrAl(value);
                     for (Map.Entry<String, Object> me : ((LinkedHashMap<String, Object>) inherited).entrySet()) {
                         ((LinkedHashMap<String, Object>) value).put(me.getKey(), me.getValue());
                     }
@@ -254,31 +285,17 @@ public class EntityType {
         return value;
     }
 
+    /**
+     * Adds the definitions of the extension registered for the version to the
+     * global TOSCA_DEF.
+     *
+     * @param version an extension version
+     * @deprecated ToscaTemplate parses against {@link ToscaDefinitions#getDefinitions(String)}
+     * and no longer changes TOSCA_DEF
+     */
+    @Deprecated
     public static void updateDefinitions(String version) {
-        ExtTools exttools = new ExtTools();
-        String extensionDefsFile = exttools.getDefsFile(version);
-
-        try (InputStream input = EntityType.class.getClassLoader().getResourceAsStream(extensionDefsFile);) {
-            Yaml yaml = new Yaml();
-            LinkedHashMap<String, Object> nfvDefFile = (LinkedHashMap<String, Object>) yaml.load(input);
-            LinkedHashMap<String, Object> nfvDef = new LinkedHashMap<>();
-            for (String section : TOSCA_DEF_SECTIONS) {
-                if (nfvDefFile.get(section) != null) {
-                    LinkedHashMap<String, Object> value =
-                            (LinkedHashMap<String, Object>) nfvDefFile.get(section);
-                    for (String key : value.keySet()) {
-                        nfvDef.put(key, value.get(key));
-                    }
-                }
-            }
-            TOSCA_DEF.putAll(nfvDef);
-        } catch (IOException e) {
-            log.error("EntityType - updateDefinitions - Failed to update definitions from defs file {}", extensionDefsFile);
-            log.error("Exception:", e);
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE280",
-                    String.format("Failed to update definitions from defs file \"%s\" ", extensionDefsFile)));
-            return;
-        }
+        TOSCA_DEF.putAll(ToscaDefinitions.getExtensionDefinitions(version));
     }
 }
 
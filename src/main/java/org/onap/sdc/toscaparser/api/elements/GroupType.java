@@ -80,7 +80,7 @@ public class GroupType extends StatefulEntityType {
         }
         String pgroupEntity = derivedFrom(defs);
         if (pgroupEntity != null) {
-            return new GroupType(pgroupEntity, customDef);
+            return TypeRegistry.current().getGroupType(pgroupEntity, customDef);
         }
         return null;
     }
@@ -113,9 +113,9 @@ public class GroupType extends StatefulEntityType {
                     }
                 }
                 if (!bFound) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE120", String.format(
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE120",
                             "UnknownFieldError: Group Type \"%s\" contains unknown field \"%s\"",
-                            groupType, name)));
+                            groupType, name));
                 }
             }
         }
@@ -125,18 +125,18 @@ public class GroupType extends StatefulEntityType {
     private void validateMetadata(LinkedHashMap<String, Object> metadata) {
         String mtt = (String) metadata.get("type");
         if (mtt != null && !mtt.equals("map") && !mtt.equals("tosca:map")) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE121", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE121",
                     "InvalidTypeError: \"%s\" defined in group for metadata is invalid",
-                    mtt)));
+                    mtt));
         }
         for (String entrySchema : metadata.keySet()) {
             Object estob = metadata.get(entrySchema);
             if (estob instanceof LinkedHashMap) {
                 String est = (String) ((LinkedHashMap<String, Object>) estob).get("type");
                 if (!est.equals("string")) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE122", String.format(
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE122",
                             "InvalidTypeError: \"%s\" defined in group for metadata \"%s\" is invalid",
-                            est, entrySchema)));
+                            est, entrySchema));
                 }
             }
         }
@@ -158,7 +158,7 @@ public class GroupType extends StatefulEntityType {
                 String cname = me.getKey();
                 LinkedHashMap<String, String> cvalue = (LinkedHashMap<String, String>) me.getValue();
                 String ctype = cvalue.get("type");
-                CapabilityTypeDef cap = new CapabilityTypeDef(cname, ctype, type, customDef);
+                CapabilityTypeDef cap = TypeRegistry.current().getCapabilityType(cname, ctype, type, customDef);
                 typecapabilities.add(cap);
             }
         }
@@ -110,9 +110,9 @@ public class InterfacesDef extends StatefulEntityType {
                     } else if (me.getKey().equals(DESCRIPTION)) {
                         description = (String) me.getValue();
                     } else {
-                        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE123", String.format(
+                        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE123",
                                 "UnknownFieldError: \"interfaces\" of template \"%s\" contain unknown field \"%s\"",
-                                nodeTemplate.getName(), me.getKey())));
+                                nodeTemplate.getName(), me.getKey()));
                     }
                 }
             }
@@ -20,6 +20,7 @@
 
 package org.onap.sdc.toscaparser.api.elements;
 
+import org.onap.sdc.toscaparser.api.ParseContext;
 import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
 import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
 
@@ -52,7 +53,9 @@ public class NodeType extends StatefulEntityType {
         super(nttype, NODE_PREFIX, ntcustomDef);
         ntype = nttype;
         customDef = ntcustomDef;
-        _validateKeys();
+        if (!ParseContext.currentOptions().isTrusted()) {
+            _validateKeys();
+        }
     }
 
     public Object getParentType() {
@@ -62,7 +65,7 @@ public class NodeType extends StatefulEntityType {
         }
         String pnode = derivedFrom(defs);
         if (pnode != null && !pnode.isEmpty()) {
-            return new NodeType(pnode, customDef);
+            return TypeRegistry.current().getNodeType(pnode, customDef);
         }
         return null;
     }
@@ -127,8 +130,8 @@ public class NodeType extends StatefulEntityType {
                             if (nodeType != null) {
                                 getRelation = _getRelation(key, nodeType);
                             } else {
-                                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE11", String.format(
-                                        "NodeTypeRequirementForCapabilityUnfulfilled: Node type: \"%s\" with requrement \"%s\" for node type with capability type \"%s\" is not found\\unfulfilled", this.ntype, key, captype)));
+                                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE11",
+                                        "NodeTypeRequirementForCapabilityUnfulfilled: Node type: \"%s\" with requrement \"%s\" for node type with capability type \"%s\" is not found\\unfulfilled", this.ntype, key, captype));
                             }
                             if (getRelation != null) {
                                 relation = getRelation;
@@ -138,11 +141,11 @@ public class NodeType extends StatefulEntityType {
                     }
                 }
                 if (relation == null || nodeType == null) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE11", String.format(
-                            "NodeTypeForRelationUnfulfilled: Node type \"%s\" - relationship type \"%s\" is unfulfilled", this.ntype, relation)));
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE11",
+                            "NodeTypeForRelationUnfulfilled: Node type \"%s\" - relationship type \"%s\" is unfulfilled", this.ntype, relation));
                 } else {
                     RelationshipType rtype = new RelationshipType(relation, keyword, customDef);
-                    NodeType relatednode = new NodeType(nodeType, customDef);
+                    NodeType relatednode = TypeRegistry.current().getNodeType(nodeType, customDef);
                     relationship.put(rtype, relatednode);
                 }
             }
@@ -151,42 +154,18 @@ public class NodeType extends StatefulEntityType {
 
     }
 
-    @SuppressWarnings("unchecked")
     private String _getNodeTypeByCap(String cap) {
         // Find the node type that has the provided capability
 
         // This method will lookup all node types if they have the
         // provided capability.
-        // Filter the node types
-        ArrayList<String> nodeTypes = new ArrayList<>();
-        for (String nt : customDef.keySet()) {
-            if (nt.startsWith(NODE_PREFIX) || nt.startsWith("org.openecomp") && !nt.equals("tosca.nodes.Root")) {
-                nodeTypes.add(nt);
-            }
-        }
-        for (String nt : nodeTypes) {
-            LinkedHashMap<String, Object> nodeDef = (LinkedHashMap<String, Object>) customDef.get(nt);
-            if (nodeDef instanceof LinkedHashMap && nodeDef.get("capabilities") != null) {
-                LinkedHashMap<String, Object> nodeCaps = (LinkedHashMap<String, Object>) nodeDef.get("capabilities");
-                if (nodeCaps != null) {
-                    for (Object val : nodeCaps.values()) {
-                        if (val instanceof LinkedHashMap) {
-                            String tp = (String) ((LinkedHashMap<String, Object>) val).get("type");
-                            if (tp != null && tp.equals(cap)) {
-                                return nt;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return null;
+        return TypeRegistry.current().getNodeTypeByCapability(cap, customDef);
     }
 
     @SuppressWarnings("unchecked")
     private String _getRelation(String key, String ndtype) {
         String relation = null;
-        NodeType ntype = new NodeType(ndtype, customDef);
+        NodeType ntype = TypeRegistry.current().getNodeType(ndtype, customDef);
         LinkedHashMap<String, CapabilityTypeDef> caps = ntype.getCapabilities();
         if (caps != null && caps.get(key) != null) {
             CapabilityTypeDef c = caps.get(key);
@@ -232,7 +211,7 @@ public class NodeType extends StatefulEntityType {
                 String cname = me.getKey();
                 LinkedHashMap<String, String> cvalue = (LinkedHashMap<String, String>) me.getValue();
                 String ctype = cvalue.get("type");
-                CapabilityTypeDef cap = new CapabilityTypeDef(cname, ctype, type, customDef);
+                CapabilityTypeDef cap = TypeRegistry.current().getCapabilityType(cname, ctype, type, customDef);
                 typecapabilities.add(cap);
             }
         }
@@ -341,8 +320,8 @@ public class NodeType extends StatefulEntityType {
                     }
                 }
                 if (!bFound) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE124", String.format(
-                            "UnknownFieldError: Nodetype \"%s\" has unknown field \"%s\"", ntype, key)));
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE124",
+                            "UnknownFieldError: Nodetype \"%s\" has unknown field \"%s\"", ntype, key));
                 }
             }
         }
@@ -0,0 +1,97 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.elements;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Index of the custom node types by the types of the capabilities they
+ * provide. For each capability type it keeps the first node type, in
+ * definition order, that provides it.
+ */
+final class NodeTypesByCapability {
+
+    private final int size;
+    private final Map<String, String> nodeTypes = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    NodeTypesByCapability(Map<String, Object> customDef) {
+        size = customDef.size();
+        for (Map.Entry<String, Object> me : customDef.entrySet()) {
+            String nt = me.getKey();
+            if (!(nt.startsWith(EntityType.NODE_PREFIX) || nt.startsWith("org.openecomp") && !nt.equals("tosca.nodes.Root"))) {
+                continue;
+            }
+            Object nodeDef = me.getValue();
+            if (nodeDef instanceof LinkedHashMap && ((LinkedHashMap<String, Object>) nodeDef).get("capabilities") instanceof LinkedHashMap) {
+                LinkedHashMap<String, Object> nodeCaps =
+                        (LinkedHashMap<String, Object>) ((LinkedHashMap<String, Object>) nodeDef).get("capabilities");
+                for (Object val : nodeCaps.values()) {
+                    if (val instanceof LinkedHashMap) {
+                        Object tp = ((LinkedHashMap<String, Object>) val).get("type");
+                        if (tp instanceof String) {
+                            nodeTypes.putIfAbsent((String) tp, nt);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the first node type that provides a capability of the given type.
+     *
+     * @param capabilityType a capability type name
+     * @return the node type name, or null if no custom node type provides it
+     */
+    String get(String capabilityType) {
+        return nodeTypes.get(capabilityType);
+    }
+
+    /**
+     * Tells if the index was built from the custom definitions as they are now.
+     * Definitions are only added while templates are parsed, replaced ones are
+     * detected when the node type found no longer provides the capability.
+     */
+    @SuppressWarnings("unchecked")
+    boolean isCurrent(Map<String, Object> customDef, String capabilityType) {
+        if (customDef.size() != size) {
+            return false;
+        }
+        String nt = nodeTypes.get(capabilityType);
+        if (nt == null) {
+            return true;
+        }
+        Object nodeDef = customDef.get(nt);
+        if (!(nodeDef instanceof LinkedHashMap)
+                || !(((LinkedHashMap<String, Object>) nodeDef).get("capabilities") instanceof LinkedHashMap)) {
+            return false;
+        }
+        for (Object val : ((LinkedHashMap<String, Object>) ((LinkedHashMap<String, Object>) nodeDef).get("capabilities")).values()) {
+            if (val instanceof LinkedHashMap && capabilityType.equals(((LinkedHashMap<String, Object>) val).get("type"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -99,7 +99,7 @@ public class PolicyType extends StatefulEntityType {
         }
         if (parentPolicy != null) {
             while (parentPolicy != null && !parentPolicy.equals("tosca.policies.Root")) {
-                policies.put(parentPolicy, TOSCA_DEF.get(parentPolicy));
+                policies.put(parentPolicy, getToscaDef().get(parentPolicy));
                 parentPolicy = (String)
                         ((LinkedHashMap<String, Object>) policies.get(parentPolicy)).get("derived_from);");
             }
@@ -118,7 +118,7 @@ public class PolicyType extends StatefulEntityType {
         }
         String policyEntity = derivedFrom(defs);
         if (policyEntity != null) {
-            return new PolicyType(policyEntity, customDef);
+            return TypeRegistry.current().getPolicyType(policyEntity, customDef);
         }
         return null;
     }
@@ -154,9 +154,9 @@ public class PolicyType extends StatefulEntityType {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE125", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE125",
                         "UnknownFieldError: Policy \"%s\" contains unknown field \"%s\"",
-                        type, key)));
+                        type, key));
             }
         }
     }
@@ -165,9 +165,9 @@ public class PolicyType extends StatefulEntityType {
                                  LinkedHashMap<String, Object> customDef) {
         for (String nodetype : targetsList) {
             if (customDef.get(nodetype) == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE126", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE126",
                         "InvalidTypeError: \"%s\" defined in targets for policy \"%s\"",
-                        nodetype, type)));
+                        nodetype, type));
 
             }
         }
@@ -176,9 +176,9 @@ public class PolicyType extends StatefulEntityType {
     private void validateMetadata(LinkedHashMap<String, Object> metaData) {
         String mtype = (String) metaData.get("type");
         if (mtype != null && !mtype.equals("map") && !mtype.equals("tosca:map")) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE127", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE127",
                     "InvalidTypeError: \"%s\" defined in policy for metadata",
-                    mtype)));
+                    mtype));
         }
         for (String entrySchema : this.metaData.keySet()) {
             Object estob = this.metaData.get(entrySchema);
@@ -186,9 +186,9 @@ public class PolicyType extends StatefulEntityType {
                 String est = (String)
                         ((LinkedHashMap<String, Object>) estob).get("type");
                 if (!est.equals("string")) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE128", String.format(
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE128",
                             "InvalidTypeError: \"%s\" defined in policy for metadata \"%s\"",
-                            est, entrySchema)));
+                            est, entrySchema));
                 }
             }
         }
@@ -73,9 +73,9 @@ public class PortSpec {
             // verify one of the specified values is set
             if (source == null && sourceRange == null &&
                     target == null && targetRange == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE129", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE129",
                         "InvalidTypeAdditionalRequirementsError: Additional requirements for type \"%s\" not met",
-                        TYPE_URI)));
+                        TYPE_URI));
             }
             // Validate source value is in specified range
             if (source != null && sourceRange != null) {
@@ -92,9 +92,9 @@ public class PortSpec {
                 portdef.validate();
             }
         } catch (Exception e) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE130", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE130",
                     "ValueError: \"%s\" do not meet requirements for type \"%s\"",
-                    _properties.toString(), SHORTNAME)));
+                    _properties.toString(), SHORTNAME));
         }
     }
 
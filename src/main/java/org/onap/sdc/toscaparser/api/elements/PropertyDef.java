@@ -66,8 +66,8 @@ public class PropertyDef {
             if (schema.get("type") == null) {
                 //msg = (_('Schema definition of "%(pname)s" must have a "type" '
                 //         'attribute.') % dict(pname=self.name))
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE131", String.format(
-                        "InvalidSchemaError: Schema definition of \"%s\" must have a \"type\" attribute", name)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE131",
+                        "InvalidSchemaError: Schema definition of \"%s\" must have a \"type\" attribute", name));
             }
             _loadRequiredAttrFromSchema();
             _loadStatusAttrFromSchema();
@@ -103,9 +103,9 @@ public class PropertyDef {
                 //                                                  attr,
                 //                                                  value,
                 //                                                  valid_values)
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE132", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE132",
                         "Schema definition of \"%s\" has \"required\" attribute with an invalid value",
-                        name)));
+                        name));
             }
         }
     }
@@ -135,9 +135,9 @@ public class PropertyDef {
                 //                                                  attr,
                 //                                                  value,
                 //                                                  valid_values)
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE006", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE006",
                         "Schema definition of \"%s\" has \"status\" attribute with an invalid value",
-                        name)));
+                        name));
             }
         }
     }
@@ -53,7 +53,7 @@ public class RelationshipType extends StatefulEntityType {
         // Return a relationship this reletionship is derived from.'''
         String prel = derivedFrom(defs);
         if (prel != null) {
-            return new RelationshipType(prel, null, customDef);
+            return TypeRegistry.current().getRelationshipType(prel, null, customDef);
         }
         return null;
     }
@@ -72,8 +72,8 @@ public class RelationshipType extends StatefulEntityType {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE133", String.format(
-                        "UnknownFieldError: Relationshiptype \"%s\" has unknown field \"%s\"", type, key)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE133",
+                        "UnknownFieldError: Relationshiptype \"%s\" has unknown field \"%s\"", type, key));
             }
         }
     }
@@ -78,9 +78,9 @@ public abstract class ScalarUnit {
                     return key;
                 }
             }
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE007", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE007",
                     "'The unit \"%s\" is not valid. Valid units are \n%s",
-                    inputUnit, scalarUnitDict.keySet().toString())));
+                    inputUnit, scalarUnitDict.keySet().toString()));
             return inputUnit;
         }
     }
@@ -93,8 +93,8 @@ public abstract class ScalarUnit {
             String scalarUnit = checkUnitInScalarStandardUnits(matcher.group(2));
             value = matcher.group(1) + " " + scalarUnit;
         } else {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE134", String.format(
-                    "ValueError: \"%s\" is not a valid scalar-unit", value.toString())));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE134",
+                    "ValueError: \"%s\" is not a valid scalar-unit", value.toString()));
         }
         return value;
     }
@@ -130,7 +130,7 @@ public abstract class ScalarUnit {
         return 0.0;
     }
 
-    private static HashMap<String, String> scalarUnitMapping = getScalarUnitMappings();
+    private static final HashMap<String, String> scalarUnitMapping = getScalarUnitMappings();
 
     private static HashMap<String, String> getScalarUnitMappings() {
         HashMap<String, String> map = new HashMap<>();
@@ -161,8 +161,8 @@ public abstract class ScalarUnit {
         if (type.equals(SCALAR_UNIT_FREQUENCY)) {
             return (new ScalarUnitFrequency(value)).getNumFromScalarUnit(unit);
         }
-        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE135", String.format(
-                "TypeError: \"%s\" is not a valid scalar-unit type", type)));
+        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE135",
+                "TypeError: \"%s\" is not a valid scalar-unit type", type));
         return 0.0;
     }
 
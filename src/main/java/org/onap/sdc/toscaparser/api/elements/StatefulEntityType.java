@@ -56,20 +56,43 @@ public class StatefulEntityType extends EntityType {
             if (!entityType.startsWith(TOSCA)) {
                 entireEntityType = prefix + entityType;
             }
-            if (TOSCA_DEF.get(entireEntityType) != null) {
-                defs = (LinkedHashMap<String, Object>) TOSCA_DEF.get(entireEntityType);
+            if (getToscaDef().get(entireEntityType) != null) {
+                defs = (LinkedHashMap<String, Object>) getToscaDef().get(entireEntityType);
                 entityType = entireEntityType;
             } else if (customDef != null && customDef.get(entityType) != null) {
                 defs = (LinkedHashMap<String, Object>) customDef.get(entityType);
             } else {
                 defs = null;
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE136", String.format(
-                        "InvalidTypeError: \"%s\" is not a valid type", entityType)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE136",
+                        "InvalidTypeError: \"%s\" is not a valid type", entityType));
             }
         }
         type = entityType;
     }
 
+    /**
+     * Returns the definition the constructor resolves a type name to, without
+     * reporting validation issues.
+     */
+    static Object lookupDefinition(String entityType, String prefix, LinkedHashMap<String, Object> customDef) {
+        if (UnsupportedType.isUnsupported(entityType)) {
+            return null;
+        }
+        String entireEntityType = entityType;
+        if (entityType.startsWith(TOSCA + ":")) {
+            entityType = entityType.substring(TOSCA.length() + 1);
+            entireEntityType = prefix + entityType;
+        }
+        if (!entityType.startsWith(TOSCA)) {
+            entireEntityType = prefix + entityType;
+        }
+        Object definition = getToscaDef().get(entireEntityType);
+        if (definition == null && customDef != null) {
+            definition = customDef.get(entityType);
+        }
+        return definition;
+    }
+
     @SuppressWarnings("unchecked")
     public ArrayList<PropertyDef> getPropertiesDefObjects() {
         // Return a list of property definition objects
@@ -81,8 +104,8 @@ public class StatefulEntityType extends EntityType {
                 Object to = me.getValue();
                 if (to == null || !(to instanceof LinkedHashMap)) {
                     String s = to == null ? "null" : to.getClass().getSimpleName();
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE137", String.format(
-                            "Unexpected type error: property \"%s\" has type \"%s\" (expected dict)", pdname, s)));
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE137",
+                            "Unexpected type error: property \"%s\" has type \"%s\" (expected dict)", pdname, s));
                     continue;
                 }
                 LinkedHashMap<String, Object> pdschema = (LinkedHashMap<String, Object>) to;
@@ -0,0 +1,167 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.elements;
+
+import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
+import org.onap.sdc.toscaparser.api.extensions.ExtTools;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+import org.onap.sdc.toscaparser.api.utils.YamlUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of the normative TOSCA type definitions.
+ * TOSCA_definition_1_0.yaml and each extension definitions file are read once;
+ * the definitions of every template version are merged once and shared as a
+ * read-only map.
+ * <p>
+ * Only the maps of definitions by type name are read-only. The definition of
+ * each type is the LinkedHashMap loaded from YAML, as the parser reads it,
+ * and is shared by every parse in the process: it must not be changed.
+ */
+public final class ToscaDefinitions {
+
+    private static Logger log = LoggerFactory.getLogger(ToscaDefinitions.class.getName());
+
+    private static final String TOSCA_DEFINITION_1_0_YAML = "TOSCA_definition_1_0.yaml";
+
+    // EntityType.TOSCA_DEF_SECTIONS; not referenced so that EntityType can be
+    // initialized from here and the other way around
+    private static final String TOSCA_DEF_SECTIONS[] = {
+            "node_types", "data_types", "artifact_types",
+            "group_types", "relationship_types",
+            "capability_types", "interface_types",
+            "policy_types"};
+
+    private static final Map<String, Map<String, Object>> BY_VERSION = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, Object>> EXTENSIONS = new ConcurrentHashMap<>();
+
+    private ToscaDefinitions() {
+    }
+
+    // loaded on first use
+    private static class BaseHolder {
+        private static final Map<String, Object> BASE = Collections.unmodifiableMap(
+                flatten(load(TOSCA_DEFINITION_1_0_YAML)));
+    }
+
+    /**
+     * Returns the definitions of TOSCA_definition_1_0.yaml, by type name.
+     *
+     * @return read-only definitions
+     */
+    public static Map<String, Object> getBaseDefinitions() {
+        return BaseHolder.BASE;
+    }
+
+    /**
+     * Returns the definitions a template of the given version is parsed with:
+     * the normative definitions, overridden by the definitions of the extension
+     * registered for the version, if any.
+     *
+     * @param version the tosca_definitions_version of the template
+     * @return read-only definitions, the base definitions if the extension
+     * definitions cannot be loaded, which is reported to the current parse if any
+     */
+    public static Map<String, Object> getDefinitions(String version) {
+        if (version == null) {
+            return getBaseDefinitions();
+        }
+        Map<String, Object> definitions = BY_VERSION.get(version);
+        if (definitions == null) {
+            ExtTools exttools = new ExtTools();
+            if (!exttools.getVersions().contains(version)) {
+                return getBaseDefinitions();
+            }
+            String extensionDefsFile = exttools.getDefsFile(version);
+            LinkedHashMap<String, Object> extensionDefs = load(extensionDefsFile);
+            if (extensionDefs == null) {
+                log.error("ToscaDefinitions - getDefinitions - Failed to update definitions from defs file {}", extensionDefsFile);
+                if (ThreadLocalsHolder.getCollector() != null) {
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE280",
+                            "Failed to update definitions from defs file \"%s\" ", extensionDefsFile));
+                }
+                return getBaseDefinitions();
+            }
+            LinkedHashMap<String, Object> flattened = flatten(extensionDefs);
+            LinkedHashMap<String, Object> merged = new LinkedHashMap<>(getBaseDefinitions());
+            merged.putAll(flattened);
+            EXTENSIONS.putIfAbsent(version, Collections.unmodifiableMap(flattened));
+            BY_VERSION.putIfAbsent(version, Collections.unmodifiableMap(merged));
+            definitions = BY_VERSION.get(version);
+        }
+        return definitions;
+    }
+
+    /**
+     * Returns only the type definitions contributed by the extension registered
+     * for the given version.
+     *
+     * @param version an extension version
+     * @return read-only extension definitions, empty if they cannot be loaded
+     */
+    public static Map<String, Object> getExtensionDefinitions(String version) {
+        if (version != null) {
+            getDefinitions(version);
+            Map<String, Object> extensionDefs = EXTENSIONS.get(version);
+            if (extensionDefs != null) {
+                return extensionDefs;
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LinkedHashMap<String, Object> load(String resource) {
+        try (InputStream input = ToscaDefinitions.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                log.error("ToscaDefinitions - load - Couldn't load definitions file {}", resource);
+                return null;
+            }
+            return (LinkedHashMap<String, Object>) YamlUtils.load(input);
+        } catch (IOException e) {
+            log.error("ToscaDefinitions - load - Failed to read definitions file {}", resource, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LinkedHashMap<String, Object> flatten(LinkedHashMap<String, Object> defsFile) {
+        LinkedHashMap<String, Object> defs = new LinkedHashMap<>();
+        if (defsFile == null) {
+            return defs;
+        }
+        for (String section : TOSCA_DEF_SECTIONS) {
+            LinkedHashMap<String, Object> value = (LinkedHashMap<String, Object>) defsFile.get(section);
+            if (value != null) {
+                defs.putAll(value);
+            }
+        }
+        return defs;
+    }
+}
@@ -0,0 +1,252 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.elements;
+
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
+import org.onap.sdc.toscaparser.api.common.RecordingIssueCollector;
+import org.onap.sdc.toscaparser.api.common.ValidationIssueCollector;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-parse registry of resolved types.
+ * Each type is resolved once for a given set of custom definitions; parent
+ * types are then shared by reference instead of being built again on every
+ * getParentType() call, and their flattened definitions are computed once.
+ * <p>
+ * Custom definitions are told apart by identity. Definitions are added to
+ * those of a template in place while its imports and nested templates are
+ * resolved, so the parse reports each such change with
+ * {@link #customDefsChanged(Map)}, which drops the types resolved for them.
+ * An entry is also reused only while its type name still resolves to the
+ * same definition.
+ * <p>
+ * The issues reported while a type is built are kept with it and reported
+ * again each time it is reused, so what a caller sees does not depend on
+ * whether it built the type or found it built, possibly by another thread.
+ */
+public class TypeRegistry {
+
+    private static final TypeRegistry UNCACHED = new TypeRegistry(false);
+
+    private final boolean caching;
+    private final Map<Key, Entry> types = new ConcurrentHashMap<>();
+    private final Map<Key, NodeTypesByCapability> nodeTypesByCapability = new ConcurrentHashMap<>();
+
+    public TypeRegistry() {
+        this(true);
+    }
+
+    private TypeRegistry(boolean caching) {
+        this.caching = caching;
+    }
+
+    /**
+     * Returns the registry of the template being parsed on this thread, or a
+     * registry that builds a new type on every call when there is none.
+     *
+     * @return the current registry
+     */
+    public static TypeRegistry current() {
+        TypeRegistry registry = ThreadLocalsHolder.getTypeRegistry();
+        return registry != null ? registry : UNCACHED;
+    }
+
+    public NodeType getNodeType(String type, LinkedHashMap<String, Object> customDef) {
+        return intern(NodeType.class, type, EntityType.NODE_PREFIX, null, customDef,
+                () -> new NodeType(type, customDef));
+    }
+
+    public DataType getDataType(String type, LinkedHashMap<String, Object> customDef) {
+        return intern(DataType.class, type, EntityType.DATATYPE_NETWORK_PREFIX, null, customDef,
+                () -> new DataType(type, customDef));
+    }
+
+    public CapabilityTypeDef getCapabilityType(String name, String type, String nodeType,
+                                               LinkedHashMap<String, Object> customDef) {
+        return intern(CapabilityTypeDef.class, type, EntityType.CAPABILITY_PREFIX, name + "/" + nodeType, customDef,
+                () -> new CapabilityTypeDef(name, type, nodeType, customDef));
+    }
+
+    public RelationshipType getRelationshipType(String type, String capabilityName,
+                                                LinkedHashMap<String, Object> customDef) {
+        return intern(RelationshipType.class, type, EntityType.RELATIONSHIP_PREFIX, capabilityName, customDef,
+                () -> new RelationshipType(type, capabilityName, customDef));
+    }
+
+    public PolicyType getPolicyType(String type, LinkedHashMap<String, Object> customDef) {
+        return intern(PolicyType.class, type, EntityType.POLICY_PREFIX, null, customDef,
+                () -> new PolicyType(type, customDef));
+    }
+
+    public GroupType getGroupType(String type, LinkedHashMap<String, Object> customDef) {
+        return intern(GroupType.class, type, EntityType.GROUP_PREFIX, null, customDef,
+                () -> new GroupType(type, customDef));
+    }
+
+    public ArtifactTypeDef getArtifactType(String type, LinkedHashMap<String, Object> customDef) {
+        return intern(ArtifactTypeDef.class, type, EntityType.ARTIFACT_PREFIX, null, customDef,
+                () -> new ArtifactTypeDef(type, customDef));
+    }
+
+    /**
+     * Returns the first custom node type that provides a capability of the
+     * given type. The custom definitions are indexed once, and again when
+     * definitions were added to them.
+     *
+     * @param capabilityType a capability type name
+     * @param customDef      the custom definitions
+     * @return the node type name, or null if none provides the capability
+     */
+    public String getNodeTypeByCapability(String capabilityType, LinkedHashMap<String, Object> customDef) {
+        if (customDef == null) {
+            return null;
+        }
+        if (!caching) {
+            return new NodeTypesByCapability(customDef).get(capabilityType);
+        }
+        Key key = new Key(NodeTypesByCapability.class, "", null, customDef);
+        NodeTypesByCapability index = nodeTypesByCapability.get(key);
+        if (index == null || !index.isCurrent(customDef, capabilityType)) {
+            index = new NodeTypesByCapability(customDef);
+            nodeTypesByCapability.put(key, index);
+        }
+        return index.get(capabilityType);
+    }
+
+    /**
+     * Drops the types resolved for the given custom definitions, and the
+     * sections they flattened with their parent types, after definitions were
+     * added to them or replaced in place. Types already handed out resolve
+     * their parents again on next use.
+     *
+     * @param customDef the custom definitions that changed
+     */
+    public void customDefsChanged(Map<String, Object> customDef) {
+        if (!caching || customDef == null) {
+            return;
+        }
+        types.entrySet().removeIf(e -> {
+            if (e.getKey().customDef != customDef) {
+                return false;
+            }
+            e.getValue().type.clearFlattened();
+            return true;
+        });
+        nodeTypesByCapability.keySet().removeIf(key -> key.customDef == customDef);
+    }
+
+    public int size() {
+        return types.size();
+    }
+
+    private <T extends EntityType> T intern(Class<T> kind, String type, String prefix, String qualifier,
+                                            LinkedHashMap<String, Object> customDef, Supplier<T> factory) {
+        if (!caching || type == null) {
+            return factory.get();
+        }
+        Key key = new Key(kind, type, qualifier, customDef);
+        Object definition = StatefulEntityType.lookupDefinition(type, prefix, customDef);
+        Entry entry = types.get(key);
+        if (entry == null || entry.definition != definition) {
+            // types are built outside of the map, building one looks up its parents
+            entry = _build(definition, factory);
+            types.put(key, entry);
+        } else {
+            ValidationIssueCollector collector = ThreadLocalsHolder.getCollector();
+            if (collector != null) {
+                for (JToscaValidationIssue issue : entry.issues) {
+                    collector.appendValidationIssue(issue);
+                }
+            }
+        }
+        return kind.cast(entry.type);
+    }
+
+    private static Entry _build(Object definition, Supplier<? extends EntityType> factory) {
+        ParseContext parseContext = ThreadLocalsHolder.getContext();
+        if (parseContext == null || parseContext.getCollector() == null) {
+            return new Entry(definition, factory.get(), Collections.emptyList());
+        }
+        RecordingIssueCollector recorder = new RecordingIssueCollector(parseContext.getCollector());
+        EntityType[] type = new EntityType[1];
+        try {
+            parseContext.withCollector(recorder).run(() -> type[0] = factory.get());
+        } finally {
+            // ends the parse on the issue that ended the build, if any
+            recorder.replayTo(parseContext.getCollector());
+        }
+        return new Entry(definition, type[0], recorder.getRecordedIssues());
+    }
+
+    private static final class Entry {
+        private final Object definition;
+        private final EntityType type;
+        private final List<JToscaValidationIssue> issues;
+
+        private Entry(Object definition, EntityType type, List<JToscaValidationIssue> issues) {
+            this.definition = definition;
+            this.type = type;
+            this.issues = issues;
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> kind;
+        private final String type;
+        private final String qualifier;
+        private final Map<String, Object> customDef;
+
+        private Key(Class<?> kind, String type, String qualifier, Map<String, Object> customDef) {
+            this.kind = kind;
+            this.type = type;
+            this.qualifier = qualifier;
+            this.customDef = customDef;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            // custom definitions are compared by identity, they are mutable
+            return kind == other.kind && customDef == other.customDef
+                    && type.equals(other.type) && Objects.equals(qualifier, other.qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, type, qualifier, System.identityHashCode(customDef));
+        }
+    }
+}
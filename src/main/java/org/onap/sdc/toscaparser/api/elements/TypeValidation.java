@@ -56,7 +56,7 @@ public class TypeValidation {
             TOPOLOGY_TEMPLATE, METADATA
     };
 
-    private static ArrayList<String> VALID_TEMPLATE_VERSIONS = _getVTV();
+    private static final ArrayList<String> VALID_TEMPLATE_VERSIONS = _getVTV();
 
     private static ArrayList<String> _getVTV() {
         ArrayList<String> vtv = new ArrayList<>();
@@ -93,9 +93,9 @@ public class TypeValidation {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE138", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE138",
                         "UnknownFieldError: Template \"%s\" contains unknown field \"%s\"",
-                        importDef.toString(), name)));
+                        importDef.toString(), name));
             }
         }
     }
@@ -111,10 +111,10 @@ public class TypeValidation {
             }
         }
         if (!bFound) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE139", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE139",
                     "InvalidTemplateVersion: version \"%s\" in \"%s\" is not supported\n" +
                             "Allowed versions: [%s]",
-                    sVersion, importDef.toString(), allowed)));
+                    sVersion, importDef.toString(), allowed));
         }
     }
 }
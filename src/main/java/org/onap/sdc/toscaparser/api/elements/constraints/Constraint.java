@@ -85,8 +85,8 @@ public abstract class Constraint {
             case PATTERN:
                 return new Pattern(propname, proptype, constraint);
             default:
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE102", String.format(
-                        "InvalidSchemaError: Invalid property \"%s\"", constraintClass)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE102",
+                        "InvalidSchemaError: Invalid property \"%s\"", constraintClass));
                 return null;
         }
     }
@@ -129,9 +129,9 @@ public abstract class Constraint {
             }
         }
         if (!bFound) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE103", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE103",
                     "InvalidSchemaError: Property \"%s\" is not valid for data type \"%s\"",
-                    constraintKey, propertyType)));
+                    constraintKey, propertyType));
         }
     }
 
@@ -53,8 +53,8 @@ public class Pattern extends Constraint {
     protected boolean isValid(Object value) {
         try {
             if (!(value instanceof String)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE115", String.format("ValueError: Input value \"%s\" to \"pattern\" property \"%s\" must be a string",
-                        value.toString(), propertyName)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE115", "ValueError: Input value \"%s\" to \"pattern\" property \"%s\" must be a string",
+                        value.toString(), propertyName));
                 return false;
             }
             String strp = constraintValue.toString();
@@ -66,8 +66,8 @@ public class Pattern extends Constraint {
             }
             return false;
         } catch (PatternSyntaxException pse) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE116", String.format("ValueError: Invalid regex \"%s\" in \"pattern\" property \"%s\"",
-                    constraintValue.toString(), propertyName)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE116", "ValueError: Invalid regex \"%s\" in \"pattern\" property \"%s\"",
+                    constraintValue.toString(), propertyName));
             return false;
         }
     }
@@ -73,7 +73,7 @@ public class Schema {
     @SuppressWarnings("unused")
     private static final String SCALAR_UNIT_SIZE_DEFAULT = "B";
 
-    private static Map<String, Long> scalarUnitSizeDict = ImmutableMap.<String, Long>builder()
+    private static final Map<String, Long> scalarUnitSizeDict = ImmutableMap.<String, Long>builder()
             .put("B", FileSize.B)
             .put("KB", FileSize.KB)
             .put("MB", FileSize.MB)
@@ -98,15 +98,15 @@ public class Schema {
         if (!(schemaDict instanceof LinkedHashMap)) {
             //msg = (_('Schema definition of "%(pname)s" must be a dict.')
             //       % dict(pname=name))
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE117", String.format(
-                    "InvalidSchemaError: Schema definition of \"%s\" must be a dict", this.name)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE117",
+                    "InvalidSchemaError: Schema definition of \"%s\" must be a dict", this.name));
         }
 
         if (schemaDict.get("type") == null) {
             //msg = (_('Schema definition of "%(pname)s" must have a "type" '
             //         'attribute.') % dict(pname=name))
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE118", String.format(
-                    "InvalidSchemaError: Schema definition of \"%s\" must have a \"type\" attribute", this.name)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE118",
+                    "InvalidSchemaError: Schema definition of \"%s\" must have a \"type\" attribute", this.name));
         }
 
         schema = schemaDict;
@@ -152,9 +152,9 @@ public class Schema {
                                 constraintsList.add(c);
                             } else {
                                 // error
-                                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE119", String.format(
+                                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE119",
                                         "UnknownFieldError: Constraint type \"%s\" for property \"%s\" is not supported",
-                                        cClass, name)));
+                                        cClass, name));
                             }
                             break;
                         }
@@ -28,12 +28,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,87 +46,168 @@ public class ExtTools {
 
     private static Logger log = LoggerFactory.getLogger(ExtTools.class.getName());
 
-    private static LinkedHashMap<String, Object> extensionInfo = new LinkedHashMap<>();
+    /**
+     * Classpath resource listing the extension descriptors, one resource path per line.
+     * It is generated at build time by {@link ExtToolsIndexGenerator}; when a
+     * classpath root with an extensions directory has none, the classpath is
+     * scanned as well.
+     */
+    public static final String EXTENSIONS_INDEX = "extensions/extensions.index";
+
+    // discovered once, on first use
+    private static class ExtensionInfoHolder {
+        private static final LinkedHashMap<String, Object> EXTENSION_INFO = loadExtensions();
+    }
 
     public ExtTools() {
-        extensionInfo = loadExtensions();
     }
 
-    private LinkedHashMap<String, Object> loadExtensions() {
+    private static LinkedHashMap<String, Object> getExtensionInfo() {
+        return ExtensionInfoHolder.EXTENSION_INFO;
+    }
+
+    private static LinkedHashMap<String, Object> loadExtensions() {
+        return loadExtensions(ExtTools.class.getClassLoader());
+    }
+
+    /**
+     * Loads the extensions listed by the indexes of a class loader, and those
+     * found by a scan of the classpath roots that have no index.
+     *
+     * @param classLoader the class loader of the extensions
+     * @return the extensions by version
+     */
+    static LinkedHashMap<String, Object> loadExtensions(ClassLoader classLoader) {
 
         LinkedHashMap<String, Object> extensions = new LinkedHashMap<>();
 
-        Reflections reflections = new Reflections("extensions", new ResourcesScanner());
-        Set<String> resourcePaths = reflections.getResources(Pattern.compile(".*\\.py$"));
+        Set<String> resourcePaths = new TreeSet<>();
+        if (!_readIndexes(classLoader, resourcePaths)) {
+            Reflections reflections = new Reflections("extensions", new ResourcesScanner(), classLoader);
+            resourcePaths.addAll(reflections.getResources(Pattern.compile(".*\\.py$")));
+        }
 
         for (String resourcePath : resourcePaths) {
-            try (InputStream is = ExtTools.class.getClassLoader().getResourceAsStream(resourcePath);
-                 InputStreamReader isr = new InputStreamReader(is, Charset.forName("UTF-8"));
-                 BufferedReader br = new BufferedReader(isr);) {
-                String version = null;
-                ArrayList<String> sections = null;
-                String defsFile = null;
-                String line;
-
-                Pattern pattern = Pattern.compile("^([^#]\\S+)\\s*=\\s*(\\S.*)$");
-                while ((line = br.readLine()) != null) {
-                    line = line.replace("'", "\"");
-                    Matcher matcher = pattern.matcher(line);
-                    if (matcher.find()) {
-                        if (matcher.group(1).equals("VERSION")) {
-                            version = matcher.group(2);
-                            if (version.startsWith("'") || version.startsWith("\"")) {
-                                version = version.substring(1, version.length() - 1);
-                            }
-                        } else if (matcher.group(1).equals("DEFS_FILE")) {
-                            String fn = matcher.group(2);
-                            if (fn.startsWith("'") || fn.startsWith("\"")) {
-                                fn = fn.substring(1, fn.length() - 1);
-                            }
-                            defsFile = resourcePath.replaceFirst("\\w*.py$", fn);
-                        } else if (matcher.group(1).equals("SECTIONS")) {
-                            sections = new ArrayList<>();
-                            Pattern secpat = Pattern.compile("\"([^\"]+)\"");
-                            Matcher secmat = secpat.matcher(matcher.group(2));
-                            while (secmat.find()) {
-                                sections.add(secmat.group(1));
-                            }
+            _loadExtension(classLoader, resourcePath, extensions);
+        }
+        return extensions;
+    }
+
+    /**
+     * Reads the descriptors listed by all extension indexes of a class loader.
+     *
+     * @param classLoader   the class loader of the extensions
+     * @param resourcePaths the descriptors read
+     * @return whether every classpath root with an extensions directory has an
+     * index, so that the classpath need not be scanned
+     */
+    private static boolean _readIndexes(ClassLoader classLoader, Set<String> resourcePaths) {
+        try {
+            Set<String> indexed = new HashSet<>();
+            Enumeration<URL> indexes = classLoader.getResources(EXTENSIONS_INDEX);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                indexed.add(index.toExternalForm());
+                try (InputStream is = index.openStream();
+                     BufferedReader br = new BufferedReader(new InputStreamReader(is, Charset.forName("UTF-8")));) {
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        line = line.trim();
+                        if (!line.isEmpty() && !line.startsWith("#")) {
+                            resourcePaths.add(line);
                         }
                     }
                 }
+            }
+            // the roots the scan would go through
+            Enumeration<URL> directories = classLoader.getResources("extensions");
+            while (directories.hasMoreElements()) {
+                String directory = directories.nextElement().toExternalForm();
+                if (directory.endsWith("/")) {
+                    directory = directory.substring(0, directory.length() - 1);
+                }
+                if (!indexed.contains(directory + EXTENSIONS_INDEX.substring("extensions".length()))) {
+                    log.debug("ExtTools - _readIndexes - no {} in {}, scanning the classpath", EXTENSIONS_INDEX, directory);
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            log.error("ExtTools - _readIndexes - failed to read {}, scanning the classpath", EXTENSIONS_INDEX, e);
+            return false;
+        }
+    }
 
-                if (version != null && defsFile != null) {
-                    LinkedHashMap<String, Object> ext = new LinkedHashMap<>();
-                    ext.put("defs_file", defsFile);
-                    if (sections != null) {
-                        ext.put("sections", sections);
+    private static void _loadExtension(ClassLoader classLoader, String resourcePath, LinkedHashMap<String, Object> extensions) {
+        try (InputStream is = classLoader.getResourceAsStream(resourcePath);
+             InputStreamReader isr = new InputStreamReader(is, Charset.forName("UTF-8"));
+             BufferedReader br = new BufferedReader(isr);) {
+            String version = null;
+            ArrayList<String> sections = null;
+            String defsFile = null;
+            String line;
+
+            Pattern pattern = Pattern.compile("^([^#]\\S+)\\s*=\\s*(\\S.*)$");
+            while ((line = br.readLine()) != null) {
+                line = line.replace("'", "\"");
+                Matcher matcher = pattern.matcher(line);
+                if (matcher.find()) {
+                    if (matcher.group(1).equals("VERSION")) {
+                        version = matcher.group(2);
+                        if (version.startsWith("'") || version.startsWith("\"")) {
+                            version = version.substring(1, version.length() - 1);
+                        }
+                    } else if (matcher.group(1).equals("DEFS_FILE")) {
+                        String fn = matcher.group(2);
+                        if (fn.startsWith("'") || fn.startsWith("\"")) {
+                            fn = fn.substring(1, fn.length() - 1);
+                        }
+                        defsFile = resourcePath.replaceFirst("\\w*.py$", fn);
+                    } else if (matcher.group(1).equals("SECTIONS")) {
+                        sections = new ArrayList<>();
+                        Pattern secpat = Pattern.compile("\"([^\"]+)\"");
+                        Matcher secmat = secpat.matcher(matcher.group(2));
+                        while (secmat.find()) {
+                            sections.add(secmat.group(1));
+                        }
                     }
-                    extensions.put(version, ext);
                 }
-            } catch (Exception e) {
-                log.error("ExtTools - loadExtensions - {}", e);
+            }
+
+            if (version != null && defsFile != null) {
+                LinkedHashMap<String, Object> ext = new LinkedHashMap<>();
+                ext.put("defs_file", defsFile);
+                if (sections != null) {
+                    ext.put("sections", sections);
+                }
+                extensions.put(version, ext);
+            }
+        } catch (Exception e) {
+            log.error("ExtTools - loadExtensions - {}", e);
+            if (ThreadLocalsHolder.getCollector() != null) {
                 ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue(
                         "JE281", "Failed to load extensions" + e.getMessage()));
             }
         }
-        return extensions;
     }
 
     public ArrayList<String> getVersions() {
-        return new ArrayList<String>(extensionInfo.keySet());
+        return new ArrayList<String>(getExtensionInfo().keySet());
     }
 
+    @SuppressWarnings("unchecked")
     public LinkedHashMap<String, ArrayList<String>> getSections() {
         LinkedHashMap<String, ArrayList<String>> sections = new LinkedHashMap<>();
-        for (String version : extensionInfo.keySet()) {
-            LinkedHashMap<String, Object> eiv = (LinkedHashMap<String, Object>) extensionInfo.get(version);
+        for (String version : getExtensionInfo().keySet()) {
+            LinkedHashMap<String, Object> eiv = (LinkedHashMap<String, Object>) getExtensionInfo().get(version);
             sections.put(version, (ArrayList<String>) eiv.get("sections"));
         }
         return sections;
     }
 
+    @SuppressWarnings("unchecked")
     public String getDefsFile(String version) {
-        LinkedHashMap<String, Object> eiv = (LinkedHashMap<String, Object>) extensionInfo.get(version);
+        LinkedHashMap<String, Object> eiv = (LinkedHashMap<String, Object>) getExtensionInfo().get(version);
         return (String) eiv.get("defs_file");
     }
 
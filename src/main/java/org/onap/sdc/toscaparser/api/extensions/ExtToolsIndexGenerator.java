@@ -0,0 +1,79 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.extensions;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the {@link ExtTools#EXTENSIONS_INDEX} file listing the extension
+ * descriptors found below "extensions" in a classes directory, so that
+ * {@link ExtTools} does not need to scan the classpath at runtime.
+ * Run by the build in the process-classes phase.
+ */
+public class ExtToolsIndexGenerator {
+
+    private ExtToolsIndexGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: ExtToolsIndexGenerator <classes directory>");
+        }
+        generate(Paths.get(args[0]));
+    }
+
+    /**
+     * @param classesDir the root of the classes directory
+     * @return the descriptors written to the index, empty if there is no extension
+     * @throws IOException if the directory cannot be read or the index cannot be written
+     */
+    public static List<String> generate(Path classesDir) throws IOException {
+        Path extensionsDir = classesDir.resolve("extensions");
+        if (!Files.isDirectory(extensionsDir)) {
+            return Collections.emptyList();
+        }
+        List<String> descriptors;
+        try (Stream<Path> files = Files.walk(extensionsDir)) {
+            descriptors = files
+                    .filter(f -> Files.isRegularFile(f) && f.getFileName().toString().endsWith(".py"))
+                    .map(f -> classesDir.relativize(f).toString().replace('\\', '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        try (Writer writer = Files.newBufferedWriter(classesDir.resolve(ExtTools.EXTENSIONS_INDEX), StandardCharsets.UTF_8)) {
+            writer.write("# generated by " + ExtToolsIndexGenerator.class.getName() + ", do not edit\n");
+            for (String descriptor : descriptors) {
+                writer.write(descriptor);
+                writer.write('\n');
+            }
+        }
+        return descriptors;
+    }
+}
@@ -44,7 +44,7 @@ public abstract class Function {
 
     protected static final String HOSTED_ON = "tosca.relationships.HostedOn";
 
-    protected static HashMap<String, String> functionMappings = _getFunctionMappings();
+    protected static final HashMap<String, String> functionMappings = _getFunctionMappings();
 
     private static HashMap<String, String> _getFunctionMappings() {
         HashMap<String, String> map = new HashMap<>();
@@ -36,6 +36,7 @@ import org.onap.sdc.toscaparser.api.elements.NodeType;
 import org.onap.sdc.toscaparser.api.elements.PropertyDef;
 import org.onap.sdc.toscaparser.api.elements.RelationshipType;
 import org.onap.sdc.toscaparser.api.elements.StatefulEntityType;
+import org.onap.sdc.toscaparser.api.elements.TypeRegistry;
 import org.onap.sdc.toscaparser.api.elements.constraints.Schema;
 
 public class GetAttribute extends Function {
@@ -101,9 +102,9 @@ public class GetAttribute extends Function {
                 for (Object elem : args.subList(index, args.size())) {
                     if (valueType.equals("list")) {
                         if (!(elem instanceof Integer)) {
-                            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE147", String.format(
+                            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE147",
                                     "ValueError: Illegal arguments for function \"get_attribute\" \"%s\". Expected positive integer argument",
-                                    elem.toString())));
+                                    elem.toString()));
                         }
                         Object ob = attr.getSchema().get("entry_schema");
                         valueType = (String)
@@ -121,21 +122,21 @@ public class GetAttribute extends Function {
                             }
                         }
                         if (bFound) {
-                            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE148", String.format(
+                            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE148",
                                     "ValueError: 'Illegal arguments for function \"get_attribute\". Unexpected attribute/index value \"%s\"",
-                                    elem)));
+                                    elem));
                             return;
                         } else {  // It is a complex type
-                            DataType dataType = new DataType(valueType, null);
+                            DataType dataType = TypeRegistry.current().getDataType(valueType, null);
                             LinkedHashMap<String, PropertyDef> props =
                                     dataType.getAllProperties();
                             PropertyDef prop = props.get((String) elem);
                             if (prop != null) {
                                 valueType = (String) prop.getSchema().get("type");
                             } else {
-                                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE149", String.format(
-                                        "KeyError: Illegal arguments for function \"get_attribute\". Attribute name \"%s\" not found in \"%\"",
-                                        elem, valueType)));
+                                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE149",
+                                        "KeyError: Illegal arguments for function \"get_attribute\". Attribute name \"%s\" not found in \"%s\"",
+                                        elem, valueType));
                             }
                         }
                     }
@@ -167,9 +168,9 @@ public class GetAttribute extends Function {
         if (nodeTpl != null &&
                 !_attributeExistsInType(nodeTpl.getTypeDefinition()) &&
                 !nodeTpl.getProperties().keySet().contains(getAttributeName())) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE150", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE150",
                     "KeyError: Attribute \"%s\" was not found in node template \"%s\"",
-                    getAttributeName(), nodeTpl.getName())));
+                    getAttributeName(), nodeTpl.getName()));
         }
         return nodeTpl;
     }
@@ -183,7 +184,7 @@ public class GetAttribute extends Function {
         NodeTemplate nodeTemplate = _findNodeTemplate(nodeTemplateName);
         if (nodeTemplate != null) {
             LinkedHashMap<String, Object> hostedOnRel =
-                    (LinkedHashMap<String, Object>) EntityType.TOSCA_DEF.get(HOSTED_ON);
+                    (LinkedHashMap<String, Object>) EntityType.getToscaDef().get(HOSTED_ON);
             for (RequirementAssignment r : nodeTemplate.getRequirements().getAll()) {
                 String targetName = r.getNodeTemplateName();
                 NodeTemplate targetNode = _findNodeTemplate(targetName);
@@ -214,10 +215,10 @@ public class GetAttribute extends Function {
             }
             NodeTemplate nodeTpl = _findHostContainingAttribute(SELF);
             if (nodeTpl == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE152", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE152",
                         "ValueError: \"get_attribute: [ HOST, ... ]\" was used in " +
                                 "node template \"%s\" but \"%s\" was not found in " +
-                                "the relationship chain", ((NodeTemplate) context).getName(), HOSTED_ON)));
+                                "the relationship chain", ((NodeTemplate) context).getName(), HOSTED_ON));
                 return null;
             }
             return nodeTpl;
@@ -246,13 +247,12 @@ public class GetAttribute extends Function {
         } else {
             name = nodeTemplateName;
         }
-        for (NodeTemplate nt : toscaTpl.getNodeTemplates()) {
-            if (nt.getName().equals(name)) {
-                return nt;
-            }
+        NodeTemplate nt = toscaTpl.getNodeTemplate(name);
+        if (nt != null) {
+            return nt;
         }
-        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE155", String.format(
-                "KeyError: Node template \"%s\" was not found", nodeTemplateName)));
+        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE155",
+                "KeyError: Node template \"%s\" was not found", nodeTemplateName));
         return null;
     }
 
@@ -285,9 +285,9 @@ public class GetAttribute extends Function {
                 attribute = attrs.get(attrName);
             }
             if (attribute == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE156", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE156",
                         "KeyError: Attribute \"%s\" was not found in capability \"%s\" of node template \"%s\" referenced from node template \"%s\"",
-                        attrName, capabilityName, nodeTemplate.getName(), ((NodeTemplate) context).getName())));
+                        attrName, capabilityName, nodeTemplate.getName(), ((NodeTemplate) context).getName()));
             }
             return attribute;
         }
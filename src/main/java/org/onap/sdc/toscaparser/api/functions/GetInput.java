@@ -58,8 +58,8 @@ public class GetInput extends Function {
             }
         }
         if (!bFound) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE158", String.format(
-                    "UnknownInputError: Unknown input \"%s\"", args.get(0))));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE158",
+                    "UnknownInputError: Unknown input \"%s\"", args.get(0)));
         } else if (args.size() > 2) {
             LinkedHashMap<String, Object> inputs = (LinkedHashMap<String, Object>) toscaTpl.getTpl().get(INPUTS);
             LinkedHashMap<String, Object> data = (LinkedHashMap<String, Object>) inputs.get(getInputName());
@@ -90,8 +90,8 @@ public class GetInput extends Function {
                     }
                 }
                 if (!bFound) {
-                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE282", String.format(
-                            "UnknownDataType: Unknown data type \"%s\"", args.get(argumentNumber))));
+                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE282",
+                            "UnknownDataType: Unknown data type \"%s\"", args.get(argumentNumber)));
                 }
             }
         }
@@ -64,9 +64,9 @@ public class GetOperationOutput extends Function {
         if (bFound) {
             return _interfaceName;
         } else {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE160", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE160",
                     "ValueError: invalid interface name \"%s\" in \"get_operation_output\"",
-                    _interfaceName)));
+                    _interfaceName));
             return null;
         }
     }
@@ -85,9 +85,9 @@ public class GetOperationOutput extends Function {
             if (bFound) {
                 return operationName;
             } else {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE161", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE161",
                         "ValueError: Invalid operation of Configure interface \"%s\" in \"get_operation_output\"",
-                        operationName)));
+                        operationName));
                 return null;
             }
         }
@@ -103,15 +103,15 @@ public class GetOperationOutput extends Function {
             if (bFound) {
                 return operationName;
             } else {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE162", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE162",
                         "ValueError: Invalid operation of Configure interface \"%s\" in \"get_operation_output\"",
-                        operationName)));
+                        operationName));
                 return null;
             }
         } else {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE163", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE163",
                     "ValueError: Invalid interface name \"%s\" in \"get_operation_output\"",
-                    interfaceName)));
+                    interfaceName));
             return null;
         }
     }
@@ -146,8 +146,8 @@ public class GetOperationOutput extends Function {
                 return nt;
             }
         }
-        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE166", String.format(
-                "KeyError: Node template \"%s\" was not found", nodeTemplateName)));
+        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE166",
+                "KeyError: Node template \"%s\" was not found", nodeTemplateName));
         return null;
     }
 
@@ -151,16 +151,16 @@ public class GetProperty extends Function {
                 property = ((Property) props.get(propertyName)).getValue();
             }
             if (property == null && throwErrors) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE168", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE168",
                         "KeyError: Property \"%s\" was not found in capability \"%s\" of node template \"%s\" referenced from node template \"%s\"",
-                        propertyName, capabilityName, nodeTemplate.getName(), ((NodeTemplate) context).getName())));
+                        propertyName, capabilityName, nodeTemplate.getName(), ((NodeTemplate) context).getName()));
             }
             return property;
         }
         if (throwErrors) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE169", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE169",
                     "KeyError: Requirement/CapabilityAssignment \"%s\" referenced from node template \"%s\" was not found in node template \"%s\"",
-                    capabilityName, ((NodeTemplate) context).getName(), nodeTemplate.getName())));
+                    capabilityName, ((NodeTemplate) context).getName(), nodeTemplate.getName()));
         }
 
         return null;
@@ -174,9 +174,9 @@ public class GetProperty extends Function {
         LinkedHashMap<String, Property> props = nodeTpl.getProperties();
         Property found = props.get(propertyName);
         if (found == null) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE170", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE170",
                     "KeyError: Property \"%s\" was not found in node template \"%s\"",
-                    propertyName, nodeTpl.getName())));
+                    propertyName, nodeTpl.getName()));
         }
         return found;
     }
@@ -189,9 +189,9 @@ public class GetProperty extends Function {
         if (nodeTemplateName.equals(HOST)) {
             NodeTemplate node = _findHostContainingProperty(null);
             if (node == null) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE171", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE171",
                         "KeyError: Property \"%s\" was not found in capability \"%s\" of node template \"%s\" referenced from node template \"%s\"",
-                        (String) args.get(2), (String) args.get(1), ((NodeTemplate) context).getName())));
+                        (String) args.get(2), (String) args.get(1), nodeTemplateName, ((NodeTemplate) context).getName()));
                 return null;
             }
             return node;
@@ -215,14 +215,13 @@ public class GetProperty extends Function {
         if (toscaTpl.getNodeTemplates() == null) {
             return null;
         }
-        for (NodeTemplate nodeTemplate : toscaTpl.getNodeTemplates()) {
-            if (nodeTemplate.getName().equals(nodeTemplateName)) {
-                return nodeTemplate;
-            }
+        NodeTemplate nodeTemplate = toscaTpl.getNodeTemplate(nodeTemplateName);
+        if (nodeTemplate != null) {
+            return nodeTemplate;
         }
-        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE174", String.format(
+        ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE174",
                 "KeyError: Node template \"%s\" was not found. Referenced from Node Template \"%s\"",
-                nodeTemplateName, ((NodeTemplate) context).getName())));
+                nodeTemplateName, ((NodeTemplate) context).getName()));
 
         return null;
     }
@@ -233,15 +232,15 @@ public class GetProperty extends Function {
             if (index < ((ArrayList) value).size()) {
                 return ((ArrayList) value).get(index);
             } else {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE175", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE175",
                         "KeyError: Property \"%s\" found in capability \"%s\" referenced from node template \"%s\" must have an element with index %d",
-                        args.get(2), args.get(1), ((NodeTemplate) context).getName(), index)));
+                        args.get(2), args.get(1), ((NodeTemplate) context).getName(), index));
 
             }
         } else {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE176", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE176",
                     "KeyError: Property \"%s\" found in capability \"%s\" referenced from node template \"%s\" must be a list",
-                    args.get(2), args.get(1), ((NodeTemplate) context).getName())));
+                    args.get(2), args.get(1), ((NodeTemplate) context).getName()));
         }
         return null;
     }
@@ -253,14 +252,14 @@ public class GetProperty extends Function {
             if (ov != null) {
                 return ov;
             } else {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE177", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE177",
                         "KeyError: Property \"%s\" found in capability \"%s\" referenced from node template \"%s\" must have an attribute named \"%s\"",
-                        args.get(2), args.get(1), ((NodeTemplate) context).getName(), attribute)));
+                        args.get(2), args.get(1), ((NodeTemplate) context).getName(), attribute));
             }
         } else {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE178", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE178",
                     "KeyError: Property \"%s\" found in capability \"%s\" referenced from node template \"%s\" must be a dict",
-                    args.get(2), args.get(1), ((NodeTemplate) context).getName())));
+                    args.get(2), args.get(1), ((NodeTemplate) context).getName()));
         }
         return null;
     }
@@ -272,7 +271,7 @@ public class GetProperty extends Function {
         }
         NodeTemplate nodeTemplate = _findNodeTemplate(nodeTemplateName);
         LinkedHashMap<String, Object> hostedOnRel = (LinkedHashMap<String, Object>)
-                EntityType.TOSCA_DEF.get(HOSTED_ON);
+                EntityType.getToscaDef().get(HOSTED_ON);
         for (RequirementAssignment requirement : nodeTemplate.getRequirements().getAll()) {
             String targetName = requirement.getNodeTemplateName();
             NodeTemplate targetNode = _findNodeTemplate(targetName);
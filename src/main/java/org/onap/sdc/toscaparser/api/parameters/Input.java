@@ -129,9 +129,9 @@ public class Input {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE214", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE214",
                         "UnknownFieldError: Input \"%s\" contains unknown field \"%s\"",
-                        name, key)));
+                        name, key));
             }
         }
     }
@@ -152,18 +152,18 @@ public class Input {
         }
 
         if (!bFound) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE215", String.format(
-                    "ValueError: Invalid type \"%s\"", inputType)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE215",
+                    "ValueError: Invalid type \"%s\"", inputType));
         }
     }
 
     @SuppressWarnings("unchecked")
     private void validateValue(Object value) {
         Object datatype;
-        if (EntityType.TOSCA_DEF.get(getType()) != null) {
-            datatype = EntityType.TOSCA_DEF.get(getType());
-        } else if (EntityType.TOSCA_DEF.get(EntityType.DATATYPE_NETWORK_PREFIX + getType()) != null) {
-            datatype = EntityType.TOSCA_DEF.get(EntityType.DATATYPE_NETWORK_PREFIX + getType());
+        if (EntityType.getToscaDef().get(getType()) != null) {
+            datatype = EntityType.getToscaDef().get(getType());
+        } else if (EntityType.getToscaDef().get(EntityType.DATATYPE_NETWORK_PREFIX + getType()) != null) {
+            datatype = EntityType.getToscaDef().get(EntityType.DATATYPE_NETWORK_PREFIX + getType());
         }
 
         String type = getType();
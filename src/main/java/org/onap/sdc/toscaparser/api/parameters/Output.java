@@ -54,15 +54,15 @@ public class Output {
     private void validateField() {
         if (attributes == null) {
             //TODO wrong error message...
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE216", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE216",
                     "ValidationError: Output \"%s\" has wrong type. Expecting a dict",
-                    name)));
+                    name));
         }
 
         if (getValue() == null) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE217", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE217",
                     "MissingRequiredFieldError: Output \"%s\" is missing required \"%s\"",
-                    name, VALUE)));
+                    name, VALUE));
         }
         for (String key : attributes.keySet()) {
             boolean bFound = false;
@@ -73,9 +73,9 @@ public class Output {
                 }
             }
             if (!bFound) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE218", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE218",
                         "UnknownFieldError: Output \"%s\" contains unknown field \"%s\"",
-                        name, key)));
+                        name, key));
             }
         }
     }
@@ -21,13 +21,15 @@
 package org.onap.sdc.toscaparser.api.prereq;
 
 import org.onap.sdc.toscaparser.api.ImportsLoader;
+import org.onap.sdc.toscaparser.api.ParseContext;
 import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
 import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
 import org.onap.sdc.toscaparser.api.utils.UrlUtils;
+import org.onap.sdc.toscaparser.api.utils.YamlUtils;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -40,13 +42,11 @@ import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipInputStream;
 
 import org.onap.sdc.toscaparser.api.common.JToscaException;
 import org.onap.sdc.toscaparser.api.utils.JToscaErrorCodes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.yaml.snakeyaml.Yaml;
 
 public class CSAR {
 
@@ -55,6 +55,7 @@ public class CSAR {
 
     private String path;
     private boolean isFile;
+    private boolean inMemory;
     private boolean isValidated;
     private boolean errorCaught;
     private String csar;
@@ -62,16 +63,55 @@ public class CSAR {
     //    private Metadata metaData;
     private File tempFile;
     private LinkedHashMap<String, LinkedHashMap<String, Object>> metaProperties;
+    // the archive is opened once by validate() and shared by all later steps
+    private ZipFile zipFile;
+    private long bytesRead;
+    private int entriesTouched;
+    private ZipResourceResolver resolver;
+    // file entries by normalized name, read once from the central directory
+    private LinkedHashMap<String, ZipEntry> entryIndex;
+    private boolean extractDefinitionsOnly;
+    private boolean definitionsExtracted;
+    private boolean fullyExtracted;
 
     public CSAR(String csarPath, boolean aFile) {
+        this(csarPath, aFile, false);
+    }
+
+    /**
+     * @param csarPath the CSAR file name or URL
+     * @param aFile    whether csarPath is a local file
+     * @param inMemory if true, validate() resolves the main template and its imports
+     *                 directly against the archive and nothing is extracted to disk
+     */
+    public CSAR(String csarPath, boolean aFile, boolean inMemory) {
         path = csarPath;
         isFile = aFile;
+        this.inMemory = inMemory;
         isValidated = false;
         errorCaught = false;
         csar = null;
         tempDir = null;
         tempFile = null;
         metaProperties = new LinkedHashMap<>();
+        zipFile = null;
+        bytesRead = 0;
+        entriesTouched = 0;
+        resolver = null;
+        entryIndex = null;
+        extractDefinitionsOnly = false;
+        definitionsExtracted = false;
+        fullyExtracted = false;
+    }
+
+    /**
+     * @param extractDefinitionsOnly if true, validate() extracts only the
+     *                               definitions (YAML files) and the other artifacts
+     *                               stay in the archive until {@link #decompress()};
+     *                               by default the whole archive is extracted
+     */
+    public void setExtractDefinitionsOnly(boolean extractDefinitionsOnly) {
+        this.extractDefinitionsOnly = extractDefinitionsOnly;
     }
 
     public boolean validate() throws JToscaException {
@@ -82,14 +122,14 @@ public class CSAR {
         if (isFile) {
             File f = new File(path);
             if (!f.isFile()) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE220", String.format("\"%s\" is not a file", path)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE220", "\"%s\" is not a file", path));
                 return false;
             } else {
                 this.csar = path;
             }
         } else {
             if (!UrlUtils.validateUrl(path)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE221", String.format("ImportError: \"%s\" does not exist", path)));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE221", "ImportError: \"%s\" does not exist", path));
                 return false;
             }
             // get it to a local file
@@ -108,23 +148,30 @@ public class CSAR {
             return false;
         }
 
-        _parseAndValidateMetaProperties();
-
-        if (errorCaught) {
-            return false;
-        }
+        boolean valid = false;
+        try {
+            _parseAndValidateMetaProperties();
 
-        // validate that external references in the main template actually exist and are accessible
-        _validateExternalReferences();
+            if (errorCaught) {
+                return false;
+            }
 
-        return !errorCaught;
+            // validate that external references in the main template actually exist and are accessible
+            _validateExternalReferences();
 
+            valid = !errorCaught;
+            return valid;
+        } finally {
+            if (!valid) {
+                // nothing will be parsed, release the archive and whatever was extracted from it
+                _deleteTempDir();
+                _closeZipFile();
+            }
+        }
     }
 
     private void _parseAndValidateMetaProperties() throws JToscaException {
 
-        ZipFile zf = null;
-
         try {
 
             // validate that it is a valid zip file
@@ -139,7 +186,7 @@ public class CSAR {
             }
 
             // validate that it contains the metadata file in the correct location
-            zf = new ZipFile(csar);
+            ZipFile zf = _getZipFile();
             ZipEntry ze = zf.getEntry("TOSCA-Metadata/TOSCA.meta");
             if (ze == null) {
 
@@ -153,21 +200,16 @@ public class CSAR {
             //Going over expected metadata files and parsing them
             for (String metaFile : META_PROPERTIES_FILES) {
 
-                byte ba[] = new byte[4096];
                 ze = zf.getEntry(metaFile);
                 if (ze != null) {
-                    InputStream inputStream = zf.getInputStream(ze);
-                    n = inputStream.read(ba, 0, 4096);
-                    String md = new String(ba);
-                    md = md.substring(0, (int) n);
+                    byte[] md = _readEntry(ze);
 
                     String errorString = String.format(
                             "The file \"%s\" in the" +
                                     " CSAR \"%s\" does not contain valid YAML content", ze.getName(), csar);
 
                     try {
-                        Yaml yaml = new Yaml();
-                        Object mdo = yaml.load(md);
+                        Object mdo = YamlUtils.load(md);
                         if (!(mdo instanceof LinkedHashMap)) {
                             log.error(errorString);
                             throw new JToscaException(errorString, JToscaErrorCodes.INVALID_META_YAML_CONTENT.getValue());
@@ -197,16 +239,7 @@ public class CSAR {
             }
 
             //validate that "Entry-Definitions' metadata value points to an existing file in the CSAR
-            boolean foundEDF = false;
-            Enumeration<? extends ZipEntry> entries = zf.entries();
-            while (entries.hasMoreElements()) {
-                ze = entries.nextElement();
-                if (ze.getName().equals(edf)) {
-                    foundEDF = true;
-                    break;
-                }
-            }
-            if (!foundEDF) {
+            if (zf.getEntry(edf) == null) {
                 String errorString = String.format(
                         "The \"Entry-Definitions\" file defined in the CSAR \"%s\" does not exist", csar);
                 log.error(errorString);
@@ -219,22 +252,165 @@ public class CSAR {
             ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE223", "ValidationError: " + e.getMessage()));
             errorCaught = true;
         }
+    }
 
+    public void cleanup() {
+        _closeZipFile();
         try {
-            if (zf != null) {
-                zf.close();
+            if (tempFile != null) {
+                tempFile.delete();
             }
+        } catch (Exception e) {
+        }
+    }
+
+    private ZipFile _getZipFile() throws IOException {
+        if (zipFile == null) {
+            zipFile = new ZipFile(csar != null ? csar : path);
+        }
+        return zipFile;
+    }
+
+    /**
+     * Returns a resolver that serves the archive entries below the virtual root
+     * "&lt;absolute CSAR path&gt;!". It is valid until cleanup() is called.
+     *
+     * @return the resolver for this archive
+     * @throws IOException if the archive cannot be opened
+     */
+    public ResourceResolver getResolver() throws IOException {
+        if (resolver == null) {
+            resolver = new ZipResourceResolver(_getZipFile(), new File(csar != null ? csar : path).getAbsolutePath() + "!");
+        }
+        return resolver;
+    }
+
+    /**
+     * Returns the name of the main template as seen through {@link #getResolver()}.
+     *
+     * @return the virtual main template name
+     * @throws JToscaException if the archive cannot be read
+     */
+    public String getMainTemplatePath() throws JToscaException {
+        try {
+            return ((ZipResourceResolver) getResolver()).getRoot() + "/" + getMainTemplate();
         } catch (IOException e) {
+            throw new JToscaException(String.format("\"%s\" cannot be opened: %s", path, e.getMessage()),
+                    JToscaErrorCodes.GENERAL_ERROR.getValue());
         }
     }
 
-    public void cleanup() {
+    ZipFile getOpenZipFile() {
+        return zipFile;
+    }
+
+    private LinkedHashMap<String, ZipEntry> _getEntryIndex() throws IOException {
+        if (entryIndex == null) {
+            LinkedHashMap<String, ZipEntry> index = new LinkedHashMap<>();
+            Enumeration<? extends ZipEntry> entries = _getZipFile().entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry ze = entries.nextElement();
+                if (!ze.isDirectory()) {
+                    index.put(_normalizeEntryName(ze.getName()), ze);
+                }
+            }
+            entryIndex = index;
+        }
+        return entryIndex;
+    }
+
+    /**
+     * Looks up a file entry of the archive without reading or extracting it.
+     *
+     * @param name the entry name, relative to the archive root
+     * @return the artifact, or null if the archive has no such file
+     * @throws IOException if the archive cannot be opened
+     */
+    public CsarArtifact getArtifact(String name) throws IOException {
+        String entryName = _normalizeEntryName(name);
+        ZipEntry ze = _getEntryIndex().get(entryName);
+        if (ze == null) {
+            return null;
+        }
+        return new CsarArtifact(this, csar != null ? csar : path, ze, entryName);
+    }
+
+    /**
+     * @param name the entry name, relative to the archive root
+     * @return true if the archive contains the file
+     * @throws IOException if the archive cannot be opened
+     */
+    public boolean hasArtifact(String name) throws IOException {
+        return _getEntryIndex().containsKey(_normalizeEntryName(name));
+    }
+
+    /**
+     * @param name the entry name, relative to the archive root
+     * @return the uncompressed size in bytes, or -1 if the file does not exist or its size is unknown
+     * @throws IOException if the archive cannot be opened
+     */
+    public long getArtifactSize(String name) throws IOException {
+        ZipEntry ze = _getEntryIndex().get(_normalizeEntryName(name));
+        return ze != null ? ze.getSize() : -1;
+    }
+
+    /**
+     * @return all file entries of the archive, in central directory order
+     * @throws IOException if the archive cannot be opened
+     */
+    public List<CsarArtifact> getArtifacts() throws IOException {
+        List<CsarArtifact> artifacts = new ArrayList<>();
+        for (Map.Entry<String, ZipEntry> me : _getEntryIndex().entrySet()) {
+            artifacts.add(new CsarArtifact(this, csar != null ? csar : path, me.getValue(), me.getKey()));
+        }
+        return artifacts;
+    }
+
+    private void _closeZipFile() {
         try {
-            if (tempFile != null) {
-                tempFile.delete();
+            if (zipFile != null) {
+                zipFile.close();
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
+        }
+        zipFile = null;
+        resolver = null;
+    }
+
+    private byte[] _readEntry(ZipEntry ze) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(ze.getSize() > 0 ? (int) ze.getSize() : BUFFER_SIZE);
+        try (InputStream inputStream = _getZipFile().getInputStream(ze)) {
+            _copy(inputStream, bos);
+        }
+        return bos.toByteArray();
+    }
+
+    private void _copy(InputStream in, java.io.OutputStream out) throws IOException {
+        byte[] bytesIn = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(bytesIn)) != -1) {
+            out.write(bytesIn, 0, read);
+            bytesRead += read;
         }
+        entriesTouched++;
+    }
+
+    /**
+     * Number of uncompressed bytes read from the archive so far.
+     *
+     * @return bytes read
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Number of archive entries read so far (an entry read twice counts twice).
+     *
+     * @return entries touched
+     */
+    public int getEntriesTouched() {
+        return entriesTouched;
     }
 
     private String _getMetadata(String key) throws JToscaException {
@@ -263,16 +439,11 @@ public class CSAR {
 
     public String getMainTemplate() throws JToscaException {
         String entryDef = _getMetadata("Entry-Definitions");
-        ZipFile zf;
         boolean ok = false;
         try {
-            zf = new ZipFile(path);
-            ok = (zf.getEntry(entryDef) != null);
-            zf.close();
+            ok = (_getZipFile().getEntry(entryDef) != null);
         } catch (IOException e) {
-            if (!ok) {
-                log.error("CSAR - getMainTemplate - failed to open {}", path);
-            }
+            log.error("CSAR - getMainTemplate - failed to open {}", path);
         }
         if (ok) {
             return entryDef;
@@ -283,20 +454,19 @@ public class CSAR {
 
     @SuppressWarnings("unchecked")
     public LinkedHashMap<String, Object> getMainTemplateYaml() throws JToscaException {
-        String mainTemplate = tempDir + File.separator + getMainTemplate();
+        String mainTemplate = getMainTemplate();
         if (mainTemplate != null) {
-            try (InputStream input = new FileInputStream(new File(mainTemplate));) {
-                Yaml yaml = new Yaml();
-                Object data = yaml.load(input);
+            try {
+                Object data = YamlUtils.load(_readEntry(_getZipFile().getEntry(mainTemplate)));
                 if (!(data instanceof LinkedHashMap)) {
                     throw new IOException();
                 }
                 return (LinkedHashMap<String, Object>) data;
             } catch (Exception e) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE224", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE224",
                         "The file \"%s\" in the CSAR \"%s\" does not " +
                                 "contain valid TOSCA YAML content",
-                        mainTemplate, csar)));
+                        mainTemplate, csar));
             }
         }
         return null;
@@ -317,6 +487,13 @@ public class CSAR {
         return tempDir;
     }
 
+    /**
+     * Extracts the whole archive to {@link #getTempDir()}. Definitions already
+     * extracted by validate() are not extracted again.
+     *
+     * @throws IOException      if the archive cannot be extracted
+     * @throws JToscaException if the CSAR is not valid
+     */
     public void decompress() throws IOException, JToscaException {
         if (!isValidated) {
             validate();
@@ -324,7 +501,35 @@ public class CSAR {
 
         if (tempDir == null || tempDir.isEmpty()) {
             tempDir = Files.createTempDirectory("JTP").toString();
-            unzip(path, tempDir);
+        }
+        if (!fullyExtracted) {
+            unzip(tempDir, false);
+            fullyExtracted = true;
+        }
+    }
+
+    /**
+     * Extracts the archive to {@link #getTempDir()} for validate(): all of it,
+     * or only the definitions the parser reads (YAML files) if so set. Artifacts
+     * not extracted stay in the archive and are checked against the entry index.
+     *
+     * @throws IOException if the archive cannot be extracted
+     */
+    private void _extract() throws IOException {
+        if (tempDir == null || tempDir.isEmpty()) {
+            tempDir = Files.createTempDirectory("JTP").toString();
+        }
+        if (fullyExtracted || (extractDefinitionsOnly && definitionsExtracted)) {
+            return;
+        }
+        unzip(tempDir, extractDefinitionsOnly);
+        fullyExtracted = !extractDefinitionsOnly;
+    }
+
+    private void _deleteTempDir() {
+        if (tempDir != null) {
+            deleteDir(new File(tempDir));
+            tempDir = null;
         }
     }
 
@@ -334,20 +539,38 @@ public class CSAR {
         // * imports
         // * interface implementations
         // * artifacts
+        // The archive, or its definitions only, is extracted once here and the
+        // extracted copy is kept for the parser; validate() removes it if
+        // validation fails.
+        // In memory mode nothing is extracted, imports are read from the archive.
         try {
-            decompress();
+            if (!inMemory) {
+                _extract();
+            }
             String mainTplFile = getMainTemplate();
             if (mainTplFile == null) {
                 return;
             }
+            if (ParseContext.currentOptions().isTrusted()) {
+                // the parse loads the imports anyway
+                return;
+            }
 
             LinkedHashMap<String, Object> mainTpl = getMainTemplateYaml();
             if (mainTpl.get("imports") != null) {
                 // this loads the imports
-                ImportsLoader il = new ImportsLoader((ArrayList<Object>) mainTpl.get("imports"),
-                        tempDir + File.separator + mainTplFile,
-                        (Object) null,
-                        (LinkedHashMap<String, Object>) null);
+                if (inMemory) {
+                    new ImportsLoader((ArrayList<Object>) mainTpl.get("imports"),
+                            getMainTemplatePath(),
+                            (Object) null,
+                            (LinkedHashMap<String, Object>) null,
+                            getResolver());
+                } else {
+                    ImportsLoader il = new ImportsLoader((ArrayList<Object>) mainTpl.get("imports"),
+                            tempDir + File.separator + mainTplFile,
+                            (Object) null,
+                            (LinkedHashMap<String, Object>) null);
+                }
             }
 
             if (mainTpl.get("topology_template") != null) {
@@ -373,9 +596,9 @@ public class CSAR {
                                         _validateExternalReference(mainTplFile, file, true);
                                     }
                                 } else {
-                                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE225", String.format(
+                                    ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE225",
                                             "ValueError: Unexpected artifact definition for \"%s\"",
-                                            artifactKey)));
+                                            artifactKey));
                                     errorCaught = true;
                                 }
                             }
@@ -404,11 +627,6 @@ public class CSAR {
             }
         } catch (IOException e) {
             errorCaught = true;
-        } finally {
-            // delete tempDir (only here?!?)
-            File fdir = new File(tempDir);
-            deleteDir(fdir);
-            tempDir = null;
         }
     }
 
@@ -444,74 +662,107 @@ public class CSAR {
             }
         }
 
-        String dirPath = Paths.get(tplFile).getParent().toString();
-        String filePath = tempDir + File.separator + dirPath + File.separator + resourceFile;
-        File f = new File(filePath);
-        if (f.isFile()) {
-            return;
+        // look the resource up in the archive index instead of probing the extracted copy
+        Path dirPath = Paths.get(tplFile).getParent();
+        String entryName = _normalizeEntryName((dirPath != null ? dirPath.toString() + "/" : "") + resourceFile);
+        try {
+            if (hasArtifact(entryName)) {
+                return;
+            }
+        } catch (IOException e) {
+            log.error("CSAR - _validateExternalReference - failed to open {}", path);
         }
 
         if (raiseExc) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE228", String.format(
-                    "ValueError: The resource \"%s\" does not exist", resourceFile)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE228",
+                    "ValueError: The resource \"%s\" does not exist", resourceFile));
         }
         errorCaught = true;
     }
 
-    private void unzip(String zipFilePath, String destDirectory) throws IOException {
+    /**
+     * Normalizes an archive entry name: separators become "/", "." segments are
+     * dropped and ".." segments are resolved against the preceding segment.
+     *
+     * @param name the entry name (relative to the archive root)
+     * @return the normalized entry name
+     */
+    static String _normalizeEntryName(String name) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : name.replace('\\', '/').split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                segments.pollLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private static boolean _isDefinition(String entryName) {
+        String lower = entryName.toLowerCase();
+        return lower.endsWith(".yaml") || lower.endsWith(".yml");
+    }
+
+    private void unzip(String destDirectory, boolean definitionsOnly) throws IOException {
         File destDir = new File(destDirectory);
         if (!destDir.exists()) {
             destDir.mkdir();
         }
 
-        try (ZipInputStream zipIn = new ZipInputStream(new FileInputStream(zipFilePath));) {
-            ZipEntry entry = zipIn.getNextEntry();
-            // iterates over entries in the zip file
-            while (entry != null) {
-                // create all directories needed for nested items
-                String[] parts = entry.getName().split("/");
-                String s = destDirectory + File.separator;
-                for (int i = 0; i < parts.length - 1; i++) {
-                    s += parts[i];
-                    File idir = new File(s);
-                    if (!idir.exists()) {
-                        idir.mkdir();
-                    }
-                    s += File.separator;
+        ZipFile zf = _getZipFile();
+        Enumeration<? extends ZipEntry> entries = zf.entries();
+        // iterates over entries in the zip file
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (!entry.isDirectory()) {
+                boolean definition = _isDefinition(entry.getName());
+                if ((definitionsOnly && !definition) || (!definitionsOnly && definition && definitionsExtracted)) {
+                    continue;
                 }
-                String filePath = destDirectory + File.separator + entry.getName();
-                if (!entry.isDirectory()) {
-                    // if the entry is a file, extracts it
-                    extractFile(zipIn, filePath);
-                } else {
-                    // if the entry is a directory, make the directory
-                    File dir = new File(filePath);
-                    dir.mkdir();
+            }
+            // create all directories needed for nested items
+            String[] parts = entry.getName().split("/");
+            String s = destDirectory + File.separator;
+            for (int i = 0; i < parts.length - 1; i++) {
+                s += parts[i];
+                File idir = new File(s);
+                if (!idir.exists()) {
+                    idir.mkdir();
                 }
-                zipIn.closeEntry();
-                entry = zipIn.getNextEntry();
+                s += File.separator;
+            }
+            String filePath = destDirectory + File.separator + entry.getName();
+            if (!entry.isDirectory()) {
+                // if the entry is a file, extracts it
+                extractFile(zf, entry, filePath);
+            } else {
+                // if the entry is a directory, make the directory
+                File dir = new File(filePath);
+                dir.mkdir();
             }
         }
+        definitionsExtracted = true;
     }
 
+    private static final int BUFFER_SIZE = 4096;
+
     /**
      * Extracts a zip entry (file entry)
      *
-     * @param zipIn
+     * @param zf
+     * @param entry
      * @param filePath
      * @throws IOException
      */
-    private static final int BUFFER_SIZE = 4096;
-
-    private void extractFile(ZipInputStream zipIn, String filePath) throws IOException {
-        //BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(filePath));
-        try (FileOutputStream fos = new FileOutputStream(filePath);
+    private void extractFile(ZipFile zf, ZipEntry entry, String filePath) throws IOException {
+        try (InputStream zipIn = zf.getInputStream(entry);
+             FileOutputStream fos = new FileOutputStream(filePath);
              BufferedOutputStream bos = new BufferedOutputStream(fos);) {
-            byte[] bytesIn = new byte[BUFFER_SIZE];
-            int read = 0;
-            while ((read = zipIn.read(bytesIn)) != -1) {
-                bos.write(bytesIn, 0, read);
-            }
+            _copy(zipIn, bos);
         }
     }
 
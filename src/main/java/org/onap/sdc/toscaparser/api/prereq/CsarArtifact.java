@@ -0,0 +1,106 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.prereq;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A file entry of a CSAR, as listed in the archive's central directory.
+ * The content is not read until {@link #openStream()} is called.
+ */
+public class CsarArtifact {
+
+    private final CSAR csar;
+    private final String archivePath;
+    private final ZipEntry entry;
+    private final String name;
+
+    CsarArtifact(CSAR csar, String archivePath, ZipEntry entry, String name) {
+        this.csar = csar;
+        this.archivePath = archivePath;
+        this.entry = entry;
+        this.name = name;
+    }
+
+    /**
+     * @return the normalized entry name, e.g. "Artifacts/Deployment/HEAT/base.yaml"
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the uncompressed size in bytes, or -1 if the archive does not record it
+     */
+    public long getSize() {
+        return entry.getSize();
+    }
+
+    /**
+     * @return the compressed size in bytes, or -1 if the archive does not record it
+     */
+    public long getCompressedSize() {
+        return entry.getCompressedSize();
+    }
+
+    /**
+     * Opens the artifact content. If the CSAR has already been cleaned up the
+     * archive is reopened for the lifetime of the returned stream.
+     * The caller closes the returned stream.
+     *
+     * @return the uncompressed content
+     * @throws IOException if the archive cannot be read
+     */
+    public InputStream openStream() throws IOException {
+        ZipFile open = csar.getOpenZipFile();
+        if (open != null) {
+            return open.getInputStream(entry);
+        }
+        final ZipFile zf = new ZipFile(archivePath);
+        try {
+            return new FilterInputStream(zf.getInputStream(zf.getEntry(entry.getName()))) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zf.close();
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            zf.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CsarArtifact{" +
+                "name='" + name + '\'' +
+                ", size=" + getSize() +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.prereq;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Resolves the template and import file names used while parsing.
+ * The default implementation reads the local file system; a CSAR parsed
+ * in memory resolves names below its virtual root against the archive entries.
+ */
+public interface ResourceResolver {
+
+    /**
+     * Checks whether the name denotes an existing regular file.
+     *
+     * @param name the file name
+     * @return true if the file exists and is not a directory
+     */
+    boolean isFile(String name);
+
+    /**
+     * Opens the file for reading. The caller closes the returned stream.
+     *
+     * @param name the file name
+     * @return the file content
+     * @throws IOException if the file does not exist or cannot be read
+     */
+    InputStream open(String name) throws IOException;
+}
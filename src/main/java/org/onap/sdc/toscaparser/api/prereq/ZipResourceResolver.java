@@ -0,0 +1,91 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.prereq;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Resolves file names below a virtual root directory against the entries of an
+ * open {@link ZipFile}, so a CSAR can be parsed without extracting it.
+ * Names outside the virtual root are delegated to the local file system.
+ * The zip file is owned by the caller.
+ */
+public class ZipResourceResolver implements ResourceResolver {
+
+    private final ZipFile zipFile;
+    private final String root;
+
+    /**
+     * @param zipFile the open archive
+     * @param root    the virtual directory the archive entries are placed under,
+     *                e.g. "/path/to/service.csar!"
+     */
+    public ZipResourceResolver(ZipFile zipFile, String root) {
+        this.zipFile = zipFile;
+        this.root = root.replace('\\', '/');
+    }
+
+    public String getRoot() {
+        return root;
+    }
+
+    @Override
+    public boolean isFile(String name) {
+        String entryName = _getEntryName(name);
+        if (entryName == null) {
+            return LocalResourceResolver.INSTANCE.isFile(name);
+        }
+        ZipEntry ze = zipFile.getEntry(entryName);
+        return ze != null && !ze.isDirectory();
+    }
+
+    @Override
+    public InputStream open(String name) throws IOException {
+        String entryName = _getEntryName(name);
+        if (entryName == null) {
+            return LocalResourceResolver.INSTANCE.open(name);
+        }
+        ZipEntry ze = zipFile.getEntry(entryName);
+        if (ze == null || ze.isDirectory()) {
+            throw new FileNotFoundException(name + " (no such entry in " + zipFile.getName() + ")");
+        }
+        return zipFile.getInputStream(ze);
+    }
+
+    /**
+     * @param name a file name
+     * @return the archive entry name, or null if the name is not below the virtual root
+     */
+    private String _getEntryName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = name.replace('\\', '/');
+        if (!normalized.startsWith(root + "/")) {
+            return null;
+        }
+        return CSAR._normalizeEntryName(normalized.substring(root.length() + 1));
+    }
+}
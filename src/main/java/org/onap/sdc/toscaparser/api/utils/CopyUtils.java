@@ -21,7 +21,9 @@
 package org.onap.sdc.toscaparser.api.utils;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CopyUtils {
@@ -47,4 +49,32 @@ public class CopyUtils {
             return null;
         }
     }
+
+    /**
+     * Copies the maps and lists of a value loaded from YAML, at every depth.
+     * Scalars are shared, a Date is copied.
+     *
+     * @param src the value
+     * @return the copy
+     */
+    @SuppressWarnings("unchecked")
+    public static Object deepCopy(Object src) {
+        if (src instanceof Map) {
+            LinkedHashMap<Object, Object> dst = new LinkedHashMap<>();
+            for (Map.Entry<Object, Object> me : ((Map<Object, Object>) src).entrySet()) {
+                dst.put(me.getKey(), deepCopy(me.getValue()));
+            }
+            return dst;
+        } else if (src instanceof List) {
+            ArrayList<Object> dst = new ArrayList<>(((List<Object>) src).size());
+            for (Object o : (List<Object>) src) {
+                dst.add(deepCopy(o));
+            }
+            return dst;
+        } else if (src instanceof Date) {
+            return ((Date) src).clone();
+        } else {
+            return src;
+        }
+    }
 }
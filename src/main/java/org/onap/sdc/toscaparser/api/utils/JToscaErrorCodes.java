@@ -29,7 +29,8 @@ public enum JToscaErrorCodes {
     GENERAL_ERROR("JE1005"),
     PATH_NOT_VALID("JE1006"),
     CSAR_TOSCA_VALIDATION_ERROR("JE1007"),
-    INVALID_CSAR_FORMAT("JE1008");
+    INVALID_CSAR_FORMAT("JE1008"),
+    PARSE_ABORTED("JE1009");
 
     private String value;
 
@@ -20,26 +20,93 @@
 
 package org.onap.sdc.toscaparser.api.utils;
 
+import org.onap.sdc.toscaparser.api.ParseContext;
 import org.onap.sdc.toscaparser.api.common.ValidationIssueCollector;
+import org.onap.sdc.toscaparser.api.elements.TypeRegistry;
 
+import java.util.Map;
+
+/**
+ * Holds the {@link ParseContext} of the template being parsed on each thread.
+ */
 public class ThreadLocalsHolder {
 
-    private static final ThreadLocal<ValidationIssueCollector> EXCEPTION_COLLECTOR_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<ParseContext> PARSE_CONTEXT_THREAD_LOCAL = new ThreadLocal<>();
 
     private ThreadLocalsHolder() {
     }
 
+    public static ParseContext getContext() {
+        return PARSE_CONTEXT_THREAD_LOCAL.get();
+    }
+
+    /**
+     * Makes a parse context current on this thread.
+     *
+     * @param parseContext the context, null to remove the current one
+     */
+    public static void setContext(ParseContext parseContext) {
+        if (parseContext == null) {
+            PARSE_CONTEXT_THREAD_LOCAL.remove();
+        } else {
+            PARSE_CONTEXT_THREAD_LOCAL.set(parseContext);
+        }
+    }
+
     public static ValidationIssueCollector getCollector() {
-        return EXCEPTION_COLLECTOR_THREAD_LOCAL.get();
+        ParseContext parseContext = getContext();
+        return parseContext != null ? parseContext.getCollector() : null;
     }
 
+    /**
+     * Starts a new parse context on this thread that reports to the given collector.
+     *
+     * @param validationIssueCollector the collector
+     */
     public static void setCollector(ValidationIssueCollector validationIssueCollector) {
         cleanup();
-        EXCEPTION_COLLECTOR_THREAD_LOCAL.set(validationIssueCollector);
+        setContext(new ParseContext(validationIssueCollector, null, null));
     }
 
     public static void cleanup() {
-        EXCEPTION_COLLECTOR_THREAD_LOCAL.remove();
+        PARSE_CONTEXT_THREAD_LOCAL.remove();
+    }
+
+    public static Map<String, Object> getDefinitions() {
+        ParseContext parseContext = getContext();
+        return parseContext != null ? parseContext.getDefinitions() : null;
+    }
+
+    /**
+     * Sets the normative type definitions templates are parsed with on this thread.
+     *
+     * @param definitions read-only definitions, null to use the global EntityType.TOSCA_DEF
+     */
+    public static void setDefinitions(Map<String, Object> definitions) {
+        _getOrCreateContext().setDefinitions(definitions);
+    }
+
+    public static TypeRegistry getTypeRegistry() {
+        ParseContext parseContext = getContext();
+        return parseContext != null ? parseContext.getTypeRegistry() : null;
+    }
+
+    /**
+     * Sets the registry types are resolved with on this thread.
+     *
+     * @param typeRegistry the registry of the template being parsed, null to build types on every lookup
+     */
+    public static void setTypeRegistry(TypeRegistry typeRegistry) {
+        _getOrCreateContext().setTypeRegistry(typeRegistry);
+    }
+
+    private static ParseContext _getOrCreateContext() {
+        ParseContext parseContext = getContext();
+        if (parseContext == null) {
+            parseContext = new ParseContext(null, null, null);
+            setContext(parseContext);
+        }
+        return parseContext;
     }
 
 }
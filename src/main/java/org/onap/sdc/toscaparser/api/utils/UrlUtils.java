@@ -58,15 +58,15 @@ public class UrlUtils {
         //   relative_path: heat-translator
         //   - joined: http://www.githib.com/openstack/heat-translator
         if (!validateUrl(sUrl)) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE255", String.format(
-                    "ValueError: The URL \"%s\" is malformed", sUrl)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE255",
+                    "ValueError: The URL \"%s\" is malformed", sUrl));
         }
         try {
             URL base = new URL(sUrl);
             return (new URL(base, relativePath)).toString();
         } catch (MalformedURLException e) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE256", String.format(
-                    "ValueError: Joining URL \"%s\" and relative path \"%s\" caused an exception", sUrl, relativePath)));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE256",
+                    "ValueError: Joining URL \"%s\" and relative path \"%s\" caused an exception", sUrl, relativePath));
             return sUrl;
         }
     }
@@ -53,8 +53,8 @@ public class ValidateUtils {
     public static Object validateNumeric(Object value) {
         if (value != null) {
             if (!(value instanceof Number)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE257", String.format(
-                        "ValueError: \"%s\" is not a numeric", value.toString())));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE257",
+                        "ValueError: \"%s\" is not a numeric", value.toString()));
             }
         }
         return value;
@@ -67,8 +67,8 @@ public class ValidateUtils {
                 if (value instanceof Boolean) {
                     return (Boolean) value ? 1 : 0;
                 }
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE258", String.format(
-                        "ValueError: \"%s\" is not an integer", value.toString())));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE258",
+                        "ValueError: \"%s\" is not an integer", value.toString()));
             }
         }
         return value;
@@ -77,8 +77,8 @@ public class ValidateUtils {
     public static Object validateFloat(Object value) {
         if (value != null) {
             if (!(value instanceof Float || value instanceof Double)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE259", String.format(
-                        "ValueError: \"%s\" is not a float", value.toString())));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE259",
+                        "ValueError: \"%s\" is not a float", value.toString()));
             }
         }
         return value;
@@ -87,8 +87,8 @@ public class ValidateUtils {
     public static Object validateString(Object value) {
         if (value != null) {
             if (!(value instanceof String)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE260", String.format(
-                        "ValueError: \'%s\' is not a string", value.toString())));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE260",
+                        "ValueError: \'%s\' is not a string", value.toString()));
             }
         }
         return value;
@@ -97,8 +97,8 @@ public class ValidateUtils {
     public static Object validateList(Object value) {
         if (value != null) {
             if (!(value instanceof ArrayList)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE261", String.format(
-                        "ValueError: \"%s\" is not a list", value.toString())));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE261",
+                        "ValueError: \"%s\" is not a list", value.toString()));
             }
         }
         return value;
@@ -111,8 +111,8 @@ public class ValidateUtils {
         validateList(range);
         // validate range list has a min and max
         if (range instanceof ArrayList && ((ArrayList<Object>) range).size() != 2) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE262", String.format(
-                    "ValueError: \"%s\" is not a valid range", range.toString())));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE262",
+                    "ValueError: \"%s\" is not a valid range", range.toString()));
             // too dangerous to continue...
             return range;
         }
@@ -124,8 +124,8 @@ public class ValidateUtils {
 
         if (!(r0 instanceof Integer) && !(r0 instanceof Float)
                 || !(r1 instanceof Integer) && !(r1 instanceof Float)) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE263", String.format(
-                    "ValueError: \"%s\" is not a valid range", range.toString())));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE263",
+                    "ValueError: \"%s\" is not a valid range", range.toString()));
             // too dangerous to continue...
             return range;
         }
@@ -147,8 +147,8 @@ public class ValidateUtils {
         if (!minTest && !maxTest) {
             // Note: min == max is allowed
             if (min > max) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE264", String.format(
-                        "ValueError:\"%s\" is not a valid range", range.toString())));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE264",
+                        "ValueError:\"%s\" is not a valid range", range.toString()));
             }
         }
         return range;
@@ -158,8 +158,8 @@ public class ValidateUtils {
     public static Object validateValueInRange(Object value, Object range, String propName) {
         // verify all 3 are numeric and convert to Floats
         if (!(value instanceof Integer || value instanceof Float)) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE265", String.format(
-                    "ValueError: validateInRange: \"%s\" is not a number", range.toString())));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE265",
+                    "ValueError: validateInRange: \"%s\" is not a number", range.toString()));
             return value;
         }
         Float fval = value instanceof Integer ? ((Integer) value).floatValue() : (Float) value;
@@ -170,8 +170,8 @@ public class ValidateUtils {
         // better safe than sorry...
         // validate that range list has a min and max
         if (range instanceof ArrayList && ((ArrayList<Object>) range).size() != 2) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE266", String.format(
-                    "ValueError: \"%s\" is not a valid range", range.toString())));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE266",
+                    "ValueError: \"%s\" is not a valid range", range.toString()));
             // too dangerous to continue...
             return value;
         }
@@ -183,8 +183,8 @@ public class ValidateUtils {
 
         if (!(r0 instanceof Integer) && !(r0 instanceof Float)
                 || !(r1 instanceof Integer) && !(r1 instanceof Float)) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE267", String.format(
-                    "ValueError: \"%s\" is not a valid range", range.toString())));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE267",
+                    "ValueError: \"%s\" is not a valid range", range.toString()));
             // too dangerous to continue...
             return value;
         }
@@ -206,8 +206,8 @@ public class ValidateUtils {
         if (!minTest && !maxTest) {
             // Note: min == max is allowed
             if (min > max) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE268", String.format(
-                        "ValueError:\"%s\" is not a valid range", range.toString())));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE268",
+                        "ValueError:\"%s\" is not a valid range", range.toString()));
             }
         }
         // finally...
@@ -225,9 +225,9 @@ public class ValidateUtils {
             }
         }
         if (bError) {
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE269", String.format(
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE269",
                     "RangeValueError: Property \"%s\", \"%s\" not in range [\"%s\" - \"%s\"",
-                    propName, value.toString(), r0.toString(), r1.toString())));
+                    propName, value.toString(), r0.toString(), r1.toString()));
         }
         return value;
     }
@@ -235,8 +235,8 @@ public class ValidateUtils {
     public static Object validateMap(Object ob) {
         if (ob != null) {
             if (!(ob instanceof LinkedHashMap)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE270", String.format(
-                        "ValueError\"%s\" is not a map.", ob.toString())));
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE270",
+                        "ValueError\"%s\" is not a map.", ob.toString()));
             }
         }
         return ob;
@@ -253,8 +253,8 @@ public class ValidateUtils {
                     return normalized.equals("true");
                 }
             }
-            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE271", String.format(
-                    "ValueError: \"%s\" is not a boolean", value.toString())));
+            ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE271",
+                    "ValueError: \"%s\" is not a boolean", value.toString()));
         }
         return value;
     }
@@ -278,9 +278,9 @@ public class ValidateUtils {
         // timestamps are loaded as Date objects by the YAML parser
         if (value != null) {
             if (!(value instanceof Date)) {
-                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE272", String.format(
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE272",
                         "ValueError: \"%s\" is not a valid timestamp",
-                        value.toString())));
+                        value.toString()));
 
             }
         }
@@ -0,0 +1,79 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.sdc.toscaparser.api.utils;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Loads the YAML of the parser: templates, imports, CSAR meta files and the
+ * TOSCA definitions.
+ * <p>
+ * The content is decoded as UTF-8, or as UTF-16 when it starts with a byte
+ * order mark, whatever the default charset. Only the standard YAML types are
+ * constructed - maps, lists and scalars - so a template cannot make the
+ * parser create objects of other classes. The options and the resolver of
+ * the implicit scalar types are built once and shared; a loader is not
+ * thread safe, each thread keeps its own.
+ */
+public class YamlUtils {
+
+    // far above the templates and type files SDC generates
+    private static final int CODE_POINT_LIMIT = 64 * 1024 * 1024;
+    private static final LoaderOptions LOADER_OPTIONS = _loaderOptions();
+    private static final DumperOptions DUMPER_OPTIONS = new DumperOptions();
+    private static final Resolver RESOLVER = new Resolver();
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(() -> new Yaml(
+            new SafeConstructor(LOADER_OPTIONS), new Representer(DUMPER_OPTIONS), DUMPER_OPTIONS, LOADER_OPTIONS, RESOLVER));
+
+    private YamlUtils() {
+    }
+
+    /**
+     * @param input the content, read to the end but not closed
+     * @return the loaded YAML, null if there is no document
+     */
+    public static Object load(InputStream input) {
+        return YAML.get().load(new UnicodeReader(input));
+    }
+
+    /**
+     * @param content the content
+     * @return the loaded YAML, null if there is no document
+     */
+    public static Object load(byte[] content) {
+        return load(new ByteArrayInputStream(content));
+    }
+
+    private static LoaderOptions _loaderOptions() {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(CODE_POINT_LIMIT);
+        return loaderOptions;
+    }
+}
@@ -0,0 +1,251 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
+import org.onap.sdc.toscaparser.api.elements.RelationshipType;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentParsingTest {
+
+    private static final int THREADS = 4;
+
+    @Test
+    public void testConcurrentParsesMatchSequentialParses() throws Exception {
+        File[] csars = _csars();
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (File csar : csars) {
+            expected.put(csar.getName(), _parse(csar, null));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Map<String, String>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                // each thread parses all the CSARs, starting at a different one
+                List<File> order = new ArrayList<>(Arrays.asList(csars));
+                Collections.rotate(order, t);
+                futures.add(executor.submit(() -> {
+                    Map<String, String> parsed = new LinkedHashMap<>();
+                    for (File csar : order) {
+                        parsed.put(csar.getName(), _parse(csar, null));
+                    }
+                    return parsed;
+                }));
+            }
+            for (Future<Map<String, String>> future : futures) {
+                Map<String, String> parsed = future.get();
+                for (File csar : csars) {
+                    assertEquals(csar.getName(), expected.get(csar.getName()), parsed.get(csar.getName()));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelNodeTemplatesMatchSequentialParse() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            ParseOptions parseOptions = new ParseOptions();
+            parseOptions.setNodeTemplateExecutor(executor);
+            for (File csar : _csars()) {
+                assertEquals(csar.getName(), _parse(csar, null), _parse(csar, parseOptions));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelNestedTopologiesMatchSequentialParse() throws Exception {
+        ExecutorService nestedExecutor = Executors.newFixedThreadPool(THREADS);
+        ExecutorService nodeTemplateExecutor = Executors.newFixedThreadPool(THREADS);
+        try {
+            ParseOptions parseOptions = new ParseOptions();
+            parseOptions.setNestedTopologyExecutor(nestedExecutor);
+            parseOptions.setNodeTemplateExecutor(nodeTemplateExecutor);
+            for (File csar : _csars()) {
+                assertEquals(csar.getName(), _parse(csar, null), _parse(csar, parseOptions));
+            }
+        } finally {
+            nestedExecutor.shutdownNow();
+            nodeTemplateExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNestedTopologiesShareTheParamsOfTheParse() throws JToscaException {
+        String fileStr = ConcurrentParsingTest.class.getClassLoader()
+                .getResource("csars/service-AdiodVmxVpeBvService-csar.csar").getFile();
+        ExecutorService nestedExecutor = Executors.newFixedThreadPool(THREADS);
+        try {
+            ParseOptions parallel = new ParseOptions();
+            parallel.setNestedTopologyExecutor(nestedExecutor);
+            for (ParseOptions parseOptions : Arrays.asList(new ParseOptions(), parallel)) {
+                LinkedHashMap<String, Object> params = new LinkedHashMap<>();
+                ToscaTemplate toscaTemplate = new ToscaTemplate(new File(fileStr).getAbsolutePath(), params, true, null, true, parseOptions);
+
+                int nested = 0;
+                for (NodeTemplate nodeTemplate : toscaTemplate.getNodeTemplates()) {
+                    if (nodeTemplate.getSubMappingToscaTemplate() != null) {
+                        // the properties of the node template are the inputs of its topology
+                        assertSame(params, nodeTemplate.getOriginComponentTemplate().getParsedParams());
+                        assertTrue(params.keySet().containsAll(nodeTemplate.getProperties().keySet()));
+                        nested++;
+                    }
+                }
+                assertTrue(nested > 0);
+            }
+        } finally {
+            nestedExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNestedTopologiesAreNotBuiltBeyondMaxNestingLevels() throws JToscaException {
+        String fileStr = ConcurrentParsingTest.class.getClassLoader()
+                .getResource("csars/service-AdiodVmxVpeBvService-csar.csar").getFile();
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setMaxNestingLevels(1);
+        ToscaTemplate toscaTemplate = new ToscaTemplate(new File(fileStr).getAbsolutePath(), null, true, null, true, parseOptions);
+
+        for (NodeTemplate nodeTemplate : toscaTemplate.getNodeTemplates()) {
+            assertNull(nodeTemplate.getName(), nodeTemplate.getSubMappingToscaTemplate());
+        }
+    }
+
+    @Test
+    public void testParseContextHoldsIssuesOfItsParse() throws JToscaException {
+        String fileStr = ConcurrentParsingTest.class.getClassLoader()
+                .getResource("csars/tmpCSAR_Huawei_vSPGW_without_required_inputs.csar").getFile();
+        ToscaTemplate toscaTemplate = new ToscaTemplate(new File(fileStr).getAbsolutePath(), null, true, null);
+
+        assertSame(toscaTemplate.getParseContext(), ThreadLocalsHolder.getContext());
+        assertSame(toscaTemplate.getParseContext().getCollector(), ThreadLocalsHolder.getCollector());
+        assertTrue(toscaTemplate.getParseContext().getCollector().validationIssuesCaught() > 0);
+    }
+
+    @Test
+    public void testParseContextFollowsTasksToOtherThreads() throws Exception {
+        ParseContext parseContext = new ParseContext();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ParseContext> current = executor.submit(parseContext.wrap(() -> {
+                ThreadLocalsHolder.getCollector().appendValidationIssue(new JToscaValidationIssue("JE000", "from a pool thread"));
+                return ParseContext.current();
+            }));
+            assertSame(parseContext, current.get());
+            assertEquals(1, parseContext.getCollector().validationIssuesCaught());
+            // the pool thread is left as it was found
+            assertNull(executor.submit(ParseContext::current).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIsolatedParseLeavesNoContext() throws Exception {
+        String fileStr = ConcurrentParsingTest.class.getClassLoader()
+                .getResource("csars/tmpCSAR_Huawei_vSPGW_without_required_inputs.csar").getFile();
+        ParseContext outer = new ParseContext();
+        ThreadLocalsHolder.setContext(outer);
+
+        ToscaTemplate toscaTemplate = ParseContext.isolated(
+                () -> new ToscaTemplate(new File(fileStr).getAbsolutePath(), null, true, null));
+
+        assertSame(outer, ThreadLocalsHolder.getContext());
+        assertEquals(0, outer.getCollector().validationIssuesCaught());
+        assertTrue(toscaTemplate.getParseContext().getCollector().validationIssuesCaught() > 0);
+    }
+
+    private static File[] _csars() {
+        File[] csars = new File(ConcurrentParsingTest.class.getClassLoader().getResource("csars").getFile())
+                .listFiles((dir, name) -> name.endsWith(".csar"));
+        assertTrue(csars != null && csars.length > 0);
+        Arrays.sort(csars);
+        return csars;
+    }
+
+    private static String _parse(File csar, ParseOptions parseOptions) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            ToscaTemplate toscaTemplate = new ToscaTemplate(csar.getAbsolutePath(), null, true, null, true, parseOptions);
+            sb.append("version ").append(toscaTemplate.getVersion()).append('\n');
+            if (toscaTemplate.getNodeTemplates() != null) {
+                for (Group group : toscaTemplate.getGroups()) {
+                    sb.append("group ").append(group.getName()).append(" : ").append(group.getType()).append('\n');
+                }
+                for (Policy policy : toscaTemplate.getPolicies()) {
+                    sb.append("policy ").append(policy.getName()).append(" : ").append(policy.getType()).append('\n');
+                }
+                for (NodeTemplate nodeTemplate : toscaTemplate.getNodeTemplates()) {
+                    _appendNodeTemplate(sb, nodeTemplate, "");
+                }
+            }
+        } catch (JToscaException e) {
+            sb.append("exception ").append(e.getMessage()).append('\n');
+        }
+        List<String> issues = new ArrayList<>(ThreadLocalsHolder.getCollector().getValidationIssueReport());
+        Collections.sort(issues);
+        for (String issue : issues) {
+            sb.append("issue ").append(issue).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void _appendNodeTemplate(StringBuilder sb, NodeTemplate nodeTemplate, String indent) {
+        sb.append(indent).append("node ").append(nodeTemplate.getName()).append(" : ").append(nodeTemplate.getType()).append('\n');
+        TreeMap<String, String> properties = new TreeMap<>();
+        for (Property property : nodeTemplate.getPropertiesObjects()) {
+            properties.put(property.getName(), String.valueOf(property.getValue()));
+        }
+        sb.append(indent).append("  properties ").append(properties).append('\n');
+        sb.append(indent).append("  capabilities ").append(nodeTemplate.getCapabilities().getAll().size())
+                .append(" requirements ").append(nodeTemplate.getRequirements().getAll().size()).append('\n');
+        for (Map.Entry<RelationshipType, NodeTemplate> relationship : nodeTemplate.getRelationships().entrySet()) {
+            sb.append(indent).append("  relationship ").append(relationship.getKey().getType())
+                    .append(" -> ").append(relationship.getValue().getName()).append('\n');
+        }
+        if (nodeTemplate.getSubMappingToscaTemplate() != null) {
+            for (NodeTemplate nested : nodeTemplate.getSubMappingToscaTemplate().getNodeTemplates()) {
+                _appendNodeTemplate(sb, nested, indent + "    ");
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class ImportCacheTest {
+
+    @Test
+    public void testCachedParsesMatchUncachedParse() throws JToscaException {
+        String path = new File(ImportCacheTest.class.getClassLoader()
+                .getResource("csars/service-JennyVtsbcKarunaSvc-csar.csar").getFile()).getAbsolutePath();
+        ToscaTemplate uncached = new ToscaTemplate(path, null, true, null);
+
+        ImportCache importCache = new ImportCache(64 * 1024 * 1024);
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setImportCache(importCache);
+        for (int i = 0; i < 2; i++) {
+            ToscaTemplate cached = new ToscaTemplate(path, null, true, null, true, parseOptions);
+            assertEquals(_names(uncached), _names(cached));
+            assertEquals(_sorted(uncached.getParseContext().getCollector().getValidationIssueReport()),
+                    _sorted(cached.getParseContext().getCollector().getValidationIssueReport()));
+        }
+        assertTrue(importCache.getMisses() > 0);
+        // the second parse loads nothing
+        assertTrue(importCache.getHits() >= importCache.getMisses());
+        assertEquals(0, importCache.getEvictions());
+    }
+
+    @Test
+    public void testEachImportFileIsLoadedOncePerParse() throws JToscaException {
+        String path = new File(ImportCacheTest.class.getClassLoader()
+                .getResource("csars/service-JennyVtsbcKarunaSvc-csar.csar").getFile()).getAbsolutePath();
+        ImportCache importCache = new ImportCache(64 * 1024 * 1024);
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setImportCache(importCache);
+        ToscaTemplate toscaTemplate = new ToscaTemplate(path, null, true, null, true, parseOptions);
+
+        // the CSAR check, the main and the nested templates import the same files
+        int loadedImports = toscaTemplate.getParseContext().getLoadedImports().size();
+        assertTrue(loadedImports > 0);
+        assertEquals(loadedImports, importCache.getHits() + importCache.getMisses());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHitsAreCopiesAndLeastRecentlyUsedAreEvicted() throws IOException {
+        ImportCache importCache = new ImportCache(40);
+        Map<String, Object> first = (Map<String, Object>) importCache.load(_stream("a: [1, 2]\n"));
+        ((List<Object>) first.get("a")).add(3);
+        Map<String, Object> second = (Map<String, Object>) importCache.load(_stream("a: [1, 2]\n"));
+
+        assertNotSame(first, second);
+        assertEquals(2, ((List<Object>) second.get("a")).size());
+        assertEquals(1, importCache.getHits());
+
+        importCache.load(_stream("b: 0123456789012345678901\n"));
+        importCache.load(_stream("c: 0123456789012345678901\n"));
+        assertEquals(2, importCache.getEvictions());
+        assertEquals(1, importCache.getSize());
+        assertTrue(importCache.getBytes() <= importCache.getMaxBytes());
+    }
+
+    private static ByteArrayInputStream _stream(String yaml) {
+        return new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> _sorted(List<String> issues) {
+        List<String> sorted = new ArrayList<>(issues);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static List<String> _names(ToscaTemplate toscaTemplate) {
+        List<String> names = new ArrayList<>();
+        for (NodeTemplate nodeTemplate : toscaTemplate.getNodeTemplates()) {
+            names.add(nodeTemplate.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,256 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+import org.onap.sdc.toscaparser.api.prereq.ResourceResolver;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ImportResolverTest {
+
+    @Test
+    public void testImportsAreResolvedRelativeToTheImportingFile() throws IOException, JToscaException {
+        File dir = Files.createTempDirectory("imports").toFile();
+        try {
+            File main = _write(dir, "Definitions/main.yaml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "imports:\n"
+                            + "- types:\n"
+                            + "    file: common/types.yml\n"
+                            + "- nodes:\n"
+                            + "    file: nodes.yml\n"
+                            + "topology_template:\n"
+                            + "  node_templates:\n"
+                            + "    server:\n"
+                            + "      type: my.nodes.Server\n");
+            _write(dir, "Definitions/nodes.yml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "imports:\n"
+                            + "- common:\n"
+                            + "    file: ../Definitions/common/types.yml\n"
+                            + "node_types:\n"
+                            + "  my.nodes.Server:\n"
+                            + "    derived_from: my.nodes.Base\n");
+            _write(dir, "Definitions/common/types.yml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "node_types:\n"
+                            + "  my.nodes.Base:\n"
+                            + "    derived_from: tosca.nodes.Root\n");
+
+            ToscaTemplate toscaTemplate = new ToscaTemplate(main.getAbsolutePath(), null, true, null);
+
+            assertEquals(toscaTemplate.getParseContext().getCollector().getValidationIssueReport().toString(),
+                    0, toscaTemplate.getParseContext().getCollector().validationIssuesCaught());
+            assertEquals("my.nodes.Server", toscaTemplate.getNodeTemplates().get(0).getType());
+            assertTrue(toscaTemplate.getNodeTemplates().get(0).isDerivedFrom("my.nodes.Base"));
+            // three imports of two files
+            assertEquals(2, toscaTemplate.getParseContext().getLoadedImports().size());
+        } finally {
+            _delete(dir);
+        }
+    }
+
+    @Test
+    public void testFilesOverrideTheirImportsAndTheFilesDeclaredBefore() throws IOException, JToscaException {
+        File dir = Files.createTempDirectory("imports").toFile();
+        try {
+            File main = _write(dir, "Definitions/main.yaml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "imports:\n"
+                            + "- first:\n"
+                            + "    file: sub/first.yml\n"
+                            + "- second:\n"
+                            + "    file: second.yml\n"
+                            + "topology_template:\n"
+                            + "  node_templates:\n"
+                            + "    server:\n"
+                            + "      type: my.nodes.Server\n");
+            _write(dir, "Definitions/sub/first.yml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "node_types:\n"
+                            + "  my.nodes.Server:\n"
+                            + "    derived_from: tosca.nodes.Compute\n");
+            _write(dir, "Definitions/second.yml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "imports:\n"
+                            + "- base:\n"
+                            + "    file: base.yml\n"
+                            + "node_types:\n"
+                            + "  my.nodes.Server:\n"
+                            + "    derived_from: my.nodes.Base\n"
+                            + "  my.nodes.Base:\n"
+                            + "    derived_from: tosca.nodes.Root\n");
+            _write(dir, "Definitions/base.yml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "node_types:\n"
+                            + "  my.nodes.Base:\n"
+                            + "    derived_from: tosca.nodes.Compute\n");
+
+            ToscaTemplate toscaTemplate = new ToscaTemplate(main.getAbsolutePath(), null, true, null);
+
+            NodeTemplate server = toscaTemplate.getNodeTemplates().get(0);
+            assertTrue(server.isDerivedFrom("my.nodes.Base"));
+            assertFalse(server.isDerivedFrom("tosca.nodes.Compute"));
+        } finally {
+            _delete(dir);
+        }
+    }
+
+    @Test
+    public void testImportCyclesAreReported() throws IOException, JToscaException {
+        File dir = Files.createTempDirectory("imports").toFile();
+        try {
+            File main = _write(dir, "Definitions/main.yaml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "imports:\n"
+                            + "- nodes:\n"
+                            + "    file: nodes.yml\n"
+                            + "- types:\n"
+                            + "    file: common/types.yml\n"
+                            + "topology_template:\n"
+                            + "  node_templates:\n"
+                            + "    server:\n"
+                            + "      type: my.nodes.Server\n");
+            // nodes.yml and common/types.yml import each other
+            _write(dir, "Definitions/nodes.yml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "imports:\n"
+                            + "- common:\n"
+                            + "    file: common/types.yml\n"
+                            + "node_types:\n"
+                            + "  my.nodes.Server:\n"
+                            + "    derived_from: my.nodes.Base\n");
+            _write(dir, "Definitions/common/types.yml",
+                    "tosca_definitions_version: tosca_simple_yaml_1_0_0\n"
+                            + "imports:\n"
+                            + "- nodes:\n"
+                            + "    file: ../nodes.yml\n"
+                            + "node_types:\n"
+                            + "  my.nodes.Base:\n"
+                            + "    derived_from: tosca.nodes.Root\n");
+
+            ToscaTemplate toscaTemplate = new ToscaTemplate(main.getAbsolutePath(), null, true, null);
+
+            assertEquals(Arrays.asList(
+                    "[JE283]: ImportError: Import cycle \"nodes.yml -> common/types.yml -> nodes.yml\""),
+                    toscaTemplate.getParseContext().getCollector().getValidationIssueReport());
+            assertTrue(toscaTemplate.getNodeTemplates().get(0).isDerivedFrom("my.nodes.Base"));
+        } finally {
+            _delete(dir);
+        }
+    }
+
+    @Test
+    public void testParallelLoadingBuildsTheSameModel() throws JToscaException {
+        String path = new File(ImportResolverTest.class.getClassLoader()
+                .getResource("csars/service-AdiodVmxVpeBvService-csar.csar").getFile()).getAbsolutePath();
+        ToscaTemplate sequential = new ToscaTemplate(path, null, true, null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParseOptions parseOptions = new ParseOptions();
+            parseOptions.setImportExecutor(executor);
+            ToscaTemplate parallel = new ToscaTemplate(path, null, true, null, true, parseOptions);
+
+            assertEquals(_describe(sequential), _describe(parallel));
+            assertEquals(_sorted(sequential.getParseContext().getCollector().getValidationIssueReport()),
+                    _sorted(parallel.getParseContext().getCollector().getValidationIssueReport()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFileNamesAreProbedOncePerParse() {
+        AtomicInteger probes = new AtomicInteger();
+        ResourceResolver resolver = new ResourceResolver() {
+            @Override
+            public boolean isFile(String name) {
+                probes.incrementAndGet();
+                return name.endsWith(".yml");
+            }
+
+            @Override
+            public InputStream open(String name) throws IOException {
+                throw new FileNotFoundException(name);
+            }
+        };
+        new ParseContext().run(() -> {
+            ImportPaths importPaths = ImportPaths.current();
+            assertTrue(importPaths.isFile(resolver, "/csar/Definitions/nodes.yml"));
+            assertTrue(importPaths.isFile(resolver, "/csar/Definitions/nodes.yml"));
+            assertFalse(importPaths.isFile(resolver, "/csar/Definitions/nodes.yaml"));
+            assertFalse(importPaths.isFile(resolver, "/csar/Definitions/nodes.yaml"));
+        });
+        assertEquals(2, probes.get());
+    }
+
+    private static File _write(File dir, String name, String content) throws IOException {
+        File file = new File(dir, name);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void _delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                _delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static List<String> _sorted(List<String> issues) {
+        List<String> sorted = new ArrayList<>(issues);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static List<String> _describe(ToscaTemplate toscaTemplate) {
+        List<String> nodes = new ArrayList<>();
+        for (NodeTemplate nodeTemplate : toscaTemplate.getNodeTemplates()) {
+            nodes.add(nodeTemplate.getName() + ":" + nodeTemplate.getType() + ":" + nodeTemplate.getProperties().keySet());
+            if (nodeTemplate.getSubMappingToscaTemplate() != null) {
+                for (NodeTemplate nested : nodeTemplate.getSubMappingToscaTemplate().getNodeTemplates()) {
+                    nodes.add("  " + nested.getName() + ":" + nested.getType() + ":" + nested.getProperties().keySet());
+                }
+            }
+        }
+        return nodes;
+    }
+}
@@ -23,6 +23,7 @@ import org.junit.Test;
 import org.onap.sdc.toscaparser.api.common.JToscaException;
 import org.onap.sdc.toscaparser.api.elements.DataType;
 import org.onap.sdc.toscaparser.api.elements.PropertyDef;
+import org.onap.sdc.toscaparser.api.elements.RelationshipType;
 import org.onap.sdc.toscaparser.api.elements.constraints.Schema;
 import org.onap.sdc.toscaparser.api.parameters.Annotation;
 import org.onap.sdc.toscaparser.api.parameters.Input;
@@ -115,6 +116,101 @@ public class JToscaImportTest {
         assertTrue(inputs.stream().filter(i -> i.getAnnotations() != null).collect(Collectors.toList()).isEmpty());
     }
 
+    @Test
+    public void testFilterByDerivedType() throws JToscaException {
+
+        String fileStr = JToscaImportTest.class.getClassLoader().getResource("csars/service-AdiodVmxVpeBvService-csar.csar").getFile();
+        File file = new File(fileStr);
+        ToscaTemplate toscaTemplate = new ToscaTemplate(file.getAbsolutePath(), null, true, null);
+        List<NodeTemplate> nodeTemplates = toscaTemplate.getNodeTemplates();
+
+        NodeTemplate vf = nodeTemplates.get(0);
+        assertTrue(vf.isDerivedFrom("org.openecomp.resource.abstract.nodes.VF"));
+        assertTrue(vf.isDerivedFrom(new String("tosca.nodes.Root")));
+        assertFalse(vf.isDerivedFrom("tosca.nodes.Compute"));
+
+        assertEquals(nodeTemplates, NodeTemplate.filterByDerivedType(nodeTemplates, "tosca.nodes.Root"));
+        assertEquals(Collections.singletonList(vf),
+                NodeTemplate.filterByDerivedType(nodeTemplates, "org.openecomp.resource.abstract.nodes.VF"));
+        assertTrue(NodeTemplate.filterByDerivedType(nodeTemplates, "tosca.nodes.Compute").isEmpty());
+    }
+
+    @Test
+    public void testGetTemplatesByName() throws JToscaException {
+
+        String fileStr = JToscaImportTest.class.getClassLoader().getResource("csars/service-AdiodVmxVpeBvService-csar.csar").getFile();
+        File file = new File(fileStr);
+        ToscaTemplate toscaTemplate = new ToscaTemplate(file.getAbsolutePath(), null, true, null);
+        TopologyTemplate topologyTemplate = toscaTemplate.getTopologyTemplate();
+
+        for (NodeTemplate nodeTemplate : topologyTemplate.getNodeTemplates()) {
+            assertSame(nodeTemplate, topologyTemplate.getNodeTemplate(nodeTemplate.getName()));
+            assertSame(nodeTemplate, toscaTemplate.getNodeTemplate(nodeTemplate.getName()));
+        }
+        for (Group group : topologyTemplate.getGroups()) {
+            assertSame(group, topologyTemplate.getGroup(group.getName()));
+        }
+        for (Policy policy : topologyTemplate.getPolicies()) {
+            assertSame(policy, topologyTemplate.getPolicy(policy.getName()));
+        }
+        assertNull(topologyTemplate.getNodeTemplate("no_such_node"));
+        assertNull(topologyTemplate.getGroup("no_such_group"));
+        assertNull(topologyTemplate.getPolicy("no_such_policy"));
+    }
+
+    @Test
+    public void testRelationshipsLinkToTopologyNodeTemplates() throws JToscaException {
+
+        String fileStr = JToscaImportTest.class.getClassLoader().getResource("csars/sdc-onboarding_csar.csar").getFile();
+        File file = new File(fileStr);
+        ToscaTemplate toscaTemplate = new ToscaTemplate(file.getAbsolutePath(), null, true, null);
+
+        assertTrue(_assertRelationshipTargets(toscaTemplate.getTopologyTemplate()) > 0);
+    }
+
+    @Test
+    public void testRelatedNodeTemplatesListTheRelationshipTemplatesOfTheRequirements() throws JToscaException {
+
+        String fileStr = JToscaImportTest.class.getClassLoader().getResource("csars/sdc-onboarding_csar.csar").getFile();
+        File file = new File(fileStr);
+        ToscaTemplate toscaTemplate = new ToscaTemplate(file.getAbsolutePath(), null, true, null);
+
+        List<String> relationshipTemplates = new ArrayList<>();
+        for (NodeTemplate nodeTemplate : toscaTemplate.getNodeTemplates()) {
+            for (NodeTemplate related : nodeTemplate.getRelationships().values()) {
+                for (RelationshipTemplate relationshipTemplate : related.getRelationshipTemplate()) {
+                    relationshipTemplates.add(relationshipTemplate.getType() + " "
+                            + relationshipTemplate.getSource().getName() + " " + relationshipTemplate.getTarget().getName());
+                }
+            }
+        }
+        // as listed by the copies of the related node templates the relationships used to link to
+        assertEquals(Arrays.asList(
+                "tosca.relationships.AttachesTo server_pcrf_pcm_001 pcrf_pcm_volume_id_1",
+                "tosca.relationships.AttachesTo server_pcrf_oam_001 pcrf_oam_volume_id_1",
+                "tosca.relationships.AttachesTo server_pcrf_oam_002 pcrf_oam_volume_id_2"), relationshipTemplates);
+    }
+
+    private int _assertRelationshipTargets(TopologyTemplate topologyTemplate) {
+        int relationships = 0;
+        for (NodeTemplate nodeTemplate : topologyTemplate.getNodeTemplates()) {
+            for (Map.Entry<RelationshipType, NodeTemplate> relationship : nodeTemplate.getRelationships().entrySet()) {
+                NodeTemplate target = relationship.getValue();
+                assertSame(topologyTemplate.getNodeTemplate(target.getName()), target);
+                for (RelationshipTemplate relationshipTemplate
+                        : nodeTemplate.getRequirementRelationshipTemplates(relationship.getKey())) {
+                    assertSame(nodeTemplate, relationshipTemplate.getSource());
+                    assertSame(target, relationshipTemplate.getTarget());
+                }
+                relationships++;
+            }
+            if (nodeTemplate.getOriginComponentTemplate() != null) {
+                relationships += _assertRelationshipTargets(nodeTemplate.getOriginComponentTemplate());
+            }
+        }
+        return relationships;
+    }
+
     @Test
     public void testGetPropertyNameTest() throws JToscaException {
 
@@ -306,4 +402,27 @@ public class JToscaImportTest {
             }
         }
     }
+
+    @Test
+    public void testInMemoryCsarMatchesExtractedCsar() throws JToscaException {
+        String fileStr = JToscaImportTest.class.getClassLoader().getResource("csars/service-JennyVtsbcKarunaSvc-csar.csar")
+                .getFile();
+        File file = new File(fileStr);
+        ToscaTemplate extracted = new ToscaTemplate(file.getAbsolutePath(), null, true, null);
+        List<String> extractedIssues = new ArrayList<>(ThreadLocalsHolder.getCollector().getValidationIssueReport());
+
+        ParseOptions options = new ParseOptions();
+        options.setInMemoryCsar(true);
+        ToscaTemplate inMemory = new ToscaTemplate(file.getAbsolutePath(), null, true, null, true, options);
+        List<String> inMemoryIssues = new ArrayList<>(ThreadLocalsHolder.getCollector().getValidationIssueReport());
+
+        assertTrue(inMemory.getPath().startsWith(file.getAbsolutePath() + "!/Definitions/"));
+        assertEquals(extracted.getNodeTemplates().size(), inMemory.getNodeTemplates().size());
+        assertEquals(extracted.getNestedTemplates().size(), inMemory.getNestedTemplates().size());
+        assertEquals(extracted.getTopologyTemplate().getCustomDefs().keySet(),
+                inMemory.getTopologyTemplate().getCustomDefs().keySet());
+        Collections.sort(extractedIssues);
+        Collections.sort(inMemoryIssues);
+        assertEquals(extractedIssues, inMemoryIssues);
+    }
 }
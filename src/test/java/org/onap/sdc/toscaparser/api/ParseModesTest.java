@@ -0,0 +1,271 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+import org.onap.sdc.toscaparser.api.common.JToscaValidationIssue;
+import org.onap.sdc.toscaparser.api.common.ParseAbortedException;
+import org.onap.sdc.toscaparser.api.common.ValidationIssueCollector;
+import org.onap.sdc.toscaparser.api.utils.JToscaErrorCodes;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParseModesTest {
+
+    private static final String CSAR_WITH_ISSUES = "csars/service-JennyVtsbcKarunaSvc-csar.csar";
+
+    @Test
+    public void testFailFastAbortsAtFirstIssue() {
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setFailFastCodes();
+
+        _assertAborted(_parse(CSAR_WITH_ISSUES, parseOptions));
+        assertEquals(1, ThreadLocalsHolder.getCollector().validationIssuesCaught());
+    }
+
+    @Test
+    public void testFailFastAbortsAtFirstIssueWithCode() {
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setFailFastCodes("JE006");
+
+        _assertAborted(_parse(CSAR_WITH_ISSUES, parseOptions));
+        ValidationIssueCollector collector = ThreadLocalsHolder.getCollector();
+        assertEquals("JE006", collector.getAbortIssue().getCode());
+        assertEquals(1, collector.getIssueCount("JE006"));
+    }
+
+    @Test
+    public void testBudgetAbortsAfterIssues() {
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setIssueBudget(5);
+
+        _assertAborted(_parse(CSAR_WITH_ISSUES, parseOptions));
+        assertEquals(5, ThreadLocalsHolder.getCollector().validationIssuesCaught());
+    }
+
+    @Test
+    public void testFailFastEndsParallelTasksAtOnce() {
+        ParseContext parseContext = new ParseContext();
+        parseContext.getCollector().setFailFast(issue -> "JE900".equals(issue.getCode()));
+        List<CountDownLatch> ended = _latches(3);
+        CountDownLatch thirdStarted = new CountDownLatch(1);
+        AtomicBoolean thirdCancelled = new AtomicBoolean();
+        List<Supplier<Object>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            // ends the parse once the later tasks have
+            _await(ended.get(2));
+            _report(new JToscaValidationIssue("JE900", "first"));
+            return null;
+        });
+        tasks.add(() -> {
+            _await(thirdStarted);
+            _report(new JToscaValidationIssue("JE900", "second"));
+            return null;
+        });
+        tasks.add(() -> {
+            thirdStarted.countDown();
+            _await(ended.get(1));
+            try {
+                _report(new JToscaValidationIssue("JE100", "third"));
+            } catch (ParseAbortedException e) {
+                thirdCancelled.set(true);
+                throw e;
+            }
+            return null;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            parseContext.invokeAll(tasks, _signalEnds(executor, ended));
+            fail("the parse was not aborted");
+        } catch (ParseAbortedException e) {
+            // the issue the tasks run one after the other end the parse on
+            assertEquals("first", e.getIssue().getMessage());
+            assertEquals("first", parseContext.getCollector().getAbortIssue().getMessage());
+        } finally {
+            executor.shutdown();
+        }
+        // the third task was cancelled by the second, its issue is not collected
+        assertTrue(thirdCancelled.get());
+        assertEquals(1, parseContext.getCollector().validationIssuesCaught());
+    }
+
+    @Test
+    public void testBudgetEndsParallelTasksAtOnce() {
+        ParseContext parseContext = new ParseContext();
+        parseContext.getCollector().setIssueBudget(3);
+        parseContext.getCollector().appendValidationIssue(new JToscaValidationIssue("JE100", "issue %d", 0));
+        List<CountDownLatch> ended = _latches(2);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        AtomicBoolean secondCancelled = new AtomicBoolean();
+        List<Supplier<Object>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            _await(secondStarted);
+            // repeats the issue of the parse, then spends the budget
+            for (int i = 0; i < 3; i++) {
+                _report(new JToscaValidationIssue("JE100", "issue %d", i));
+            }
+            return null;
+        });
+        tasks.add(() -> {
+            secondStarted.countDown();
+            _await(ended.get(0));
+            try {
+                _report(new JToscaValidationIssue("JE100", "second"));
+            } catch (ParseAbortedException e) {
+                secondCancelled.set(true);
+                throw e;
+            }
+            return null;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            parseContext.invokeAll(tasks, _signalEnds(executor, ended));
+            fail("the parse was not aborted");
+        } catch (ParseAbortedException e) {
+            assertEquals("issue 2", e.getIssue().getMessage());
+            assertEquals(3, parseContext.getCollector().validationIssuesCaught());
+        } finally {
+            executor.shutdown();
+        }
+        _await(ended.get(1));
+        assertTrue(secondCancelled.get());
+    }
+
+    @Test
+    public void testSkipValidationBuildsTheSameTemplates() throws JToscaException {
+        ToscaTemplate validated = _parse(CSAR_WITH_ISSUES, null);
+        int validatedIssues = validated.getParseContext().getCollector().validationIssuesCaught();
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setSkipValidation(true);
+        ToscaTemplate unvalidated = _parse(CSAR_WITH_ISSUES, parseOptions);
+
+        assertEquals(_names(validated.getNodeTemplates()), _names(unvalidated.getNodeTemplates()));
+        assertTrue(unvalidated.getParseContext().getCollector().validationIssuesCaught() < validatedIssues);
+    }
+
+    @Test
+    public void testSkipValidationSkipsTheSubstitutionMappingChecks() {
+        String csar = "csars/listed_input.csar";
+        assertTrue(_parse(csar, null).getParseContext().getCollector().getIssueCount("JE237") > 0);
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setSkipValidation(true);
+
+        ValidationIssueCollector collector = _parse(csar, parseOptions).getParseContext().getCollector();
+        assertEquals(0, collector.getIssueCount("JE236"));
+        assertEquals(0, collector.getIssueCount("JE237"));
+    }
+
+    @Test
+    public void testTrustedParseBuildsTheSameModel() throws JToscaException {
+        ToscaTemplate validated = _parse(CSAR_WITH_ISSUES, null);
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setTrusted(true);
+        ToscaTemplate trusted = _parse(CSAR_WITH_ISSUES, parseOptions);
+
+        assertEquals(_names(validated.getNodeTemplates()), _names(trusted.getNodeTemplates()));
+        for (int i = 0; i < validated.getNodeTemplates().size(); i++) {
+            NodeTemplate nodeTemplate = validated.getNodeTemplates().get(i);
+            assertEquals(nodeTemplate.getName(), nodeTemplate.getSubMappingToscaTemplate() != null,
+                    trusted.getNodeTemplates().get(i).getSubMappingToscaTemplate() != null);
+        }
+        assertEquals(validated.getGroups().size(), trusted.getGroups().size());
+        assertEquals(validated.getPolicies().size(), trusted.getPolicies().size());
+        assertTrue(trusted.getParseContext().getCollector().validationIssuesCaught()
+                < validated.getParseContext().getCollector().validationIssuesCaught());
+    }
+
+    private static ToscaTemplate _parse(String csar, ParseOptions parseOptions) {
+        String fileStr = ParseModesTest.class.getClassLoader().getResource(csar).getFile();
+        try {
+            return new ToscaTemplate(new File(fileStr).getAbsolutePath(), null, true, null, true, parseOptions);
+        } catch (JToscaException e) {
+            assertEquals(JToscaErrorCodes.PARSE_ABORTED.getValue(), e.getCode());
+            return null;
+        }
+    }
+
+    private static void _assertAborted(ToscaTemplate toscaTemplate) {
+        if (toscaTemplate != null) {
+            fail("the parse was not aborted");
+        }
+    }
+
+    private static void _report(JToscaValidationIssue issue) {
+        ThreadLocalsHolder.getCollector().appendValidationIssue(issue);
+    }
+
+    private static List<CountDownLatch> _latches(int count) {
+        List<CountDownLatch> latches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            latches.add(new CountDownLatch(1));
+        }
+        return latches;
+    }
+
+    /**
+     * @return an executor that counts down the latch of each task submitted,
+     * in the order they are submitted, once the task has run
+     */
+    private static Executor _signalEnds(Executor executor, List<CountDownLatch> ended) {
+        AtomicInteger submitted = new AtomicInteger();
+        return task -> {
+            CountDownLatch end = ended.get(submitted.getAndIncrement());
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    end.countDown();
+                }
+            });
+        };
+    }
+
+    private static void _await(CountDownLatch latch) {
+        try {
+            // bounds a broken test only, the tasks are ordered by the latches
+            assertTrue(latch.await(1, TimeUnit.MINUTES));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> _names(List<NodeTemplate> nodeTemplates) {
+        List<String> names = new ArrayList<>();
+        for (NodeTemplate nodeTemplate : nodeTemplates) {
+            names.add(nodeTemplate.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,416 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates valid service templates and CSARs of any size, to measure how the
+ * parse scales with the topology.
+ * <p>
+ * The service template has {@code nodeTemplates} node templates of one node
+ * type. Each has {@code requirementsPerNode} requirements on the next ones, a
+ * property of a data type nested {@code dataTypeDepth} levels deep and, for
+ * {@code functionsPercent} of them, a {@code get_input} and a
+ * {@code get_property} on another node template. The node templates are
+ * spread over {@code groups} groups and targeted by {@code policies} policies.
+ * With a {@code nestingDepth} above 0 the service template also has a node
+ * template substituted by a nested template, which has
+ * {@code nestedNodeTemplates} node templates and, down to the nesting depth,
+ * a node template substituted by the next nested template.
+ * <p>
+ * The same settings always generate the same files.
+ */
+public class TopologyGenerator {
+
+    public static final String MAIN_TEMPLATE = "Definitions/service-template.yml";
+
+    private static final String TYPES_FILE = "types.yml";
+    private static final String PREFIX = "org.onap.synthetic.";
+    private static final String NODE_TYPE = PREFIX + "nodes.Node";
+    private static final String NESTED_NODE_TYPE = PREFIX + "nodes.Nested";
+    private static final String CAPABILITY_TYPE = PREFIX + "capabilities.Link";
+    private static final String DATA_TYPE = PREFIX + "datatypes.Level";
+    private static final String GROUP_TYPE = PREFIX + "groups.Members";
+    private static final String POLICY_TYPE = PREFIX + "policies.Placement";
+
+    private int nodeTemplates = 10;
+    private int requirementsPerNode = 1;
+    private int nestingDepth = 0;
+    private int nestedNodeTemplates = 10;
+    private int dataTypeDepth = 1;
+    private int functionsPercent = 50;
+    private int groups = 1;
+    private int policies = 1;
+
+    public TopologyGenerator setNodeTemplates(int nodeTemplates) {
+        this.nodeTemplates = _atLeast(1, nodeTemplates, "nodeTemplates");
+        return this;
+    }
+
+    public TopologyGenerator setRequirementsPerNode(int requirementsPerNode) {
+        this.requirementsPerNode = _atLeast(0, requirementsPerNode, "requirementsPerNode");
+        return this;
+    }
+
+    /**
+     * @param nestingDepth the number of nested templates, each substituting a
+     *                     node template of the one above it
+     * @return this generator
+     */
+    public TopologyGenerator setNestingDepth(int nestingDepth) {
+        this.nestingDepth = _atLeast(0, nestingDepth, "nestingDepth");
+        return this;
+    }
+
+    public TopologyGenerator setNestedNodeTemplates(int nestedNodeTemplates) {
+        this.nestedNodeTemplates = _atLeast(1, nestedNodeTemplates, "nestedNodeTemplates");
+        return this;
+    }
+
+    /**
+     * @param dataTypeDepth the number of nested data types of the complex
+     *                      property of the node templates, 0 for none
+     * @return this generator
+     */
+    public TopologyGenerator setDataTypeDepth(int dataTypeDepth) {
+        this.dataTypeDepth = _atLeast(0, dataTypeDepth, "dataTypeDepth");
+        return this;
+    }
+
+    /**
+     * @param functionsPercent the share of the node templates whose properties
+     *                         are intrinsic functions, from 0 to 100
+     * @return this generator
+     */
+    public TopologyGenerator setFunctionsPercent(int functionsPercent) {
+        if (functionsPercent < 0 || functionsPercent > 100) {
+            throw new IllegalArgumentException("functionsPercent must be between 0 and 100: " + functionsPercent);
+        }
+        this.functionsPercent = functionsPercent;
+        return this;
+    }
+
+    public TopologyGenerator setGroups(int groups) {
+        this.groups = _atLeast(0, groups, "groups");
+        return this;
+    }
+
+    public TopologyGenerator setPolicies(int policies) {
+        this.policies = _atLeast(0, policies, "policies");
+        return this;
+    }
+
+    /**
+     * @return the node templates of all the templates, the substituted ones included
+     */
+    public int getTotalNodeTemplates() {
+        return nodeTemplates + (nestingDepth > 0 ? 1 : 0) + nestingDepth * nestedNodeTemplates
+                + Math.max(0, nestingDepth - 1);
+    }
+
+    /**
+     * Generates the files of the CSAR.
+     *
+     * @return the content of each file by its path in the CSAR, the TOSCA.meta first
+     */
+    public Map<String, String> generate() {
+        Yaml yaml = _yaml();
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("TOSCA-Metadata/TOSCA.meta", "TOSCA-Meta-File-Version: 1.0\n"
+                + "CSAR-Version: 1.1\n"
+                + "Created-By: TopologyGenerator\n"
+                + "Entry-Definitions: " + MAIN_TEMPLATE + "\n");
+        files.put(MAIN_TEMPLATE, yaml.dump(_serviceTemplate()));
+        files.put("Definitions/" + TYPES_FILE, yaml.dump(_types()));
+        for (int level = 1; level <= nestingDepth; level++) {
+            files.put("Definitions/" + _nestedFile(level), yaml.dump(_nestedTemplate(level)));
+        }
+        return files;
+    }
+
+    /**
+     * Writes the generated files to a CSAR.
+     *
+     * @param csar the CSAR file, replaced if it exists
+     * @return the CSAR file
+     * @throws IOException if the file cannot be written
+     */
+    public File writeCsar(File csar) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(csar))) {
+            for (Map.Entry<String, String> file : generate().entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return csar;
+    }
+
+    /**
+     * Writes the generated files to a directory, as they would be extracted
+     * from the CSAR.
+     *
+     * @param dir the directory
+     * @return the main template
+     * @throws IOException if a file cannot be written
+     */
+    public File writeFiles(File dir) throws IOException {
+        for (Map.Entry<String, String> file : generate().entrySet()) {
+            File target = new File(dir, file.getKey());
+            if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
+                throw new IOException("Cannot create " + target.getParentFile());
+            }
+            try (OutputStream out = new FileOutputStream(target)) {
+                out.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return new File(dir, MAIN_TEMPLATE);
+    }
+
+    @Override
+    public String toString() {
+        return "TopologyGenerator{" +
+                "nodeTemplates=" + nodeTemplates +
+                ", requirementsPerNode=" + requirementsPerNode +
+                ", nestingDepth=" + nestingDepth +
+                ", nestedNodeTemplates=" + nestedNodeTemplates +
+                ", dataTypeDepth=" + dataTypeDepth +
+                ", functionsPercent=" + functionsPercent +
+                ", groups=" + groups +
+                ", policies=" + policies +
+                '}';
+    }
+
+    private LinkedHashMap<String, Object> _serviceTemplate() {
+        LinkedHashMap<String, Object> topology = new LinkedHashMap<>();
+        LinkedHashMap<String, Object> inputs = new LinkedHashMap<>();
+        for (int i = 0; i < _inputs(nodeTemplates); i++) {
+            inputs.put("name_" + i, _map("type", "string", "default", "value_" + i));
+        }
+        topology.put("inputs", inputs);
+
+        LinkedHashMap<String, Object> nodes = _nodeTemplates("node_", nodeTemplates);
+        if (nestingDepth > 0) {
+            nodes.put("nested_1", _map("type", NESTED_NODE_TYPE + 1));
+        }
+        topology.put("node_templates", nodes);
+
+        if (groups > 0) {
+            LinkedHashMap<String, Object> groupTemplates = new LinkedHashMap<>();
+            for (int g = 0; g < groups; g++) {
+                groupTemplates.put("group_" + g, _map("type", GROUP_TYPE, "members", _spread("node_", g, groups)));
+            }
+            topology.put("groups", groupTemplates);
+        }
+        if (policies > 0) {
+            LinkedHashMap<String, Object> policyTemplates = new LinkedHashMap<>();
+            for (int p = 0; p < policies; p++) {
+                policyTemplates.put("policy_" + p, _map("type", POLICY_TYPE, "targets", _spread("node_", p, policies)));
+            }
+            topology.put("policies", policyTemplates);
+        }
+        return _template("Service", nestingDepth > 0 ? _nestedFile(1) : null, topology);
+    }
+
+    private LinkedHashMap<String, Object> _nestedTemplate(int level) {
+        LinkedHashMap<String, Object> topology = new LinkedHashMap<>();
+        LinkedHashMap<String, Object> inputs = new LinkedHashMap<>();
+        for (int i = 0; i < _inputs(nestedNodeTemplates); i++) {
+            inputs.put("name_" + i, _map("type", "string", "default", "nested_" + level + "_" + i));
+        }
+        topology.put("inputs", inputs);
+
+        String prefix = "level_" + level + "_node_";
+        LinkedHashMap<String, Object> nodes = _nodeTemplates(prefix, nestedNodeTemplates);
+        if (level < nestingDepth) {
+            nodes.put("nested_" + (level + 1), _map("type", NESTED_NODE_TYPE + (level + 1)));
+        }
+        topology.put("node_templates", nodes);
+        topology.put("substitution_mappings", _map("node_type", NESTED_NODE_TYPE + level));
+        return _template("VF", level < nestingDepth ? _nestedFile(level + 1) : null, topology);
+    }
+
+    private static LinkedHashMap<String, Object> _template(String type, String nestedFile, Map<String, Object> topology) {
+        LinkedHashMap<String, Object> template = new LinkedHashMap<>();
+        template.put("tosca_definitions_version", "tosca_simple_yaml_1_1");
+        template.put("metadata", _map("name", "synthetic " + type, "type", type));
+        List<Object> imports = new ArrayList<>();
+        imports.add(_map("types", _map("file", TYPES_FILE)));
+        if (nestedFile != null) {
+            imports.add(_map(nestedFile.replace(".yml", ""), _map("file", nestedFile)));
+        }
+        template.put("imports", imports);
+        template.put("topology_template", topology);
+        return template;
+    }
+
+    private LinkedHashMap<String, Object> _nodeTemplates(String prefix, int count) {
+        int inputs = _inputs(count);
+        LinkedHashMap<String, Object> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+            if (_hasFunctions(i)) {
+                properties.put("name", _map("get_input", "name_" + (i % inputs)));
+                properties.put("size", _map("get_property", Arrays.asList(prefix + ((i + 1) % count), "weight")));
+            } else {
+                properties.put("name", prefix + i);
+                properties.put("size", i);
+            }
+            properties.put("weight", i % 100);
+            if (dataTypeDepth > 0) {
+                properties.put("config", _dataValue(0, i));
+            }
+
+            LinkedHashMap<String, Object> node = new LinkedHashMap<>();
+            node.put("type", NODE_TYPE);
+            node.put("properties", properties);
+            if (requirementsPerNode > 0 && count > 1) {
+                List<Object> requirements = new ArrayList<>();
+                for (int r = 1; r <= requirementsPerNode; r++) {
+                    requirements.add(_map("link", prefix + ((i + r) % count)));
+                }
+                node.put("requirements", requirements);
+            }
+            nodes.put(prefix + i, node);
+        }
+        return nodes;
+    }
+
+    private boolean _hasFunctions(int i) {
+        // spread evenly, i * percent / 100 grows by one at each node with functions
+        return (i + 1) * functionsPercent / 100 > i * functionsPercent / 100;
+    }
+
+    private LinkedHashMap<String, Object> _dataValue(int level, int i) {
+        LinkedHashMap<String, Object> value = new LinkedHashMap<>();
+        value.put("label", "level_" + level + "_" + i);
+        value.put("count", level + i);
+        value.put("tags", Arrays.asList("a", "b"));
+        if (level + 1 < dataTypeDepth) {
+            value.put("nested", _dataValue(level + 1, i));
+        }
+        return value;
+    }
+
+    private LinkedHashMap<String, Object> _types() {
+        LinkedHashMap<String, Object> types = new LinkedHashMap<>();
+        types.put("tosca_definitions_version", "tosca_simple_yaml_1_1");
+
+        LinkedHashMap<String, Object> dataTypes = new LinkedHashMap<>();
+        for (int level = 0; level < dataTypeDepth; level++) {
+            LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+            properties.put("label", _map("type", "string"));
+            properties.put("count", _map("type", "integer",
+                    "constraints", Collections.singletonList(_map("greater_or_equal", 0))));
+            properties.put("tags", _map("type", "list", "entry_schema", _map("type", "string")));
+            if (level + 1 < dataTypeDepth) {
+                properties.put("nested", _map("type", DATA_TYPE + (level + 1)));
+            }
+            dataTypes.put(DATA_TYPE + level, _map("derived_from", "tosca.datatypes.Root", "properties", properties));
+        }
+        if (!dataTypes.isEmpty()) {
+            types.put("data_types", dataTypes);
+        }
+
+        types.put("capability_types", _map(CAPABILITY_TYPE, _map("derived_from", "tosca.capabilities.Node")));
+
+        LinkedHashMap<String, Object> nodeProperties = new LinkedHashMap<>();
+        nodeProperties.put("name", _map("type", "string"));
+        nodeProperties.put("size", _map("type", "integer"));
+        nodeProperties.put("weight", _map("type", "integer"));
+        if (dataTypeDepth > 0) {
+            nodeProperties.put("config", _map("type", DATA_TYPE + 0));
+        }
+        LinkedHashMap<String, Object> nodeTypes = new LinkedHashMap<>();
+        nodeTypes.put(NODE_TYPE, _map(
+                "derived_from", "tosca.nodes.Root",
+                "properties", nodeProperties,
+                "capabilities", _map("link", _map("type", CAPABILITY_TYPE, "occurrences", Arrays.asList(0, "UNBOUNDED"))),
+                "requirements", Collections.singletonList(_map("link", _map(
+                        "capability", CAPABILITY_TYPE,
+                        "node", NODE_TYPE,
+                        "relationship", "tosca.relationships.DependsOn",
+                        "occurrences", Arrays.asList(0, "UNBOUNDED"))))));
+        for (int level = 1; level <= nestingDepth; level++) {
+            nodeTypes.put(NESTED_NODE_TYPE + level, _map("derived_from", "tosca.nodes.Root"));
+        }
+        types.put("node_types", nodeTypes);
+
+        types.put("group_types", _map(GROUP_TYPE, _map(
+                "derived_from", "tosca.groups.Root",
+                "members", Collections.singletonList(NODE_TYPE))));
+        types.put("policy_types", _map(POLICY_TYPE, _map(
+                "derived_from", "tosca.policies.Placement",
+                "targets", Collections.singletonList(NODE_TYPE))));
+        return types;
+    }
+
+    private static int _inputs(int count) {
+        return Math.max(1, count / 10);
+    }
+
+    private List<String> _spread(String prefix, int index, int of) {
+        // every of-th node template of the service template, from the index-th
+        List<String> names = new ArrayList<>();
+        for (int i = index; i < nodeTemplates; i += of) {
+            names.add(prefix + i);
+        }
+        return names;
+    }
+
+    private static String _nestedFile(int level) {
+        return "nested-" + level + "-template.yml";
+    }
+
+    private static LinkedHashMap<String, Object> _map(Object... keysAndValues) {
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static Yaml _yaml() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return new Yaml(options);
+    }
+
+    private static int _atLeast(int min, int value, String name) {
+        if (value < min) {
+            throw new IllegalArgumentException(name + " must be at least " + min + ": " + value);
+        }
+        return value;
+    }
+}
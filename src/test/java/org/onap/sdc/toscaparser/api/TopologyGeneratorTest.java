@@ -0,0 +1,70 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class TopologyGeneratorTest {
+
+    @Test
+    public void testGeneratedCsarParsesWithoutIssues() throws IOException, JToscaException {
+        TopologyGenerator generator = new TopologyGenerator()
+                .setNodeTemplates(40)
+                .setRequirementsPerNode(3)
+                .setNestingDepth(2)
+                .setNestedNodeTemplates(5)
+                .setDataTypeDepth(3)
+                .setFunctionsPercent(50)
+                .setGroups(4)
+                .setPolicies(2);
+        File csar = generator.writeCsar(File.createTempFile("synthetic", ".csar"));
+        try {
+            ToscaTemplate toscaTemplate = new ToscaTemplate(csar.getAbsolutePath(), null, true, null);
+
+            assertEquals(toscaTemplate.getParseContext().getCollector().getValidationIssueReport().toString(),
+                    0, toscaTemplate.getParseContext().getCollector().validationIssuesCaught());
+            assertEquals(41, toscaTemplate.getNodeTemplates().size());
+            assertEquals(4, toscaTemplate.getGroups().size());
+            assertEquals(2, toscaTemplate.getPolicies().size());
+
+            NodeTemplate node = toscaTemplate.getTopologyTemplate().getNodeTemplates().get(1);
+            assertEquals(3, node.getRequirements().getAll().size());
+            assertEquals("value_1", node.getPropertyValue("name"));
+
+            NodeTemplate nested = toscaTemplate.getNodeTemplates().get(40);
+            assertNotNull(nested.getSubMappingToscaTemplate());
+            assertEquals(6, nested.getSubMappingToscaTemplate().getNodeTemplates().size());
+        } finally {
+            csar.delete();
+        }
+    }
+
+    @Test
+    public void testSameSettingsGenerateTheSameFiles() {
+        TopologyGenerator generator = new TopologyGenerator().setNodeTemplates(20).setNestingDepth(1);
+        assertEquals(generator.generate(), new TopologyGenerator().setNodeTemplates(20).setNestingDepth(1).generate());
+        assertEquals(4, generator.generate().size());
+    }
+}
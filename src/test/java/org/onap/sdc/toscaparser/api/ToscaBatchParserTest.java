@@ -0,0 +1,192 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ToscaBatchParserTest {
+
+    @Test
+    public void testBatchResultsMatchSingleParses() throws Exception {
+        List<String> paths = new ArrayList<>();
+        for (File csar : _csars()) {
+            paths.add(csar.getAbsolutePath());
+        }
+
+        try (ToscaBatchParser parser = new ToscaBatchParser(3)) {
+            Iterator<ParseResult> results = parser.parsePaths(paths);
+            for (String path : paths) {
+                ParseResult result = results.next();
+                assertEquals(path, result.getName());
+                assertEquals(path, _issues(path), _sorted(result.getValidationIssueReport()));
+                assertTrue(result.getElapsedNanos() > 0);
+            }
+            assertFalse(results.hasNext());
+        }
+    }
+
+    @Test
+    public void testStreamInputIsParsedLikeItsFile() throws Exception {
+        File csar = new File(ToscaBatchParserTest.class.getClassLoader()
+                .getResource("csars/tmpCSAR_Huawei_vSPGW_without_required_inputs.csar").getFile());
+
+        try (ToscaBatchParser parser = new ToscaBatchParser(1)) {
+            ParseResult result = parser.parse(Collections.singletonList(
+                    ToscaBatchParser.Input.stream(csar.getName(), () -> new FileInputStream(csar)))).next();
+            assertTrue(result.isSuccessful());
+            assertEquals(csar.getName(), result.getName());
+            assertEquals(_issues(csar.getAbsolutePath()), _sorted(result.getValidationIssueReport()));
+        }
+    }
+
+    @Test
+    public void testFailedParseIsReportedInItsResult() {
+        try (ToscaBatchParser parser = new ToscaBatchParser(1)) {
+            ParseResult result = parser.parse(ToscaBatchParser.Input.path("no-such-dir/missing.csar"));
+            assertFalse(result.isSuccessful());
+            assertNull(result.getToscaTemplate());
+            assertTrue(result.getException() instanceof JToscaException);
+            assertNotNull(result.getCollector());
+        }
+    }
+
+    @Test
+    public void testInputsAreReadNoFurtherThanMaxInFlight() {
+        File[] csars = _csars();
+        AtomicInteger read = new AtomicInteger();
+        Iterable<ToscaBatchParser.Input> inputs = () -> new Iterator<ToscaBatchParser.Input>() {
+            private final Iterator<File> it = Arrays.asList(csars).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public ToscaBatchParser.Input next() {
+                read.incrementAndGet();
+                return ToscaBatchParser.Input.path(it.next().getAbsolutePath());
+            }
+        };
+
+        try (ToscaBatchParser parser = new ToscaBatchParser(1)) {
+            Iterator<ParseResult> results = parser.parse(inputs);
+            int consumed = 0;
+            while (results.hasNext()) {
+                assertTrue(read.get() <= consumed + parser.getMaxInFlight());
+                results.next();
+                consumed++;
+            }
+            assertEquals(csars.length, consumed);
+        }
+    }
+
+    @Test
+    public void testResultsFailOnceTheParserIsClosed() {
+        ToscaBatchParser parser = new ToscaBatchParser(1);
+        List<String> paths = new ArrayList<>();
+        for (File csar : _csars()) {
+            paths.add(csar.getAbsolutePath());
+        }
+        Iterator<ParseResult> results = parser.parsePaths(paths);
+        assertNotNull(results.next());
+        parser.close();
+
+        try {
+            results.hasNext();
+            fail("hasNext() after close()");
+        } catch (IllegalStateException e) {
+            assertEquals("The batch parser is closed", e.getMessage());
+        }
+        try {
+            results.next();
+            fail("next() after close()");
+        } catch (IllegalStateException e) {
+            assertEquals("The batch parser is closed", e.getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testCloseEndsAWaitForAResult() throws Exception {
+        CountDownLatch parsing = new CountDownLatch(1);
+        ToscaBatchParser parser = new ToscaBatchParser(1);
+        Iterator<ParseResult> results = parser.parse(Collections.singletonList(
+                ToscaBatchParser.Input.stream("blocked.csar", () -> {
+                    parsing.countDown();
+                    // until interrupted by close()
+                    new CountDownLatch(1).await();
+                    return null;
+                })));
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                results.next();
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        consumer.start();
+        parsing.await();
+        parser.close();
+        consumer.join();
+
+        assertTrue(String.valueOf(thrown.get()), thrown.get() instanceof IllegalStateException);
+    }
+
+    private static File[] _csars() {
+        File[] csars = new File(ToscaBatchParserTest.class.getClassLoader().getResource("csars").getFile())
+                .listFiles((dir, name) -> name.endsWith(".csar"));
+        assertTrue(csars != null && csars.length > 0);
+        Arrays.sort(csars);
+        return csars;
+    }
+
+    private static List<String> _issues(String path) {
+        try {
+            return _sorted(new ToscaTemplate(path, null, true, null).getParseContext()
+                    .getCollector().getValidationIssueReport());
+        } catch (JToscaException e) {
+            return _sorted(ParseContext.current().getCollector().getValidationIssueReport());
+        }
+    }
+
+    private static List<String> _sorted(List<String> issues) {
+        List<String> sorted = new ArrayList<>(issues);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
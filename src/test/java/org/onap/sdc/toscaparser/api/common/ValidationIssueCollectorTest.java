@@ -0,0 +1,169 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api.common;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.NodeTemplate;
+import org.onap.sdc.toscaparser.api.ParseOptions;
+import org.onap.sdc.toscaparser.api.ToscaTemplate;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationIssueCollectorTest {
+
+    @Test
+    public void testIssuesAreKeptInReportOrderOncePerFormatAndArguments() {
+        ValidationIssueCollector collector = new ValidationIssueCollector();
+        collector.appendValidationIssue(new JToscaValidationIssue("JE002", "second %s", "b"));
+        collector.appendValidationIssue(new JToscaValidationIssue("JE001", "first"));
+        collector.appendValidationIssue(new JToscaValidationIssue("JE002", "second %s", "b"));
+        collector.appendValidationIssue(new JToscaValidationIssue("JE002", "second %s", "c"));
+
+        assertEquals(Arrays.asList("[JE002]: second b", "[JE001]: first", "[JE002]: second c"),
+                collector.getValidationIssueReport());
+        assertEquals(Arrays.asList("second b", "first", "second c"),
+                new ArrayList<>(collector.getValidationIssues().keySet()));
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("JE002", 2);
+        counts.put("JE001", 1);
+        assertEquals(counts, collector.getIssueCountsByCode());
+    }
+
+    @Test
+    public void testAnIssueReportedAgainReplacesTheOneCollected() {
+        ValidationIssueCollector collector = new ValidationIssueCollector();
+        collector.appendValidationIssue(new JToscaValidationIssue("JE003", "count %d", 7));
+        collector.appendValidationIssue(new JToscaValidationIssue("JE001", "first"));
+        collector.appendValidationIssue(new JToscaValidationIssue("JE004", "count %d", 7));
+
+        assertEquals(Arrays.asList("[JE004]: count 7", "[JE001]: first"), collector.getValidationIssueReport());
+        assertEquals("JE004", collector.getValidationIssues().get("count 7").getCode());
+        assertEquals(0, collector.getIssueCount("JE003"));
+        assertEquals(1, collector.getIssueCount("JE004"));
+    }
+
+    @Test
+    public void testIssuesAreToldApartWithoutFormattingTheirMessages() {
+        AtomicInteger formatted = new AtomicInteger();
+        ValidationIssueCollector collector = new ValidationIssueCollector();
+        for (int i = 0; i < 3; i++) {
+            collector.appendValidationIssue(new JToscaValidationIssue("JE003", "count %d", 7) {
+                @Override
+                public String getMessage() {
+                    formatted.incrementAndGet();
+                    return super.getMessage();
+                }
+            });
+        }
+        assertEquals(0, formatted.get());
+        assertEquals(1, collector.validationIssuesCaught());
+
+        assertEquals(Arrays.asList("[JE003]: count 7"), collector.getValidationIssueReport());
+        assertEquals(1, formatted.get());
+    }
+
+    @Test
+    public void testAMessageGivenFormattedAndAsAFormatIsKeptTwice() {
+        ValidationIssueCollector collector = new ValidationIssueCollector();
+        collector.appendValidationIssue(new JToscaValidationIssue("JE003", "count 7"));
+        collector.appendValidationIssue(new JToscaValidationIssue("JE003", "count %d", 7));
+
+        assertEquals(Arrays.asList("[JE003]: count 7", "[JE003]: count 7"), collector.getValidationIssueReport());
+        assertEquals(2, collector.validationIssuesCaught());
+        assertEquals(1, collector.getValidationIssues().size());
+    }
+
+    @Test
+    public void testTheIssuesByMessageAreACopy() {
+        ValidationIssueCollector collector = new ValidationIssueCollector();
+        collector.appendValidationIssue(new JToscaValidationIssue("JE001", "first"));
+        Map<String, JToscaValidationIssue> issues = collector.getValidationIssues();
+        collector.appendValidationIssue(new JToscaValidationIssue("JE002", "second"));
+        issues.clear();
+
+        assertTrue(issues.isEmpty());
+        assertEquals(Arrays.asList("first", "second"), new ArrayList<>(collector.getValidationIssues().keySet()));
+    }
+
+    @Test
+    public void testFormatArgumentsAreTakenWhenTheIssueIsCreated() {
+        List<String> members = new ArrayList<>(Arrays.asList("a"));
+        JToscaValidationIssue issue = new JToscaValidationIssue("JE005", "members %s", members);
+        members.add("b");
+        assertEquals("members [a]", issue.getMessage());
+    }
+
+    @Test
+    public void testIssuesBeyondTheCapAreCountedOnly() {
+        ValidationIssueCollector collector = new ValidationIssueCollector();
+        collector.setMaxIssues(2);
+        for (int i = 0; i < 5; i++) {
+            collector.appendValidationIssue(new JToscaValidationIssue("JE100", "issue %d", i));
+        }
+        // already collected, not dropped
+        collector.appendValidationIssue(new JToscaValidationIssue("JE100", "issue %d", 0));
+
+        assertEquals(Arrays.asList("[JE100]: issue 0", "[JE100]: issue 1"), collector.getValidationIssueReport());
+        assertEquals(3, collector.getDroppedIssues());
+        assertEquals(2, collector.getIssueCount("JE100"));
+    }
+
+    @Test
+    public void testParseKeepsNoMoreIssuesThanConfigured() throws JToscaException {
+        String fileStr = ValidationIssueCollectorTest.class.getClassLoader()
+                .getResource("csars/resource-Spgw-csar-ZTE.csar").getFile();
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setMaxValidationIssues(3);
+        ToscaTemplate toscaTemplate = new ToscaTemplate(new File(fileStr).getAbsolutePath(), null, true, null, true, parseOptions);
+
+        ValidationIssueCollector collector = toscaTemplate.getParseContext().getCollector();
+        assertEquals(3, collector.validationIssuesCaught());
+        assertTrue(collector.getDroppedIssues() > 0);
+    }
+
+    @Test
+    public void testIssuesRecordTheNodeTemplateTheyWereFoundIn() throws JToscaException {
+        String fileStr = ValidationIssueCollectorTest.class.getClassLoader()
+                .getResource("csars/resource-Spgw-csar-ZTE.csar").getFile();
+        ToscaTemplate toscaTemplate = new ToscaTemplate(new File(fileStr).getAbsolutePath(), null, true, null);
+
+        List<String> names = new ArrayList<>();
+        for (NodeTemplate nodeTemplate : toscaTemplate.getNodeTemplates()) {
+            names.add(nodeTemplate.getName());
+        }
+        boolean located = false;
+        for (JToscaValidationIssue issue : toscaTemplate.getParseContext().getCollector().getIssues()) {
+            if (issue.getNode() != null) {
+                assertTrue(issue.getNode(), names.contains(issue.getNode()));
+                assertNotNull(issue.getSourceFile());
+                located = true;
+            }
+        }
+        assertTrue(located);
+    }
+}
@@ -22,12 +22,16 @@ package org.onap.sdc.toscaparser.api.elements;
 
 import org.junit.After;
 import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.ValidationIssueCollector;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
 
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class EntityTypeTest {
 
@@ -67,6 +71,19 @@ public class EntityTypeTest {
 
     }
 
+    @Test
+    public void testIsDerivedFrom() {
+        ThreadLocalsHolder.setCollector(new ValidationIssueCollector());
+        NodeType webServer = new NodeType("tosca.nodes.WebServer", null);
+
+        assertTrue(webServer.isDerivedFrom("tosca.nodes.WebServer"));
+        assertTrue(webServer.isDerivedFrom(new String("tosca.nodes.SoftwareComponent")));
+        assertTrue(webServer.isDerivedFrom("tosca.nodes.Root"));
+        assertFalse(webServer.isDerivedFrom("tosca.nodes.Compute"));
+        assertFalse(webServer.isDerivedFrom(null));
+        assertEquals(3, webServer.getAncestorTypes().size());
+    }
+
     @After
     public void tearDown() throws Exception {
         EntityType.TOSCA_DEF = (LinkedHashMap<String, Object>) origMap;
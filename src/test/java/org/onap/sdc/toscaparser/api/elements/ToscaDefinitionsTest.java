@@ -0,0 +1,87 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api.elements;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.ParseContext;
+import org.onap.sdc.toscaparser.api.ToscaTemplate;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ToscaDefinitionsTest {
+
+    private static final String NFV_VERSION = "tosca_simple_profile_for_nfv_1_0_0";
+
+    @Test
+    public void testDefinitionsAreLoadedOncePerVersion() {
+        Map<String, Object> nfv = ToscaDefinitions.getDefinitions(NFV_VERSION);
+        assertSame(nfv, ToscaDefinitions.getDefinitions(NFV_VERSION));
+        assertSame(ToscaDefinitions.getBaseDefinitions(), ToscaDefinitions.getDefinitions("tosca_simple_yaml_1_0"));
+
+        assertNotNull(nfv.get("tosca.nodes.nfv.VDU"));
+        assertNotNull(nfv.get("tosca.nodes.Compute"));
+        assertFalse(ToscaDefinitions.getBaseDefinitions().containsKey("tosca.nodes.nfv.VDU"));
+        assertTrue(ToscaDefinitions.getExtensionDefinitions(NFV_VERSION).containsKey("tosca.nodes.nfv.VDU"));
+        assertFalse(ToscaDefinitions.getExtensionDefinitions(NFV_VERSION).containsKey("tosca.nodes.Compute"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDefinitionsAreReadOnly() {
+        ToscaDefinitions.getDefinitions(NFV_VERSION).put("tosca.nodes.Test", null);
+    }
+
+    @Test
+    public void testMissingExtensionDefinitionsAreReportedToTheParseOnly() throws Exception {
+        String version = "tosca_missing_defs_1_0_0";
+        assertSame(ToscaDefinitions.getBaseDefinitions(),
+                ParseContext.isolated(() -> ToscaDefinitions.getDefinitions(version)));
+
+        ParseContext parseContext = new ParseContext();
+        assertSame(ToscaDefinitions.getBaseDefinitions(),
+                parseContext.call(() -> ToscaDefinitions.getDefinitions(version)));
+        assertEquals(1, parseContext.getCollector().getIssueCount("JE280"));
+    }
+
+    @Test
+    public void testParseResultDoesNotDependOnPreviousParses() throws JToscaException {
+        List<String> alone = _parse("csars/service-JennyVtsbcKarunaSvc-csar.csar");
+        _parse("csars/service-AdiodVmxVpeBvService-csar.csar");
+        List<String> afterOther = _parse("csars/service-JennyVtsbcKarunaSvc-csar.csar");
+        assertEquals(alone, afterOther);
+    }
+
+    private List<String> _parse(String csar) throws JToscaException {
+        String fileStr = ToscaDefinitionsTest.class.getClassLoader().getResource(csar).getFile();
+        new ToscaTemplate(new File(fileStr).getAbsolutePath(), null, true, null);
+        List<String> issues = new ArrayList<>(ThreadLocalsHolder.getCollector().getValidationIssueReport());
+        Collections.sort(issues);
+        return issues;
+    }
+}
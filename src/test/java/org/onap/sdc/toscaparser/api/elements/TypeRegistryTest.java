@@ -0,0 +1,157 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api.elements;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.ValidationIssueCollector;
+import org.onap.sdc.toscaparser.api.utils.ThreadLocalsHolder;
+
+import java.util.LinkedHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TypeRegistryTest {
+
+    private TypeRegistry registry;
+
+    @Before
+    public void setUp() {
+        ThreadLocalsHolder.setCollector(new ValidationIssueCollector());
+        registry = new TypeRegistry();
+        ThreadLocalsHolder.setTypeRegistry(registry);
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalsHolder.setTypeRegistry(null);
+    }
+
+    @Test
+    public void testTypesAreResolvedOnce() {
+        NodeType compute = registry.getNodeType("tosca.nodes.Compute", null);
+        assertSame(compute, registry.getNodeType("tosca.nodes.Compute", null));
+        assertSame(compute.getParentType(), compute.getParentType());
+        assertSame(registry.getNodeType("tosca.nodes.Root", null), compute.getParentType());
+    }
+
+    @Test
+    public void testFlattenedSectionsMatchUncachedTypes() {
+        NodeType cached = registry.getNodeType("tosca.nodes.WebServer", null);
+        ThreadLocalsHolder.setTypeRegistry(null);
+        NodeType uncached = new NodeType("tosca.nodes.WebServer", null);
+
+        assertEquals(uncached.getRequirements(), cached.getRequirements());
+        assertEquals(uncached.getInterfaces(), cached.getInterfaces());
+        assertEquals(uncached.getCapabilities().keySet(), cached.getCapabilities().keySet());
+        assertEquals(uncached.getPropertiesDef().keySet(), cached.getPropertiesDef().keySet());
+        assertEquals(uncached.getAttributesDef().keySet(), cached.getAttributesDef().keySet());
+
+        // callers may change what they get back
+        cached.getRequirements().clear();
+        assertEquals(uncached.getRequirements(), cached.getRequirements());
+    }
+
+    @Test
+    public void testTypeIsResolvedAgainWhenItsDefinitionChanges() {
+        LinkedHashMap<String, Object> customDef = new LinkedHashMap<>();
+        LinkedHashMap<String, Object> definition = new LinkedHashMap<>();
+        definition.put("derived_from", "tosca.nodes.Root");
+        customDef.put("org.test.Node", definition);
+        NodeType first = registry.getNodeType("org.test.Node", customDef);
+        assertSame(first, registry.getNodeType("org.test.Node", customDef));
+
+        customDef.put("org.test.Node", new LinkedHashMap<>(definition));
+        assertNotSame(first, registry.getNodeType("org.test.Node", customDef));
+    }
+
+    @Test
+    public void testTypesAreResolvedAgainWhenCustomDefsChange() {
+        LinkedHashMap<String, Object> customDef = new LinkedHashMap<>();
+        customDef.put("org.test.Parent", _nodeWithProperty("first"));
+        LinkedHashMap<String, Object> child = new LinkedHashMap<>();
+        child.put("derived_from", "org.test.Parent");
+        customDef.put("org.test.Child", child);
+        NodeType first = registry.getNodeType("org.test.Child", customDef);
+        assertEquals("[first]", first.getPropertiesDef().keySet().toString());
+
+        // a merge redefines the parent, the child definition stays the same
+        customDef.put("org.test.Parent", _nodeWithProperty("second"));
+        registry.customDefsChanged(customDef);
+
+        NodeType second = registry.getNodeType("org.test.Child", customDef);
+        assertNotSame(first, second);
+        assertEquals("[second]", second.getPropertiesDef().keySet().toString());
+        assertEquals("[second]", first.getPropertiesDef().keySet().toString());
+    }
+
+    @Test
+    public void testIssuesAreReportedAgainWhenTypeIsReused() {
+        NodeType first = registry.getNodeType("org.test.Undefined", null);
+        assertEquals(1, ThreadLocalsHolder.getCollector().validationIssuesCaught());
+
+        ThreadLocalsHolder.setCollector(new ValidationIssueCollector());
+        ThreadLocalsHolder.setTypeRegistry(registry);
+        assertSame(first, registry.getNodeType("org.test.Undefined", null));
+        assertEquals(ThreadLocalsHolder.getCollector().getValidationIssueReport().toString(),
+                1, ThreadLocalsHolder.getCollector().validationIssuesCaught());
+    }
+
+    @Test
+    public void testNodeTypeByCapability() {
+        LinkedHashMap<String, Object> customDef = new LinkedHashMap<>();
+        customDef.put("org.openecomp.nodes.First", _nodeWithCapability("tosca.capabilities.Endpoint"));
+        customDef.put("org.openecomp.nodes.Second", _nodeWithCapability("tosca.capabilities.Endpoint"));
+        customDef.put("org.other.nodes.Ignored", _nodeWithCapability("tosca.capabilities.Scalable"));
+
+        assertEquals("org.openecomp.nodes.First", registry.getNodeTypeByCapability("tosca.capabilities.Endpoint", customDef));
+        assertNull(registry.getNodeTypeByCapability("tosca.capabilities.Scalable", customDef));
+
+        customDef.put("tosca.nodes.Scaler", _nodeWithCapability("tosca.capabilities.Scalable"));
+        assertEquals("tosca.nodes.Scaler", registry.getNodeTypeByCapability("tosca.capabilities.Scalable", customDef));
+
+        customDef.put("org.openecomp.nodes.First", _nodeWithCapability("tosca.capabilities.Node"));
+        assertEquals("org.openecomp.nodes.Second", registry.getNodeTypeByCapability("tosca.capabilities.Endpoint", customDef));
+    }
+
+    private static LinkedHashMap<String, Object> _nodeWithProperty(String name) {
+        LinkedHashMap<String, Object> property = new LinkedHashMap<>();
+        property.put("type", "string");
+        LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+        properties.put(name, property);
+        LinkedHashMap<String, Object> definition = new LinkedHashMap<>();
+        definition.put("derived_from", "tosca.nodes.Root");
+        definition.put("properties", properties);
+        return definition;
+    }
+
+    private static LinkedHashMap<String, Object> _nodeWithCapability(String capabilityType) {
+        LinkedHashMap<String, Object> capability = new LinkedHashMap<>();
+        capability.put("type", capabilityType);
+        LinkedHashMap<String, Object> capabilities = new LinkedHashMap<>();
+        capabilities.put("cap", capability);
+        LinkedHashMap<String, Object> definition = new LinkedHashMap<>();
+        definition.put("derived_from", "tosca.nodes.Root");
+        definition.put("capabilities", capabilities);
+        return definition;
+    }
+}
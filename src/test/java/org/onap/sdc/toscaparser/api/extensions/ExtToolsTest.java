@@ -0,0 +1,90 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api.extensions;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.prereq.CSAR;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExtToolsTest {
+
+    @Test
+    public void testExtensionsAreDiscovered() {
+        ExtTools exttools = new ExtTools();
+        assertTrue(exttools.getVersions().contains("tosca_simple_yaml_1_0_0"));
+        assertTrue(exttools.getVersions().contains("tosca_simple_profile_for_nfv_1_0_0"));
+        assertEquals("extensions/nfv/TOSCA_nfv_definition_1_0.yaml",
+                exttools.getDefsFile("tosca_simple_profile_for_nfv_1_0_0"));
+        assertEquals(Arrays.asList("metadata"), exttools.getSections().get("tosca_simple_profile_for_nfv_1_0_0"));
+    }
+
+    @Test
+    public void testExtensionsWithoutIndexAreScanned() throws Exception {
+        Path indexedDir = Files.createTempDirectory("JTP");
+        Path scannedDir = Files.createTempDirectory("JTP");
+        try {
+            Files.createDirectories(indexedDir.resolve("extensions/a"));
+            Files.write(indexedDir.resolve("extensions/a/a.py"),
+                    "VERSION = 'a'\nDEFS_FILE = 'a.yaml'\n".getBytes(StandardCharsets.UTF_8));
+            ExtToolsIndexGenerator.generate(indexedDir);
+            Files.createDirectories(scannedDir.resolve("extensions/b"));
+            Files.write(scannedDir.resolve("extensions/b/b.py"),
+                    "VERSION = 'b'\nDEFS_FILE = 'b.yaml'\n".getBytes(StandardCharsets.UTF_8));
+
+            try (URLClassLoader classLoader = new URLClassLoader(
+                    new URL[]{indexedDir.toUri().toURL(), scannedDir.toUri().toURL()}, null)) {
+                assertEquals(Arrays.asList("a", "b"),
+                        new ArrayList<>(ExtTools.loadExtensions(classLoader).keySet()));
+            }
+        } finally {
+            CSAR.deleteDir(indexedDir.toFile());
+            CSAR.deleteDir(scannedDir.toFile());
+        }
+    }
+
+    @Test
+    public void testIndexGenerator() throws Exception {
+        Path classesDir = Files.createTempDirectory("JTP");
+        try {
+            Files.createDirectories(classesDir.resolve("extensions/b"));
+            Files.createDirectories(classesDir.resolve("extensions/a"));
+            Files.write(classesDir.resolve("extensions/b/b.py"), "VERSION = 'b'\n".getBytes(StandardCharsets.UTF_8));
+            Files.write(classesDir.resolve("extensions/a/a.py"), "VERSION = 'a'\n".getBytes(StandardCharsets.UTF_8));
+            Files.write(classesDir.resolve("extensions/a/a.yaml"), new byte[0]);
+
+            List<String> descriptors = ExtToolsIndexGenerator.generate(classesDir);
+
+            assertEquals(Arrays.asList("extensions/a/a.py", "extensions/b/b.py"), descriptors);
+            List<String> lines = Files.readAllLines(classesDir.resolve(ExtTools.EXTENSIONS_INDEX), StandardCharsets.UTF_8);
+            assertEquals(descriptors, lines.subList(1, lines.size()));
+        } finally {
+            CSAR.deleteDir(classesDir.toFile());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (c) 2017 AT&T Intellectual Property.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.sdc.toscaparser.api.prereq;
+
+import org.junit.Test;
+import org.onap.sdc.toscaparser.api.common.JToscaException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CSARTest {
+
+    @Test
+    public void testValidateExtractsTheArchiveAndKeepsTempDir() throws Exception {
+        String fileStr = CSARTest.class.getClassLoader().getResource("csars/sdc-onboarding_csar.csar").getFile();
+        CSAR csar = new CSAR(new File(fileStr).getAbsolutePath(), true);
+        try {
+            assertTrue(csar.validate());
+            File tempDir = new File(csar.getTempDir());
+            assertTrue(new File(tempDir, csar.getMainTemplate()).isFile());
+            assertTrue(new File(tempDir, "TOSCA-Metadata/TOSCA.meta").isFile());
+            assertTrue(new File(tempDir, "Artifacts/MANIFEST.json").isFile());
+
+            long bytesRead = csar.getBytesRead();
+            csar.decompress();
+            assertEquals(bytesRead, csar.getBytesRead());
+        } finally {
+            csar.cleanup();
+            CSAR.deleteDir(new File(csar.getTempDir()));
+        }
+    }
+
+    @Test
+    public void testValidateCanExtractDefinitionsOnly() throws Exception {
+        String fileStr = CSARTest.class.getClassLoader().getResource("csars/sdc-onboarding_csar.csar").getFile();
+        CSAR csar = new CSAR(new File(fileStr).getAbsolutePath(), true);
+        csar.setExtractDefinitionsOnly(true);
+        try {
+            assertTrue(csar.validate());
+            File tempDir = new File(csar.getTempDir());
+            assertTrue(new File(tempDir, csar.getMainTemplate()).isFile());
+            assertFalse(new File(tempDir, "TOSCA-Metadata/TOSCA.meta").exists());
+            long bytesRead = csar.getBytesRead();
+            assertTrue(bytesRead > 0);
+
+            // decompress() extracts what validate() left in the archive
+            csar.decompress();
+            assertTrue(new File(tempDir, "TOSCA-Metadata/TOSCA.meta").isFile());
+            assertTrue(csar.getBytesRead() > bytesRead);
+
+            bytesRead = csar.getBytesRead();
+            csar.decompress();
+            assertEquals(bytesRead, csar.getBytesRead());
+        } finally {
+            csar.cleanup();
+            CSAR.deleteDir(new File(csar.getTempDir()));
+        }
+    }
+
+    @Test
+    public void testArtifactIndex() throws Exception {
+        String fileStr = CSARTest.class.getClassLoader().getResource("csars/sdc-onboarding_csar.csar").getFile();
+        CSAR csar = new CSAR(new File(fileStr).getAbsolutePath(), true, true);
+        try {
+            assertTrue(csar.validate());
+            assertEquals(null, csar.getTempDir());
+            assertTrue(csar.hasArtifact("TOSCA-Metadata/TOSCA.meta"));
+            assertTrue(csar.hasArtifact("Definitions/../TOSCA-Metadata/TOSCA.meta"));
+            assertFalse(csar.hasArtifact("TOSCA-Metadata/missing.meta"));
+            assertEquals(-1, csar.getArtifactSize("TOSCA-Metadata/missing.meta"));
+            assertEquals(null, csar.getArtifact("TOSCA-Metadata/missing.meta"));
+
+            CsarArtifact meta = csar.getArtifact("TOSCA-Metadata/TOSCA.meta");
+            long readBefore = csar.getBytesRead();
+            assertEquals(meta.getSize(), csar.getArtifactSize("TOSCA-Metadata/TOSCA.meta"));
+            assertEquals(readBefore, csar.getBytesRead());
+            assertEquals(meta.getSize(), _length(meta));
+
+            csar.cleanup();
+            // the archive is reopened for the stream
+            assertEquals(meta.getSize(), _length(meta));
+        } finally {
+            csar.cleanup();
+        }
+    }
+
+    @Test
+    public void testArtifactsAreReadFromTheArchiveWithoutExtractingThem() throws Exception {
+        String fileStr = CSARTest.class.getClassLoader().getResource("csars/sdc-onboarding_csar.csar").getFile();
+        CSAR csar = new CSAR(new File(fileStr).getAbsolutePath(), true);
+        csar.setExtractDefinitionsOnly(true);
+        try {
+            assertTrue(csar.validate());
+            assertFalse(new File(csar.getTempDir(), "Artifacts/MANIFEST.json").exists());
+
+            CsarArtifact manifest = csar.getArtifact("Artifacts/MANIFEST.json");
+            byte[] expected;
+            try (ZipFile zipFile = new ZipFile(fileStr)) {
+                expected = _bytes(zipFile.getInputStream(zipFile.getEntry("Artifacts/MANIFEST.json")));
+            }
+            assertArrayEquals(expected, _bytes(manifest.openStream()));
+            assertFalse(new File(csar.getTempDir(), "Artifacts/MANIFEST.json").exists());
+        } finally {
+            csar.cleanup();
+            CSAR.deleteDir(new File(csar.getTempDir()));
+        }
+    }
+
+    private byte[] _bytes(InputStream in) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream stream = in) {
+            int read;
+            while ((read = stream.read()) != -1) {
+                bytes.write(read);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private long _length(CsarArtifact artifact) throws Exception {
+        long length = 0;
+        try (InputStream in = artifact.openStream()) {
+            while (in.read() != -1) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    @Test(expected = JToscaException.class)
+    public void testNonZipCsarIsRejectedBeforeExtraction() throws JToscaException {
+        String fileStr = CSARTest.class.getClassLoader().getResource("csars/emptyCsar.csar").getFile();
+        new CSAR(new File(fileStr).getAbsolutePath(), true).validate();
+    }
+
+    @Test
+    public void testInvalidCsarLeavesNoTempDir() throws Exception {
+        File tmpRoot = new File(System.getProperty("java.io.tmpdir"));
+        Set<String> before = extractionDirs(tmpRoot);
+        File file = File.createTempFile("missingArtifact", ".csar");
+        try {
+            try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+                putEntry(zip, "TOSCA-Metadata/TOSCA.meta", "TOSCA-Meta-File-Version: 1.0\n"
+                        + "CSAR-Version: 1.1\n"
+                        + "Created-By: test\n"
+                        + "Entry-Definitions: Definitions/main.yaml\n");
+                putEntry(zip, "Definitions/main.yaml", "tosca_definitions_version: tosca_simple_yaml_1_0\n"
+                        + "topology_template:\n"
+                        + "  node_templates:\n"
+                        + "    server:\n"
+                        + "      type: tosca.nodes.Compute\n"
+                        + "      artifacts:\n"
+                        + "        script:\n"
+                        + "          file: ../Artifacts/missing.sh\n"
+                        + "          type: tosca.artifacts.Implementation.Bash\n");
+            }
+            CSAR csar = new CSAR(file.getAbsolutePath(), true);
+            // the missing artifact is only detected once the archive has been extracted
+            assertFalse(csar.validate());
+            assertTrue(csar.getEntriesTouched() > 0);
+            assertEquals(null, csar.getTempDir());
+            assertEquals(before, extractionDirs(tmpRoot));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static Set<String> extractionDirs(File tmpRoot) {
+        Set<String> dirs = new HashSet<>();
+        String[] names = tmpRoot.list();
+        if (names != null) {
+            for (String name : names) {
+                // CSAR extracts into temp dirs prefixed "JTP"
+                if (name.startsWith("JTP")) {
+                    dirs.add(name);
+                }
+            }
+        }
+        return dirs;
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    @Test
+    public void testNormalizeEntryName() {
+        assertEquals("Definitions/a.yaml", CSAR._normalizeEntryName("Definitions/./a.yaml"));
+        assertEquals("Artifacts/a.sh", CSAR._normalizeEntryName("Definitions/../Artifacts/a.sh"));
+        assertEquals("a.yaml", CSAR._normalizeEntryName("a.yaml"));
+    }
+}